@@ -0,0 +1,41 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.component.JournalRecord;
+import luke.component.TaskList;
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+import luke.ui.Luke;
+
+/**
+ * The {@code AddTaskCommand} class is the base of the commands that add a task to the list.
+ * A subclass only parses the task; an invalid command line is reported to the user.
+ */
+abstract class AddTaskCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        Task task;
+        try {
+            task = parseTask(line);
+        } catch (InvalidInputException e) {
+            luke.showMessage(e.getMessage());
+            return;
+        }
+        TaskList taskList = luke.getTaskList();
+        taskList.addTask(task);
+        luke.journal(JournalRecord.add(task));
+        luke.showMessage("Got it. I've added this task:\n");
+        luke.showMessage("  " + task + "\n");
+        luke.showMessage("Now you have " + taskList.getSize() + " tasks in the list.\n");
+    }
+
+    /**
+     * Parses the task to be added.
+     *
+     * @param line the command line, split by {@link CommandLine}
+     * @return the new task
+     * @throws InvalidInputException if the command line does not describe a valid task
+     */
+    abstract Task parseTask(CommandLine line) throws InvalidInputException;
+}
@@ -0,0 +1,63 @@
+package luke.command;
+
+import java.util.ArrayList;
+
+import luke.component.CommandLine;
+import luke.component.JournalRecord;
+import luke.component.TaskList;
+import luke.task.Task;
+import luke.ui.Luke;
+
+/**
+ * Archives the done tasks, or with {@code archive auto n} sets the threshold for archiving them automatically.
+ */
+class ArchiveCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        if (line.getArgCount() == 0) {
+            archiveDoneTasks(luke);
+        } else {
+            changeArchiveThreshold(luke, line);
+        }
+    }
+
+    /**
+     * Moves all done tasks out of the task list and into the archive file in a single pass.
+     * Archived tasks are no longer loaded or saved with the list, but can still be shown with
+     * the {@code archived} command.
+     *
+     * @param luke the chatbot whose done tasks are archived
+     */
+    static void archiveDoneTasks(Luke luke) {
+        TaskList taskList = luke.getTaskList();
+        ArrayList<Task> doneTasks = taskList.deleteDoneTasks();
+        if (doneTasks.isEmpty()) {
+            luke.showMessage("There are no done tasks to archive.\n");
+            return;
+        }
+        luke.archive(doneTasks);
+        luke.journal(JournalRecord.archive());
+        luke.showMessage("Archived " + doneTasks.size() + " done tasks.\n");
+        luke.showMessage("Now you have " + taskList.getSize() + " tasks in the list.\n");
+    }
+
+    private static void changeArchiveThreshold(Luke luke, CommandLine line) {
+        int threshold;
+        try {
+            if (!line.getArg(0).equalsIgnoreCase("auto")) {
+                throw new NumberFormatException();
+            }
+            threshold = Math.max(0, line.getIntArg(1));
+        } catch (NumberFormatException e) {
+            luke.showMessage("Archive format: archive [auto n]\n");
+            return;
+        }
+        luke.setArchiveThreshold(threshold);
+        if (threshold == 0) {
+            luke.showMessage("Done tasks will no longer be archived automatically.\n");
+        } else {
+            luke.showMessage("Done tasks will be archived once there are more than " + threshold + ".\n");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package luke.command;
+
+import java.io.IOException;
+import java.util.List;
+
+import luke.component.CommandLine;
+import luke.component.WordIndex;
+import luke.task.Task;
+import luke.ui.Luke;
+
+/**
+ * Shows the archived tasks, or with keywords only those matching them by the same rules as {@code find},
+ * e.g. {@code archived report*}. The archive file is read the first time it is needed.
+ */
+class ArchivedCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        List<Task> archivedTasks;
+        try {
+            archivedTasks = luke.loadArchive();
+        } catch (IOException e) {
+            luke.showMessage(" There was a problem reading the archive.\n");
+            return;
+        }
+        String query = line.getRest();
+        List<Task> resultList = query.isBlank() ? archivedTasks : WordIndex.scan(archivedTasks, query);
+        if (resultList.isEmpty()) {
+            luke.showMessage("There are no archived tasks to show.\n");
+        } else {
+            luke.printList(resultList);
+        }
+    }
+}
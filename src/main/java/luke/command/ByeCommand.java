@@ -0,0 +1,16 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.ui.Luke;
+
+/**
+ * Saves the task list, stops the background writer and tells the user interface to exit,
+ * see {@link Luke#hasExited()}.
+ */
+class ByeCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        luke.exit();
+    }
+}
@@ -0,0 +1,21 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.ui.Luke;
+
+/**
+ * The {@code Command} interface is implemented by every command the user can type, e.g. {@code list} or
+ * {@code todo}. Commands are looked up by their verb in a {@link CommandRegistry}. Each command parses its
+ * own arguments and works on the task list and storage of {@link Luke}, journaling every change with
+ * {@link Luke#journal(String)} and showing its response with {@link Luke#showMessage(CharSequence)}.
+ */
+public interface Command {
+
+    /**
+     * Carries out the command.
+     *
+     * @param luke the chatbot whose task list the command works on
+     * @param line the command line, split by {@link CommandLine}
+     */
+    void execute(Luke luke, CommandLine line);
+}
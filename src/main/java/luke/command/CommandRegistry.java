@@ -0,0 +1,62 @@
+package luke.command;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@code CommandRegistry} class maps verbs and their aliases to {@link Command}s, so a command line is
+ * dispatched with a single hash lookup however many commands there are.
+ */
+public class CommandRegistry {
+
+    private final Map<String, Command> commands = new HashMap<>();
+
+    /**
+     * Creates a registry holding every built-in command.
+     *
+     * @return a new registry with the built-in commands
+     */
+    public static CommandRegistry createDefault() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register(new HelpCommand(), "help");
+        registry.register(new ByeCommand(), "bye", "exit");
+        registry.register(new MarkCommand(true), "mark");
+        registry.register(new MarkCommand(false), "unmark");
+        registry.register(new ListCommand(), "list", "ls");
+        registry.register(new DeleteCommand(), "delete", "rm");
+        registry.register(new FindCommand(), "find");
+        registry.register(new SortCommand(), "sort");
+        registry.register(new ArchiveCommand(), "archive");
+        registry.register(new ArchivedCommand(), "archived");
+        registry.register(new ImportCommand(), "import");
+        registry.register(new ExportCommand(), "export");
+        registry.register(new FormatCommand(), "format");
+        registry.register(new DurabilityCommand(), "durability");
+        registry.register(new ToDoCommand(), "todo");
+        registry.register(new DeadlineCommand(), "deadline");
+        registry.register(new EventCommand(), "event");
+        return registry;
+    }
+
+    /**
+     * Registers a command under its verb and any aliases, replacing commands registered under the same names.
+     *
+     * @param command the command
+     * @param verbs the verb of the command followed by its aliases, in lower case
+     */
+    public void register(Command command, String... verbs) {
+        for (String verb : verbs) {
+            this.commands.put(verb, command);
+        }
+    }
+
+    /**
+     * Finds the command registered under a verb or alias.
+     *
+     * @param verb the verb in lower case, see {@link luke.component.CommandLine#getVerb()}
+     * @return the command, or {@code null} if no command is registered under the verb
+     */
+    public Command find(String verb) {
+        return this.commands.get(verb);
+    }
+}
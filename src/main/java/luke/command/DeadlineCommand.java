@@ -0,0 +1,35 @@
+package luke.command;
+
+import java.time.DateTimeException;
+
+import luke.component.CommandLine;
+import luke.exception.InvalidInputException;
+import luke.task.Deadline;
+import luke.task.Task;
+
+/**
+ * Adds a Deadline task, e.g. {@code deadline Submit report /by 22/02/2025 23:59}.
+ */
+class DeadlineCommand extends AddTaskCommand {
+
+    private static final String FORMAT = "Deadline format: deadline [name] /by [DD/MM/YYYY HH:MM]\n";
+
+    @Override
+    Task parseTask(CommandLine line) throws InvalidInputException {
+        String name = line.getHead();
+        String due = line.getFlag(CommandLine.BY);
+        // invalid input: [deadline], [deadline *** /by ] or [deadline /by ***]
+        if (name.isEmpty() || due == null || due.isEmpty()) {
+            throw new InvalidInputException(FORMAT);
+        }
+
+        assert !name.trim().isEmpty() : "name should not be empty";
+        assert !due.trim().isEmpty() : "deadline should not be empty";
+
+        try {
+            return new Deadline(name, false, due);
+        } catch (DateTimeException e) {
+            throw new InvalidInputException(e.getMessage() + "\n", e);
+        }
+    }
+}
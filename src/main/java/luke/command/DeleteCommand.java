@@ -0,0 +1,58 @@
+package luke.command;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import luke.component.CommandLine;
+import luke.component.JournalRecord;
+import luke.component.TaskList;
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+import luke.ui.Luke;
+
+/**
+ * Deletes task n (or the task with id #n) from the list.
+ * Several tasks can be deleted at once, e.g. {@code delete 3,7,12-40} or {@code delete done}.
+ */
+class DeleteCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        if (!TaskSelection.isSelection(line)) {
+            deleteTask(luke, TaskSelection.getTaskIndex(luke.getTaskList(), line));
+            return;
+        }
+        try {
+            deleteTasks(luke, TaskSelection.select(luke.getTaskList(), line));
+        } catch (InvalidInputException e) {
+            luke.showMessage(e.getMessage());
+        }
+    }
+
+    private static void deleteTask(Luke luke, int i) {
+        if (!TaskSelection.checkIndex(luke, i)) {
+            return;
+        }
+        TaskList taskList = luke.getTaskList();
+        Task task = taskList.deleteTask(i);
+        luke.journal(JournalRecord.delete(i));
+        luke.showMessage("Noted. I've removed this task: \n");
+        luke.showMessage("  " + task + "\n");
+        luke.showMessage("Now you have " + taskList.getSize() + " tasks in the list.\n");
+    }
+
+    /**
+     * Deletes several tasks in a single pass and shows how many were deleted, e.g. for {@code delete 3,7,12-40}.
+     */
+    private static void deleteTasks(Luke luke, BitSet indices) {
+        if (indices.isEmpty()) {
+            luke.showMessage("There are no such tasks to delete.\n");
+            return;
+        }
+        TaskList taskList = luke.getTaskList();
+        ArrayList<Task> deleted = taskList.deleteTasks(indices);
+        luke.journal(JournalRecord.delete(indices));
+        luke.showMessage("Noted. I've removed " + deleted.size() + " tasks.\n");
+        luke.showMessage("Now you have " + taskList.getSize() + " tasks in the list.\n");
+    }
+}
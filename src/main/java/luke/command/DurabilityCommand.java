@@ -0,0 +1,30 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.component.DurabilityPolicy;
+import luke.component.Storage;
+import luke.exception.InvalidInputException;
+import luke.ui.Luke;
+
+/**
+ * Shows the durability policy and the measured save latencies, or sets a new durability policy,
+ * e.g. {@code durability every-10-commands}.
+ */
+class DurabilityCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        Storage storage = luke.getStorage();
+        String policyName = line.getArg(0);
+        if (!policyName.isEmpty()) {
+            try {
+                storage.setDurability(DurabilityPolicy.parse(policyName));
+            } catch (InvalidInputException e) {
+                luke.showMessage(e.getMessage() + "\n");
+                return;
+            }
+        }
+        luke.showMessage("Durability: " + storage.getDurability() + "\n");
+        luke.showMessage(storage.getLatencyReport());
+    }
+}
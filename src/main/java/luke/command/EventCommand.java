@@ -0,0 +1,38 @@
+package luke.command;
+
+import java.time.DateTimeException;
+
+import luke.component.CommandLine;
+import luke.exception.InvalidInputException;
+import luke.task.Event;
+import luke.task.Task;
+
+/**
+ * Adds an Event task, e.g. {@code event Team meeting /from 23/02/2025 14:00 /to 23/02/2025 16:00}.
+ */
+class EventCommand extends AddTaskCommand {
+
+    private static final String FORMAT = "Event format: event [name] "
+            + "/from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n";
+
+    @Override
+    Task parseTask(CommandLine line) throws InvalidInputException {
+        String name = line.getHead();
+        String start = line.getFlag(CommandLine.FROM);
+        String end = line.getFlag(CommandLine.TO);
+        // invalid input: [event], [event *** /from ], [event /from ***] or [event *** /from *** /to ]
+        if (name.isEmpty() || start == null || start.isEmpty() || end == null || end.isEmpty()) {
+            throw new InvalidInputException(FORMAT);
+        }
+
+        assert !name.trim().isEmpty() : "name should not be empty";
+        assert !start.trim().isEmpty() : "start time should not be empty";
+        assert !end.trim().isEmpty() : "end time should not be empty";
+
+        try {
+            return new Event(name, false, start, end);
+        } catch (DateTimeException e) {
+            throw new InvalidInputException(e.getMessage() + "\n", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package luke.command;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import luke.component.CommandLine;
+import luke.component.Storage;
+import luke.component.TransferFormat;
+import luke.component.TransferReport;
+import luke.ui.Luke;
+
+/**
+ * Writes the task list to a CSV or JSON file, chosen by its extension.
+ */
+class ExportCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        String fileName = line.getRest().trim();
+        TransferFormat format = TransferFormat.fromFileName(fileName);
+        if (format == null) {
+            luke.showMessage("Export format: export [file.csv|file.json]\n");
+            return;
+        }
+        Path target = Paths.get(fileName);
+        try {
+            TransferReport report = Storage.exportTasks(target, format, luke.getTaskList().getList(),
+                    progress -> luke.showProgress("Exported " + progress + " so far"));
+            luke.showMessage("Exported " + report + " to " + target + "\n");
+        } catch (IOException e) {
+            luke.showMessage("There was a problem exporting to " + fileName + "\n");
+            luke.showMessage(e.getMessage() + "\n");
+        }
+    }
+}
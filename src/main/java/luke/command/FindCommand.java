@@ -0,0 +1,25 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.component.TaskList;
+import luke.ui.Luke;
+
+/**
+ * Shows the tasks whose names contain keywords, e.g. {@code find book} or {@code find red book or blue pen*}.
+ * Keywords match whole words, case-insensitively, and are looked up in the word index of the list,
+ * see {@link TaskList#findTasksByWords(String)}. Every keyword must match; a keyword ending with {@code *}
+ * matches any word it starts, and {@code or} separates alternatives.
+ */
+class FindCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        String query = line.getRest();
+        if (query.isBlank()) {
+            luke.showMessage("Find format: find keyword [keyword...] [or keyword...], "
+                    + "with * after a keyword to match words starting with it\n");
+            return;
+        }
+        ListCommand.printMatches(luke, luke.getTaskList().findTasksByWords(query));
+    }
+}
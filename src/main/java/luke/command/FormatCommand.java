@@ -0,0 +1,33 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.component.Storage;
+import luke.component.StorageFormat;
+import luke.ui.Luke;
+
+/**
+ * Switches the storage format and rewrites the storage file in the new format, e.g. {@code format binary gzip}.
+ * The format is {@code text}, {@code binary} or {@code sharded}, and {@code gzip} compresses the file.
+ */
+class FormatCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        String compression = line.getArg(1);
+        StorageFormat format;
+        try {
+            format = StorageFormat.valueOf(line.getArg(0).toUpperCase());
+        } catch (IllegalArgumentException e) {
+            format = null;
+        }
+        boolean isCompressible = format != StorageFormat.SHARDED && compression.equalsIgnoreCase("gzip");
+        if (format == null || !(compression.isEmpty() || isCompressible)) {
+            luke.showMessage("Format format: format [text|binary|sharded] [gzip]\n");
+            return;
+        }
+        Storage storage = luke.getStorage();
+        storage.setFormat(format);
+        storage.setCompressed(!compression.isEmpty());
+        luke.saveList();
+    }
+}
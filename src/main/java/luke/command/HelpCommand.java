@@ -0,0 +1,39 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.ui.Luke;
+
+/**
+ * Shows the list of commands.
+ */
+class HelpCommand implements Command {
+
+    private static final String HELP = "list of commands:\n"
+            + "todo     : add todo task\n"
+            + "deadline : add deadline task\n"
+            + "event    : add event task\n"
+            + "list     : show list of all tasks (alias: ls)\n"
+            + "list [type] [done|undone] [/from t] [/to t] : show matching tasks\n"
+            + "mark n   : mark task n as done\n"
+            + "unmark n : unmark task n as not done\n"
+            + "delete n : delete task n from list (alias: rm)\n"
+            + "mark #id, unmark #id, delete #id : refer to a task by id, which stays when tasks are deleted\n"
+            + "mark 1-5, unmark done, delete 3,7,12-40 : mark or delete many tasks at once\n"
+            + "find     : search list by keyword\n"
+            + "find red book or pen* : tasks with both words, or a word starting with pen\n"
+            + "sort     : show list in sorted order\n"
+            + "sort a   : show sorted list and apply sort\n"
+            + "archive  : move done tasks to the archive\n"
+            + "archive auto n : archive done tasks once there are more than n, 0 to disable\n"
+            + "archived [keyword] : show archived tasks\n"
+            + "import file : add tasks from a .csv or .json file\n"
+            + "export file : write tasks to a .csv or .json file\n"
+            + "format f [gzip] : save list as text, binary or sharded, optionally compressed\n"
+            + "durability [d] : show save latencies or set disk sync policy\n"
+            + "bye      : save list and exit program (alias: exit)\n";
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        luke.showMessage(HELP);
+    }
+}
@@ -0,0 +1,52 @@
+package luke.command;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import luke.component.CommandLine;
+import luke.component.Storage;
+import luke.component.TaskList;
+import luke.component.TransferFormat;
+import luke.component.TransferReport;
+import luke.ui.Luke;
+
+/**
+ * Adds the tasks of a CSV or JSON file to the list, chosen by its extension, and saves the enlarged list.
+ */
+class ImportCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        String fileName = line.getRest().trim();
+        TransferFormat format = TransferFormat.fromFileName(fileName);
+        if (format == null) {
+            luke.showMessage("Import format: import [file.csv|file.json]\n");
+            return;
+        }
+        TaskList taskList = luke.getTaskList();
+        List<String> badRecords = new ArrayList<>();
+        TransferReport report;
+        try {
+            report = Storage.importTasks(Paths.get(fileName), format, taskList, badRecords,
+                    progress -> luke.showProgress("Imported " + progress + " so far"));
+        } catch (IOException e) {
+            luke.showMessage("There was a problem importing " + fileName + "\n");
+            luke.showMessage(e.getMessage() + "\n");
+            if (luke.getStorage().getSavedGeneration() != taskList.getGeneration()) {
+                luke.saveList();
+            }
+            return;
+        }
+        for (String badRecord : badRecords) {
+            luke.showMessage(" There was something wrong with this record.\n");
+            luke.showMessage(" " + badRecord + "\n");
+        }
+        luke.showMessage("Imported " + report + "\n");
+        luke.showMessage("Now you have " + taskList.getSize() + " tasks in the list.\n");
+        if (report.getTaskCount() > 0) {
+            luke.saveList();
+        }
+    }
+}
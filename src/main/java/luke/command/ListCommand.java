@@ -0,0 +1,104 @@
+package luke.command;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import luke.component.CommandLine;
+import luke.component.TaskList;
+import luke.exception.InvalidInputException;
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+import luke.task.TimeParser;
+import luke.task.ToDo;
+import luke.ui.Luke;
+
+/**
+ * Shows all tasks in the list, or only those matching filters, e.g. {@code list undone deadline}.
+ * The words {@code todo}, {@code deadline} and {@code event} select a type and {@code done} and
+ * {@code undone} a status. The flags {@code /from} and {@code /to} (or {@code /by}) limit the due time
+ * of deadlines and the start time of events, and the matching tasks are then shown in time order.
+ * Matching tasks keep their numbers in the list, so they can be marked or deleted by them.
+ */
+class ListCommand implements Command {
+
+    private static final String FORMAT = "List format: list [todo|deadline|event] [done|undone] "
+            + "[/from DD/MM/YYYY HH:MM] [/to DD/MM/YYYY HH:MM]\n";
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        try {
+            listTasks(luke, line);
+        } catch (InvalidInputException e) {
+            luke.showMessage(e.getMessage());
+        }
+    }
+
+    private static void listTasks(Luke luke, CommandLine line) throws InvalidInputException {
+        Class<? extends Task> type = null;
+        Boolean isDone = null;
+        for (int i = 0; i < line.getArgCount(); i++) {
+            String filter = line.getArg(i).toLowerCase();
+            if (filter.equals("todo")) {
+                type = ToDo.class;
+            } else if (filter.equals("deadline")) {
+                type = Deadline.class;
+            } else if (filter.equals("event")) {
+                type = Event.class;
+            } else if (filter.equals("done") || filter.equals("undone")) {
+                isDone = filter.equals("done");
+            } else {
+                throw new InvalidInputException(FORMAT);
+            }
+        }
+        String from = line.getFlag(CommandLine.FROM);
+        String to = line.getFlag(CommandLine.TO);
+        if (to == null) {
+            to = line.getFlag(CommandLine.BY);
+        }
+        TaskList taskList = luke.getTaskList();
+        ArrayList<Task> tasks;
+        if (from == null && to == null) {
+            if (type == null && isDone == null) {
+                luke.printList(taskList.getList());
+                return;
+            }
+            tasks = taskList.findTasks(type, isDone);
+        } else if (type == ToDo.class) {
+            throw new InvalidInputException("To-dos have no time to be listed by.\n");
+        } else {
+            try {
+                tasks = taskList.findTasksBetween(type, isDone, parseTime(from), parseTime(to));
+            } catch (DateTimeException e) {
+                throw new InvalidInputException(e.getMessage() + "\n", e);
+            }
+        }
+        printMatches(luke, tasks);
+    }
+
+    /**
+     * Prints tasks found in the task list with their numbers in the list, so that they can be marked or
+     * deleted by them.
+     *
+     * @param luke the chatbot whose task list the tasks were found in
+     * @param tasks the matching tasks
+     */
+    static void printMatches(Luke luke, List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            luke.showMessage("There were no matches found.\n");
+            return;
+        }
+        TaskList taskList = luke.getTaskList();
+        StringBuilder matches = new StringBuilder(" Here are the matching tasks in your list:\n");
+        for (Task task : tasks) {
+            matches.append(' ').append(taskList.indexOf(task) + 1).append('.').append(task).append('\n');
+        }
+        luke.showMessage(matches);
+    }
+
+    private static LocalDateTime parseTime(String time) {
+        return time == null ? null : TimeParser.parse(time);
+    }
+}
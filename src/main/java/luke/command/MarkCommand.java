@@ -0,0 +1,89 @@
+package luke.command;
+
+import java.util.BitSet;
+
+import luke.component.CommandLine;
+import luke.component.JournalRecord;
+import luke.component.TaskList;
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+import luke.ui.Luke;
+
+/**
+ * Marks task n (or the task with id #n) as done, or as not done yet.
+ * Several tasks can be marked at once, e.g. {@code mark 1-500} or {@code unmark done}.
+ * Done tasks are archived once there are more than {@link Luke#getArchiveThreshold()}.
+ */
+class MarkCommand implements Command {
+
+    private final boolean isDone;
+
+    /**
+     * Constructs a new {@code MarkCommand}.
+     *
+     * @param isDone whether the command marks tasks as done ({@code mark}) or not done ({@code unmark})
+     */
+    MarkCommand(boolean isDone) {
+        this.isDone = isDone;
+    }
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        if (!TaskSelection.isSelection(line)) {
+            markTask(luke, TaskSelection.getTaskIndex(luke.getTaskList(), line));
+            return;
+        }
+        try {
+            markTasks(luke, TaskSelection.select(luke.getTaskList(), line));
+        } catch (InvalidInputException e) {
+            luke.showMessage(e.getMessage());
+        }
+    }
+
+    private void markTask(Luke luke, int i) {
+        if (!TaskSelection.checkIndex(luke, i)) {
+            return;
+        }
+        TaskList taskList = luke.getTaskList();
+        taskList.markTask(i, this.isDone);
+        Task task = taskList.getTask(i);
+        luke.journal(JournalRecord.mark(i, this.isDone));
+        if (this.isDone) {
+            luke.showMessage("Nice! I've marked this task as done:\n");
+            luke.showMessage("   " + task + "\n");
+            archiveIfNeeded(luke);
+        } else {
+            luke.showMessage("OK, I've marked this task as not done yet:\n");
+            luke.showMessage("   " + task + "\n");
+        }
+    }
+
+    /**
+     * Marks several tasks and shows how many were marked, e.g. for {@code mark 1-500}.
+     */
+    private void markTasks(Luke luke, BitSet indices) {
+        if (indices.isEmpty()) {
+            luke.showMessage("There are no such tasks to mark.\n");
+            return;
+        }
+        int changed = luke.getTaskList().markTasks(indices, this.isDone);
+        luke.journal(JournalRecord.mark(indices, this.isDone));
+        int count = indices.cardinality();
+        if (this.isDone) {
+            luke.showMessage("Nice! I've marked " + count + " tasks as done");
+        } else {
+            luke.showMessage("OK, I've marked " + count + " tasks as not done yet");
+        }
+        luke.showMessage(changed == count ? ".\n" : " (" + (count - changed) + " already were).\n");
+        if (this.isDone) {
+            archiveIfNeeded(luke);
+        }
+    }
+
+    private static void archiveIfNeeded(Luke luke) {
+        int threshold = luke.getArchiveThreshold();
+        if (threshold > 0 && luke.getTaskList().getDoneCount() > threshold) {
+            ArchiveCommand.archiveDoneTasks(luke);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.component.JournalRecord;
+import luke.component.TaskList;
+import luke.ui.Luke;
+
+/**
+ * Shows the list in sorted order, and applies the sort if any argument follows, e.g. {@code sort a}.
+ * The sorted order is read from the index of the task list, see {@link TaskList#getSortedTasks()}.
+ */
+class SortCommand implements Command {
+
+    @Override
+    public void execute(Luke luke, CommandLine line) {
+        TaskList taskList = luke.getTaskList();
+        if (line.getArgCount() > 0) {
+            taskList.sortTasks();
+            luke.journal(JournalRecord.sort());
+            luke.printList(taskList.getList());
+        } else {
+            luke.printList(taskList.getSortedTasks());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package luke.command;
+
+import java.util.BitSet;
+
+import luke.component.CommandLine;
+import luke.component.TaskList;
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+import luke.ui.Luke;
+
+/**
+ * The {@code TaskSelection} class reads which tasks a command such as {@code mark} or {@code delete} refers to:
+ * a single task by its number or id, or several tasks at once.
+ */
+final class TaskSelection {
+
+    private static final String SELECTION_FORMAT = "Give tasks as numbers, ranges, #ids, done, undone or all, "
+            + "e.g. delete 3,7,12-40\n";
+
+    private TaskSelection() {
+    }
+
+    /**
+     * Returns the index of the task a command refers to by its first argument: either its number in the list,
+     * e.g. {@code 3}, or its id after a {@code #}, e.g. {@code #3}. Unlike its number, the id of a task does not
+     * change when tasks before it are deleted, see {@link Task#getId()}.
+     *
+     * @param taskList the task list
+     * @param line the command line, split by {@link CommandLine}
+     * @return the index of the task, or -1 if no task has the given id
+     * @throws NumberFormatException if the argument is not a number
+     */
+    static int getTaskIndex(TaskList taskList, CommandLine line) {
+        String arg = line.getArg(0);
+        if (!arg.startsWith("#")) {
+            return line.getIntArg(0) - 1;
+        }
+        Task task = taskList.getTaskById(Long.parseLong(arg, 1, arg.length(), 10));
+        return task == null ? -1 : taskList.indexOf(task);
+    }
+
+    /**
+     * Checks if the given index is within the bounds of the task list, and if not tells the user why.
+     *
+     * @param luke the chatbot whose task list is checked
+     * @param i the index to check
+     * @return {@code true} if the index is valid, {@code false} otherwise
+     */
+    static boolean checkIndex(Luke luke, int i) {
+        int size = luke.getTaskList().getSize();
+        if (i < 0) {
+            luke.showMessage("There is no such task in the list\n");
+            return false;
+        } else if (i >= size) {
+            luke.showMessage("There are only " + size + " tasks in the list");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if a command refers to several tasks, e.g. {@code mark 1-500}, {@code delete 3,7,12-40} or
+     * {@code delete done}, rather than to a single task by its number or id.
+     *
+     * @param line the command line, split by {@link CommandLine}
+     * @return {@code true} if the tasks should be selected with {@link #select(TaskList, CommandLine)}
+     */
+    static boolean isSelection(CommandLine line) {
+        String arg = line.getArg(0);
+        return line.getArgCount() > 1 || arg.indexOf(',') >= 0 || arg.indexOf('-') > 0
+                || arg.equalsIgnoreCase("done") || arg.equalsIgnoreCase("undone") || arg.equalsIgnoreCase("all");
+    }
+
+    /**
+     * Reads the tasks a command refers to, given as numbers, ranges of numbers, ids, or the words {@code done},
+     * {@code undone} and {@code all}, separated by commas or spaces, e.g. {@code 3,7,12-40 #52}.
+     * Every task is checked before any is changed, so an invalid selection changes nothing.
+     *
+     * @param taskList the task list
+     * @param line the command line, split by {@link CommandLine}
+     * @return the indices of the selected tasks
+     * @throws InvalidInputException if the selection is malformed or refers to a task that is not in the list
+     */
+    static BitSet select(TaskList taskList, CommandLine line) throws InvalidInputException {
+        BitSet indices = new BitSet();
+        for (String token : line.getRest().split("[,\\s]+")) {
+            try {
+                select(taskList, token.toLowerCase(), indices);
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException(SELECTION_FORMAT, e);
+            }
+        }
+        return indices;
+    }
+
+    private static void select(TaskList taskList, String token, BitSet indices) throws InvalidInputException {
+        int dash = token.indexOf('-');
+        if (token.isEmpty()) {
+            return;
+        } else if (token.equals("all")) {
+            indices.set(0, taskList.getSize());
+        } else if (token.equals("done") || token.equals("undone")) {
+            boolean isDone = token.equals("done");
+            int i = 0;
+            for (Task task : taskList.getList()) {
+                if (task.getIsDone() == isDone) {
+                    indices.set(i);
+                }
+                i++;
+            }
+        } else if (token.startsWith("#")) {
+            Task task = taskList.getTaskById(Long.parseLong(token, 1, token.length(), 10));
+            if (task == null) {
+                throw new InvalidInputException("There is no task " + token + " in the list\n");
+            }
+            indices.set(taskList.indexOf(task));
+        } else {
+            int first = Integer.parseInt(token, 0, dash < 0 ? token.length() : dash, 10);
+            int last = dash < 0 ? first : Integer.parseInt(token, dash + 1, token.length(), 10);
+            if (first < 1 || last < first) {
+                throw new InvalidInputException(SELECTION_FORMAT);
+            }
+            // checked before the bits are set, so a range such as 1-2000000000 never grows the set
+            int size = taskList.getSize();
+            if (last > size) {
+                throw new InvalidInputException("There are only " + size + " tasks in the list\n");
+            }
+            indices.set(first - 1, last);
+        }
+    }
+}
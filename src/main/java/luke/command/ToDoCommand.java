@@ -0,0 +1,25 @@
+package luke.command;
+
+import luke.component.CommandLine;
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+import luke.task.ToDo;
+
+/**
+ * Adds a ToDo task, e.g. {@code todo Buy groceries}.
+ */
+class ToDoCommand extends AddTaskCommand {
+
+    @Override
+    Task parseTask(CommandLine line) throws InvalidInputException {
+        String name = line.getRest();
+        // invalid input: [todo] or [todo ]
+        if (name.trim().isEmpty()) {
+            throw new InvalidInputException("Todo format: [todo] [name]");
+        }
+
+        assert !name.trim().isEmpty() : "name should not be empty";
+
+        return new ToDo(name, false);
+    }
+}
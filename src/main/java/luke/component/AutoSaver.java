@@ -0,0 +1,265 @@
+package luke.component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import luke.exception.StaleFileException;
+import luke.task.Task;
+
+/**
+ * The {@code AutoSaver} class moves all disk writes of a {@link Storage} off the command path.
+ *
+ * Journal records and snapshots are written in order by a single background writer thread.
+ * Every mutation marks the list dirty and pushes back a snapshot until no command has arrived
+ * for the quiet period, so a burst of commands results in a single save. A snapshot is never
+ * postponed for longer than ten quiet periods.
+ *
+ * Callers must hold the given lock while mutating the task list and calling {@link #journal(String)},
+ * so that each snapshot copy is consistent with the journal records queued before it.
+ *
+ * If a background save finds that another Luke instance saved the list in the meantime, the conflict
+ * handler is run so that the other instance's list can be merged before the next save.
+ *
+ * In batch mode, mutations are neither journaled nor saved in the background; the caller saves the
+ * list once with {@link #saveNow()} when the batch ends.
+ */
+public class AutoSaver {
+
+    private static final int MAX_DELAY_FACTOR = 10;
+
+    private final Storage storage;
+    private final TaskList taskList;
+    private final Object lock;
+    private final long quietPeriodMillis;
+    private final ExecutorService writer;
+    private final ScheduledExecutorService timer;
+
+    private ScheduledFuture<?> pendingSave;
+    private long dirtySince = -1;
+    private Runnable conflictHandler = () -> { };
+    private volatile boolean isBatchMode = false;
+
+    /**
+     * Constructs a new {@code AutoSaver} for the given storage and task list.
+     *
+     * @param storage the storage to write to
+     * @param taskList the task list to save
+     * @param lock the lock held by callers while they mutate the task list
+     * @param quietPeriodMillis the time without commands after which a dirty list is saved
+     */
+    public AutoSaver(Storage storage, TaskList taskList, Object lock, long quietPeriodMillis) {
+        this.storage = storage;
+        this.taskList = taskList;
+        this.lock = lock;
+        this.quietPeriodMillis = quietPeriodMillis;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> createThread(runnable, "luke-autosave"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable ->
+                createThread(runnable, "luke-autosave-timer"));
+    }
+
+    /**
+     * Sets the handler run on a background thread when a background save is refused because
+     * another Luke instance saved the list since this instance last read or wrote it.
+     *
+     * @param conflictHandler the handler that merges the saved list and saves again
+     */
+    public void setConflictHandler(Runnable conflictHandler) {
+        this.conflictHandler = conflictHandler;
+    }
+
+    /**
+     * Turns batch mode on or off. While it is on, {@link #journal(String)} does nothing, so a script
+     * of commands costs no disk writes until it is saved with {@link #saveNow()}.
+     *
+     * @param isBatchMode {@code true} to start a batch, {@code false} to end it
+     */
+    public void setBatchMode(boolean isBatchMode) {
+        this.isBatchMode = isBatchMode;
+    }
+
+    /**
+     * Queues a journal record for the background writer and marks the list dirty.
+     * Does nothing in batch mode.
+     * Must be called while holding the lock, right after the mutation it records.
+     *
+     * @param record the journal record describing the mutation
+     */
+    public void journal(String record) {
+        if (this.isBatchMode) {
+            return;
+        }
+        this.writer.execute(() -> {
+            try {
+                this.storage.appendJournal(record);
+                if (this.storage.needsCompaction() && !this.timer.isShutdown()) {
+                    this.timer.execute(this::saveInBackground);
+                }
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        });
+        markDirty();
+    }
+
+    /**
+     * Queues tasks to be appended to the archive by the background writer, ahead of any journal
+     * record queued after this call.
+     *
+     * @param tasks the tasks to be archived
+     */
+    public void archive(List<Task> tasks) {
+        this.writer.execute(() -> {
+            try {
+                this.storage.appendArchive(tasks);
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Marks the list dirty and (re)starts the quiet period after which it is saved.
+     */
+    public void markDirty() {
+        synchronized (this.lock) {
+            long now = System.currentTimeMillis();
+            if (this.dirtySince < 0) {
+                this.dirtySince = now;
+            }
+            boolean isOverdue = now - this.dirtySince >= this.quietPeriodMillis * MAX_DELAY_FACTOR;
+            if (this.pendingSave != null) {
+                if (isOverdue) {
+                    return;
+                }
+                this.pendingSave.cancel(false);
+            }
+            this.pendingSave = this.timer.schedule(this::saveInBackground, this.quietPeriodMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Saves a snapshot of the task list right away and waits for it to be written,
+     * after every journal record queued before it.
+     *
+     * @return a report of the save
+     * @throws StaleFileException if another Luke instance saved the list in the meantime
+     * @throws IOException if the save fails
+     */
+    public SaveReport saveNow() throws IOException {
+        Future<SaveReport> result;
+        synchronized (this.lock) {
+            result = this.writer.submit(createSnapshot()::save);
+        }
+        return await(result);
+    }
+
+    /**
+     * Reads the archived tasks once the background writer has appended every task queued for the archive
+     * before this call, so tasks archived just before are shown.
+     *
+     * @return the archived tasks in the order they were archived
+     * @throws IOException if an I/O error occurs while reading the archive
+     */
+    public List<Task> loadArchive() throws IOException {
+        return await(this.writer.submit(this.storage::loadArchive));
+    }
+
+    private static <T> T await(Future<T> result) throws IOException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the background writer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Stops the background threads after the queued writes have completed.
+     */
+    public void shutdown() {
+        this.timer.shutdownNow();
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void saveInBackground() {
+        synchronized (this.lock) {
+            if (this.dirtySince < 0 || this.taskList.getGeneration() == this.storage.getSavedGeneration()) {
+                return;
+            }
+            Snapshot snapshot = createSnapshot();
+            this.writer.execute(() -> {
+                try {
+                    snapshot.save();
+                } catch (StaleFileException e) {
+                    if (!this.timer.isShutdown()) {
+                        this.timer.execute(this.conflictHandler);
+                    }
+                } catch (IOException e) {
+                    System.out.println(e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Copies the task list and clears the dirty state. Must be called while holding the lock.
+     */
+    private Snapshot createSnapshot() {
+        if (this.pendingSave != null) {
+            this.pendingSave.cancel(false);
+            this.pendingSave = null;
+        }
+        this.dirtySince = -1;
+        List<Task> tasks = new ArrayList<>(this.taskList.getList());
+        return new Snapshot(tasks, ShardedStore.readSequences(tasks), this.taskList.getGeneration(),
+                this.taskList.getShardsModifiedSince(this.storage.getShardedGeneration()));
+    }
+
+    private static Thread createThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A copy of the task list taken at a point in the sequence of journal records.
+     * The sequence numbers are copied too, since the tasks are renumbered in place by later mutations.
+     */
+    private class Snapshot {
+        private final List<Task> tasks;
+        private final long[] sequences;
+        private final long generation;
+        private final Set<Long> modifiedShards;
+
+        Snapshot(List<Task> tasks, long[] sequences, long generation, Set<Long> modifiedShards) {
+            this.tasks = tasks;
+            this.sequences = sequences;
+            this.generation = generation;
+            this.modifiedShards = modifiedShards;
+        }
+
+        SaveReport save() throws IOException {
+            return storage.saveSnapshot(this.tasks, this.sequences, this.generation, this.modifiedShards);
+        }
+    }
+}
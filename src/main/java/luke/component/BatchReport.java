@@ -0,0 +1,60 @@
+package luke.component;
+
+/**
+ * The {@code BatchReport} class describes the outcome of running a script of commands as a batch:
+ * how many commands were run and how long they took, not counting the save at the end.
+ */
+public class BatchReport {
+
+    private final long commandCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new {@code BatchReport}.
+     *
+     * @param commandCount the number of commands run
+     * @param elapsedNanos the time taken to run them in nanoseconds
+     */
+    public BatchReport(long commandCount, long elapsedNanos) {
+        this.commandCount = commandCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of commands run.
+     *
+     * @return the number of commands run
+     */
+    public long getCommandCount() {
+        return this.commandCount;
+    }
+
+    /**
+     * Returns the time taken to run the commands in nanoseconds.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the batch.
+     *
+     * @return the number of commands run per second
+     */
+    public double getCommandsPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.commandCount * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Returns a short summary of the batch, e.g. {@code "1000 commands in 12.50 ms (80000 commands/s)"}.
+     *
+     * @return a string representation of the report
+     */
+    @Override
+    public String toString() {
+        return String.format("%d commands in %.2f ms (%.0f commands/s)", this.commandCount,
+                this.elapsedNanos / 1e6, getCommandsPerSecond());
+    }
+}
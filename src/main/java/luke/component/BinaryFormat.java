@@ -0,0 +1,182 @@
+package luke.component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+import luke.task.ToDo;
+
+/**
+ * The {@code BinaryFormat} class reads and writes the compact binary storage format.
+ *
+ * A file starts with the magic bytes {@code "LUKB"}, a version byte, the snapshot stamp
+ * and the number of tasks. Each task is then stored as one flag byte (task type in the low
+ * two bits, done flag in the third bit), the name as a varint length followed by its UTF-8 bytes,
+ * and one epoch-minute {@code long} per timestamp of the task.
+ */
+public class BinaryFormat {
+
+    private static final byte[] MAGIC = {'L', 'U', 'K', 'B'};
+    private static final int VERSION = 1;
+
+    private static final int TYPE_TODO = 0;
+    private static final int TYPE_DEADLINE = 1;
+    private static final int TYPE_EVENT = 2;
+    private static final int TYPE_MASK = 0b011;
+    private static final int DONE_FLAG = 0b100;
+
+    private BinaryFormat() {
+    }
+
+    /**
+     * Checks if the given stream starts with the magic bytes of the binary format.
+     * The stream is read, so callers should pass a fresh stream.
+     *
+     * @param in the stream to be checked
+     * @return true if the stream holds the binary format, false otherwise
+     * @throws IOException if an I/O error occurs while reading the stream
+     */
+    public static boolean hasMagic(InputStream in) throws IOException {
+        byte[] head = in.readNBytes(MAGIC.length);
+        if (head.length != MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the file header: magic bytes, version, snapshot stamp and number of tasks.
+     *
+     * @param out the output to write to
+     * @param stamp the snapshot stamp
+     * @param taskCount the number of tasks that follow
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public static void writeHeader(DataOutput out, long stamp, int taskCount) throws IOException {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(stamp);
+        out.writeInt(taskCount);
+    }
+
+    /**
+     * Reads and validates the magic bytes and version of the file header.
+     * The stamp and task count can then be read with {@link DataInput#readLong()}
+     * and {@link DataInput#readInt()}.
+     *
+     * @param in the input to read from
+     * @throws IOException if the header is not a supported binary header
+     */
+    public static void readMagic(DataInput in) throws IOException {
+        byte[] head = new byte[MAGIC.length];
+        in.readFully(head);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                throw new IOException("Not a binary task file");
+            }
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary task file version: " + version);
+        }
+    }
+
+    /**
+     * Writes a single task record.
+     *
+     * @param out the output to write to
+     * @param task the task to be written
+     * @throws IOException if an I/O error occurs while writing
+     */
+    public static void writeTask(DataOutput out, Task task) throws IOException {
+        int type;
+        if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            type = TYPE_EVENT;
+        } else {
+            type = TYPE_TODO;
+        }
+        out.writeByte(type | (task.getIsDone() ? DONE_FLAG : 0));
+
+        byte[] name = task.getName().getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, name.length);
+        out.write(name);
+
+        if (task instanceof Deadline) {
+            out.writeLong(toEpochMinute(((Deadline) task).getDueTime()));
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            out.writeLong(toEpochMinute(event.getStartTime()));
+            out.writeLong(toEpochMinute(event.getEndTime()));
+        }
+    }
+
+    /**
+     * Reads a single task record.
+     *
+     * @param in the input to read from
+     * @return the task stored in the record
+     * @throws IOException if an I/O error occurs or the record is malformed
+     */
+    public static Task readTask(DataInput in) throws IOException {
+        int flags = in.readUnsignedByte();
+        boolean isDone = (flags & DONE_FLAG) != 0;
+
+        byte[] nameBytes = new byte[readVarInt(in)];
+        in.readFully(nameBytes);
+        String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+        switch (flags & TYPE_MASK) {
+        case TYPE_TODO:
+            return new ToDo(name, isDone);
+        case TYPE_DEADLINE:
+            return new Deadline(name, isDone, fromEpochMinute(in.readLong()));
+        case TYPE_EVENT:
+            LocalDateTime start = fromEpochMinute(in.readLong());
+            return new Event(name, isDone, start, fromEpochMinute(in.readLong()));
+        default:
+            throw new IOException("Unknown task type in binary task file: " + (flags & TYPE_MASK));
+        }
+    }
+
+    private static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed length in binary task file");
+    }
+}
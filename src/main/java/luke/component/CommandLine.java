@@ -0,0 +1,238 @@
+package luke.component;
+
+import java.util.Arrays;
+
+/**
+ * The {@code CommandLine} class splits a command line into its verb, its positional arguments and the
+ * segments introduced by the flags {@code /by}, {@code /from} and {@code /to}, in a single pass over the
+ * characters and without regular expressions.
+ *
+ * Tokens are separated by runs of spaces, tabs and other control characters. The first token is the verb;
+ * the tokens after it are positional arguments until the first flag. The text from the end of the verb to
+ * the first flag is the head, e.g. the name of a task, and each flag's segment runs up to the next flag or
+ * the end of the line.
+ * Only the offsets of the tokens are recorded, so parts of the line are only copied when they are asked for.
+ * A {@code CommandLine} can be reused for any number of lines, see {@link #lex(String)}; the verb string is
+ * reused as well while consecutive lines share their verb, e.g. in a script of {@code todo} commands.
+ */
+public class CommandLine {
+
+    /** The flag that introduces the due time of a deadline. */
+    public static final String BY = "/by";
+    /** The flag that introduces the start time of an event. */
+    public static final String FROM = "/from";
+    /** The flag that introduces the end time of an event. */
+    public static final String TO = "/to";
+
+    private static final String[] FLAGS = {BY, FROM, TO};
+
+    private String input = "";
+    private char[] chars = new char[256];
+    private String verb = "";
+    private int restStart = 0;
+    private int headEnd = 0;
+    private int argCount = 0;
+    private int[] argStarts = new int[4];
+    private int[] argEnds = new int[4];
+    private final int[] flagStarts = new int[FLAGS.length];
+    private final int[] flagEnds = new int[FLAGS.length];
+
+    /**
+     * Splits the given command line, replacing the line split before.
+     *
+     * @param input the command line
+     * @return this command line, for chaining
+     */
+    public CommandLine lex(String input) {
+        this.input = input;
+        this.argCount = 0;
+        for (int i = 0; i < FLAGS.length; i++) {
+            this.flagStarts[i] = -1;
+            this.flagEnds[i] = -1;
+        }
+        int length = input.length();
+        if (this.chars.length < length) {
+            this.chars = new char[Math.max(length, this.chars.length * 2)];
+        }
+        char[] chars = this.chars;
+        input.getChars(0, length, chars, 0);
+        int openFlag = -1;
+        int lastTokenEnd = 0;
+        int tokenIndex = 0;
+        int i = skipBlanks(chars, 0, length);
+        int verbStart = i;
+        int verbEnd = i;
+        this.restStart = length;
+        this.headEnd = length;
+        while (i < length) {
+            int tokenStart = i;
+            while (i < length && !isBlank(chars[i])) {
+                i++;
+            }
+            int tokenEnd = i;
+            if (tokenIndex == 0) {
+                verbEnd = tokenEnd;
+                this.restStart = tokenEnd < length ? tokenEnd + 1 : length;
+                this.headEnd = length;
+            } else {
+                int flag = findFlag(chars, tokenStart, tokenEnd);
+                if (flag >= 0 && this.flagStarts[flag] < 0) {
+                    if (openFlag < 0) {
+                        this.headEnd = lastTokenEnd;
+                    } else {
+                        this.flagEnds[openFlag] = lastTokenEnd;
+                    }
+                    this.flagStarts[flag] = skipBlanks(chars, tokenEnd, length);
+                    this.flagEnds[flag] = length;
+                    openFlag = flag;
+                } else if (openFlag < 0) {
+                    addArg(tokenStart, tokenEnd);
+                }
+            }
+            lastTokenEnd = tokenEnd;
+            tokenIndex++;
+            i = skipBlanks(chars, i, length);
+        }
+        if (openFlag >= 0) {
+            this.flagEnds[openFlag] = Math.max(this.flagStarts[openFlag], lastTokenEnd);
+        }
+        int verbLength = verbEnd - verbStart;
+        if (verbLength != this.verb.length() || !input.regionMatches(true, verbStart, this.verb, 0, verbLength)) {
+            this.verb = input.substring(verbStart, verbEnd).toLowerCase();
+        }
+        return this;
+    }
+
+    /**
+     * Returns the verb of the line in lower case, e.g. {@code "deadline"}.
+     *
+     * @return the verb, or an empty string for a blank line
+     */
+    public String getVerb() {
+        return this.verb;
+    }
+
+    /**
+     * Returns the number of positional arguments, i.e. the tokens between the verb and the first flag.
+     *
+     * @return the number of positional arguments
+     */
+    public int getArgCount() {
+        return this.argCount;
+    }
+
+    /**
+     * Returns a positional argument.
+     *
+     * @param index the index of the argument, starting from 0 for the token after the verb
+     * @return the argument, or an empty string if there are not that many arguments
+     */
+    public String getArg(int index) {
+        return index < this.argCount ? this.input.substring(this.argStarts[index], this.argEnds[index]) : "";
+    }
+
+    /**
+     * Parses a positional argument as a decimal integer without copying it.
+     *
+     * @param index the index of the argument
+     * @return the value of the argument
+     * @throws NumberFormatException if the argument is missing or not an integer
+     */
+    public int getIntArg(int index) {
+        if (index >= this.argCount) {
+            throw new NumberFormatException("Missing argument " + (index + 1));
+        }
+        return Integer.parseInt(this.input, this.argStarts[index], this.argEnds[index], 10);
+    }
+
+    /**
+     * Returns everything after the verb as it was typed, e.g. a task name that may contain flags or
+     * several spaces in a row.
+     *
+     * @return the text after the verb and the space following it
+     */
+    public String getRest() {
+        return this.input.substring(this.restStart);
+    }
+
+    /**
+     * Returns the text between the verb and the first flag without surrounding whitespace.
+     *
+     * @return the head of the line, e.g. the name of a task
+     */
+    public String getHead() {
+        return trim(this.restStart, this.headEnd);
+    }
+
+    /**
+     * Returns the segment introduced by a flag, up to the next flag or the end of the line.
+     * Only the first occurrence of each flag is recognised.
+     *
+     * @param flag one of {@link #BY}, {@link #FROM} and {@link #TO}
+     * @return the segment without surrounding whitespace, or {@code null} if the flag does not occur
+     */
+    public String getFlag(String flag) {
+        for (int i = 0; i < FLAGS.length; i++) {
+            if (FLAGS[i].equals(flag)) {
+                return this.flagStarts[i] < 0 ? null : trim(this.flagStarts[i], this.flagEnds[i]);
+            }
+        }
+        throw new IllegalArgumentException("Unknown flag: " + flag);
+    }
+
+    private void addArg(int start, int end) {
+        if (this.argCount == this.argStarts.length) {
+            this.argStarts = Arrays.copyOf(this.argStarts, this.argCount * 2);
+            this.argEnds = Arrays.copyOf(this.argEnds, this.argCount * 2);
+        }
+        this.argStarts[this.argCount] = start;
+        this.argEnds[this.argCount] = end;
+        this.argCount++;
+    }
+
+    private String trim(int start, int end) {
+        start = skipBlanks(this.chars, start, end);
+        while (end > start && isBlank(this.chars[end - 1])) {
+            end--;
+        }
+        return start >= end ? "" : this.input.substring(start, end);
+    }
+
+    /**
+     * Checks if a character separates tokens: a space, a tab or any other control character.
+     */
+    private static boolean isBlank(char c) {
+        return c <= ' ';
+    }
+
+    private static int skipBlanks(char[] chars, int from, int end) {
+        while (from < end && isBlank(chars[from])) {
+            from++;
+        }
+        return from;
+    }
+
+    private static int findFlag(char[] chars, int start, int end) {
+        if (chars[start] != '/') {
+            return -1;
+        }
+        for (int i = 0; i < FLAGS.length; i++) {
+            if (isToken(chars, start, end, FLAGS[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isToken(char[] chars, int start, int end, String token) {
+        if (end - start != token.length()) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (chars[start + i] != token.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
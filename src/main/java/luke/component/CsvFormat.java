@@ -0,0 +1,188 @@
+package luke.component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+
+/**
+ * The {@code CsvFormat} class reads and writes tasks as comma-separated values.
+ *
+ * The first row names the columns, e.g. {@code "type,done,name,by,from,to"}. Columns may come in
+ * any order and unknown columns are ignored, so files exported by other trackers can be imported
+ * once their columns are named accordingly. Fields containing commas, quotes or line breaks are
+ * quoted, with quotes doubled, as described in RFC 4180.
+ */
+public class CsvFormat {
+
+    private static final String[] COLUMNS = {"type", "done", "name", "by", "from", "to"};
+
+    private CsvFormat() {
+    }
+
+    /**
+     * Reads tasks from a CSV stream one row at a time, reusing the same field buffers for every row.
+     */
+    static class RecordReader implements TaskRecordReader {
+        private final Reader in;
+        private final List<String> fields = new ArrayList<>();
+        private final StringBuilder field = new StringBuilder();
+        private final int[] columnIndices = new int[COLUMNS.length];
+        private boolean isHeaderRead = false;
+        private long recordNumber = 0;
+
+        RecordReader(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public Task readTask() throws IOException, InvalidInputException {
+            if (!this.isHeaderRead) {
+                readHeader();
+            }
+            do {
+                if (!readRecord()) {
+                    return null;
+                }
+            } while (this.fields.size() == 1 && this.fields.get(0).isEmpty());
+            return TransferFormat.createTask(getColumn(0), getColumn(1), getColumn(2),
+                    getColumn(3), getColumn(4), getColumn(5));
+        }
+
+        @Override
+        public long getRecordNumber() {
+            return this.recordNumber;
+        }
+
+        private void readHeader() throws IOException {
+            this.isHeaderRead = true;
+            Arrays.fill(this.columnIndices, -1);
+            if (!readRecord()) {
+                return;
+            }
+            for (int i = 0; i < this.fields.size(); i++) {
+                String name = this.fields.get(i).trim().toLowerCase();
+                for (int column = 0; column < COLUMNS.length; column++) {
+                    if (COLUMNS[column].equals(name)) {
+                        this.columnIndices[column] = i;
+                    }
+                }
+            }
+            if (this.columnIndices[0] < 0 || this.columnIndices[2] < 0) {
+                throw new IOException("The CSV header must name the columns type and name");
+            }
+        }
+
+        private String getColumn(int column) {
+            int index = this.columnIndices[column];
+            return index < 0 || index >= this.fields.size() ? null : this.fields.get(index);
+        }
+
+        /**
+         * Reads one row into {@link #fields}. Quoted fields may span several lines.
+         *
+         * @return false at the end of the stream
+         */
+        private boolean readRecord() throws IOException {
+            this.fields.clear();
+            this.field.setLength(0);
+            int c = this.in.read();
+            if (c < 0) {
+                return false;
+            }
+            this.recordNumber++;
+            boolean isQuoted = false;
+            while (true) {
+                if (isQuoted) {
+                    if (c < 0) {
+                        throw new IOException("Unterminated quoted field in CSV record " + this.recordNumber);
+                    } else if (c == '"') {
+                        c = this.in.read();
+                        if (c != '"') {
+                            isQuoted = false;
+                            continue;
+                        }
+                    }
+                    this.field.append((char) c);
+                } else if (c == '"' && this.field.length() == 0) {
+                    isQuoted = true;
+                } else if (c == ',') {
+                    this.fields.add(this.field.toString());
+                    this.field.setLength(0);
+                } else if (c == '\n' || c < 0) {
+                    this.fields.add(this.field.toString());
+                    return true;
+                } else if (c != '\r') {
+                    this.field.append((char) c);
+                }
+                c = this.in.read();
+            }
+        }
+    }
+
+    /**
+     * Writes tasks as CSV rows after a header row.
+     */
+    static class RecordWriter implements TaskRecordWriter {
+        private final Writer out;
+        private boolean isHeaderWritten = false;
+
+        RecordWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeTask(Task task) throws IOException {
+            if (!this.isHeaderWritten) {
+                writeHeader();
+            }
+            String[] times = TransferFormat.getTimes(task);
+            this.out.write(TransferFormat.getType(task));
+            this.out.write(',');
+            this.out.write(task.getIsDone() ? "true" : "false");
+            this.out.write(',');
+            writeField(task.getName());
+            for (String time : times) {
+                this.out.write(',');
+                if (time != null) {
+                    this.out.write(time);
+                }
+            }
+            this.out.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (!this.isHeaderWritten) {
+                writeHeader();
+            }
+            this.out.flush();
+        }
+
+        private void writeHeader() throws IOException {
+            this.out.write(String.join(",", COLUMNS));
+            this.out.write("\r\n");
+            this.isHeaderWritten = true;
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean isQuoted = false;
+            for (int i = 0; i < value.length() && !isQuoted; i++) {
+                char c = value.charAt(i);
+                isQuoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!isQuoted) {
+                this.out.write(value);
+                return;
+            }
+            this.out.write('"');
+            this.out.write(value.replace("\"", "\"\""));
+            this.out.write('"');
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package luke.component;
+
+import luke.exception.InvalidInputException;
+
+/**
+ * The {@code DurabilityPolicy} class decides when {@link Storage} forces its writes to disk
+ * with {@link java.nio.channels.FileChannel#force(boolean)}.
+ *
+ * <ul>
+ *     <li>{@code none}: never force; the operating system flushes whenever it likes.</li>
+ *     <li>{@code on-shutdown}: force the files once when the program exits.</li>
+ *     <li>{@code every-N-commands}: force the journal after every N commands and every snapshot.</li>
+ *     <li>{@code every-command}: force the journal after every command and every snapshot.</li>
+ * </ul>
+ */
+public class DurabilityPolicy {
+
+    /**
+     * The modes a {@code DurabilityPolicy} can be in.
+     */
+    public enum Mode {
+        NONE, ON_SHUTDOWN, EVERY_N_COMMANDS, EVERY_COMMAND
+    }
+
+    private static final String EVERY_PREFIX = "every-";
+    private static final String COMMANDS_SUFFIX = "-commands";
+
+    private final Mode mode;
+    private final int interval;
+
+    private DurabilityPolicy(Mode mode, int interval) {
+        this.mode = mode;
+        this.interval = interval;
+    }
+
+    /**
+     * Parses a policy from its name: {@code none}, {@code on-shutdown}, {@code every-command}
+     * or {@code every-N-commands} with a positive number N, e.g. {@code every-10-commands}.
+     *
+     * @param name the name of the policy
+     * @return the parsed policy
+     * @throws InvalidInputException if the name is not a valid policy
+     */
+    public static DurabilityPolicy parse(String name) throws InvalidInputException {
+        String key = name.trim().toLowerCase();
+        if (key.equals("none")) {
+            return new DurabilityPolicy(Mode.NONE, 0);
+        } else if (key.equals("on-shutdown")) {
+            return new DurabilityPolicy(Mode.ON_SHUTDOWN, 0);
+        } else if (key.equals("every-command")) {
+            return new DurabilityPolicy(Mode.EVERY_COMMAND, 1);
+        } else if (key.startsWith(EVERY_PREFIX) && key.endsWith(COMMANDS_SUFFIX)
+                && key.length() > EVERY_PREFIX.length() + COMMANDS_SUFFIX.length()) {
+            String count = key.substring(EVERY_PREFIX.length(), key.length() - COMMANDS_SUFFIX.length());
+            try {
+                int interval = Integer.parseInt(count);
+                if (interval > 0) {
+                    return new DurabilityPolicy(Mode.EVERY_N_COMMANDS, interval);
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the error below
+            }
+        }
+        throw new InvalidInputException("Durability format: none, on-shutdown, every-N-commands or every-command");
+    }
+
+    /**
+     * Returns the default policy, which can be overridden with the {@code luke.durability} system property.
+     *
+     * @return the default policy
+     */
+    public static DurabilityPolicy getDefault() {
+        try {
+            return parse(System.getProperty("luke.durability", "on-shutdown"));
+        } catch (InvalidInputException e) {
+            System.out.println(e.getMessage());
+            return new DurabilityPolicy(Mode.ON_SHUTDOWN, 0);
+        }
+    }
+
+    /**
+     * Returns the mode of the policy.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return this.mode;
+    }
+
+    /**
+     * Checks if the journal should be forced after the given number of unforced commands.
+     *
+     * @param unforcedCommands the number of commands appended since the journal was last forced
+     * @return true if the journal should be forced now, false otherwise
+     */
+    public boolean isJournalForced(int unforcedCommands) {
+        return (this.mode == Mode.EVERY_COMMAND || this.mode == Mode.EVERY_N_COMMANDS)
+                && unforcedCommands >= this.interval;
+    }
+
+    /**
+     * Checks if snapshots should be forced before they replace the storage file.
+     *
+     * @return true if snapshots are forced, false otherwise
+     */
+    public boolean isSnapshotForced() {
+        return this.mode == Mode.EVERY_COMMAND || this.mode == Mode.EVERY_N_COMMANDS;
+    }
+
+    /**
+     * Checks if the files should be forced when the program exits.
+     *
+     * @return true if the files are forced on shutdown, false otherwise
+     */
+    public boolean isSyncedOnShutdown() {
+        return this.mode != Mode.NONE;
+    }
+
+    /**
+     * Returns the name of the policy, e.g. {@code every-10-commands}.
+     *
+     * @return the name of the policy
+     */
+    @Override
+    public String toString() {
+        switch (this.mode) {
+        case NONE:
+            return "none";
+        case ON_SHUTDOWN:
+            return "on-shutdown";
+        case EVERY_COMMAND:
+            return "every-command";
+        default:
+            return EVERY_PREFIX + this.interval + COMMANDS_SUFFIX;
+        }
+    }
+}
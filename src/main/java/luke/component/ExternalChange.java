@@ -0,0 +1,135 @@
+package luke.component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import luke.task.Task;
+
+/**
+ * The {@code ExternalChange} class describes a change made to the text storage file by another program,
+ * as found by comparing the file with the last known {@link TextBaseline}: a run of task lines starting
+ * at {@link #getStart()} was replaced by the tasks in {@link #getAddedTasks()}.
+ *
+ * Lines that appear both among the replaced and the replacing lines were left as they were, e.g. when
+ * tasks at both ends of the file changed. They are ignored when the change is applied to a list that
+ * has been modified since it was saved, so that such a list keeps its own edits of those tasks.
+ */
+public class ExternalChange {
+
+    private final int start;
+    private final int removedCount;
+    private final Map<Long, Integer> unmatchedHashes = new HashMap<>();
+    private final List<Task> addedTasks;
+    private final List<Task> insertedTasks = new ArrayList<>();
+    private final List<String> badLines;
+    private final long baselineGeneration;
+
+    /**
+     * Constructs a new {@code ExternalChange}.
+     *
+     * @param start the index of the first task line that changed
+     * @param removedHashes the hashes of the task lines that were replaced, see {@link #isRemoved(Task)}
+     * @param addedTasks the tasks parsed from the lines that replaced them
+     * @param badLines the replacing lines that could not be parsed, with their line number
+     * @param baselineGeneration the generation of the task list the file held before the change, or -1
+     */
+    public ExternalChange(int start, long[] removedHashes, List<Task> addedTasks, List<String> badLines,
+            long baselineGeneration) {
+        this.start = start;
+        this.removedCount = removedHashes.length;
+        for (long hash : removedHashes) {
+            this.unmatchedHashes.merge(hash, 1, Integer::sum);
+        }
+        for (Task task : addedTasks) {
+            if (!isRemoved(task)) {
+                this.insertedTasks.add(task);
+            }
+        }
+        this.addedTasks = addedTasks;
+        this.badLines = badLines;
+        this.baselineGeneration = baselineGeneration;
+    }
+
+    /**
+     * Returns the index of the first task that changed.
+     *
+     * @return the index of the first changed task
+     */
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Returns the number of tasks that were replaced.
+     *
+     * @return the number of replaced tasks
+     */
+    public int getRemovedCount() {
+        return this.removedCount;
+    }
+
+    /**
+     * Returns the tasks that replaced them.
+     *
+     * @return the added tasks in file order
+     */
+    public List<Task> getAddedTasks() {
+        return this.addedTasks;
+    }
+
+    /**
+     * Returns the replacing tasks that were not among the replaced tasks, i.e. the tasks that are new.
+     * Used together with {@link #isRemoved(Task)} to apply the change to a list that has been modified
+     * since it was saved.
+     *
+     * @return the new tasks in file order
+     */
+    public List<Task> getInsertedTasks() {
+        return this.insertedTasks;
+    }
+
+    /**
+     * Returns the lines that could not be parsed, with their line number.
+     *
+     * @return the bad lines
+     */
+    public List<String> getBadLines() {
+        return this.badLines;
+    }
+
+    /**
+     * Returns the generation of the task list the file held before the change. If the list is still at
+     * this generation, the change can be applied by position with {@link TaskList#replaceTasks(int, int, List)}.
+     *
+     * @return the generation, or -1 if the file did not hold a generation of the list
+     */
+    public long getBaselineGeneration() {
+        return this.baselineGeneration;
+    }
+
+    /**
+     * Checks if a task matches one of the replaced lines that has not been matched yet, and if so
+     * consumes that line. Replaced lines that reappear among the replacing lines never match.
+     * Used to apply the change to a list that has been modified since it was saved.
+     *
+     * @param task a task of the live list
+     * @return true if the task was replaced by the change, false otherwise
+     */
+    public boolean isRemoved(Task task) {
+        if (this.unmatchedHashes.isEmpty()) {
+            return false;
+        }
+        long hash = TextBaseline.hash(task.toStorageString());
+        Integer count = this.unmatchedHashes.get(hash);
+        if (count == null) {
+            return false;
+        } else if (count == 1) {
+            this.unmatchedHashes.remove(hash);
+        } else {
+            this.unmatchedHashes.put(hash, count - 1);
+        }
+        return true;
+    }
+}
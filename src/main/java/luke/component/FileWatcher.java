@@ -0,0 +1,103 @@
+package luke.component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code FileWatcher} class watches a single file with a {@link WatchService} on a background thread
+ * and runs a callback whenever the file is created or modified.
+ *
+ * Events arriving in quick succession, e.g. while an editor writes the file in several steps,
+ * are coalesced into a single callback once the file has been quiet for a short settle period.
+ */
+public class FileWatcher {
+
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Path file;
+    private final Runnable onChange;
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * Constructs a watcher for the given file.
+     *
+     * @param file the file to be watched
+     * @param onChange the callback run on the watcher thread after the file changed
+     */
+    public FileWatcher(Path file, Runnable onChange) {
+        this.file = file;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Starts watching the directory of the file on a daemon thread.
+     *
+     * @throws IOException if the directory cannot be created or watched
+     */
+    public void start() throws IOException {
+        Path directory = this.file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watch, "luke-file-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    public void close() {
+        if (this.watchService == null) {
+            return;
+        }
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                if (!pollFileEvents(this.watchService.take())) {
+                    continue;
+                }
+                // let the writer finish before reading the file
+                WatchKey key;
+                while ((key = this.watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    pollFileEvents(key);
+                }
+                this.onChange.run();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped by close()
+        }
+    }
+
+    /**
+     * Consumes the pending events of a key and resets it.
+     *
+     * @return true if any event concerned the watched file
+     */
+    private boolean pollFileEvents(WatchKey key) {
+        boolean isFileEvent = false;
+        Path fileName = this.file.getFileName();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            isFileEvent |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+        }
+        key.reset();
+        return isFileEvent;
+    }
+}
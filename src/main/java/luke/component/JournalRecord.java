@@ -0,0 +1,166 @@
+package luke.component;
+
+import java.util.BitSet;
+
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+
+/**
+ * The {@code JournalRecord} class writes the records that describe each mutation of the task list in the journal,
+ * see {@link Storage#appendJournal(String)}, and replays them onto a task list when the list is loaded.
+ *
+ * A record starts with its type, followed by its fields separated by {@code " : "}:
+ * {@code A : <storage line>} adds a task, {@code M : <indices> : 1|0} marks tasks as done or not done,
+ * {@code X : <indices>} deletes tasks, {@code S} sorts the list and {@code R} archives the done tasks.
+ * Indices start from 0 and are written as ranges, e.g. {@code 2,6,11-39}.
+ */
+public final class JournalRecord {
+
+    private static final String ADD = "A";
+    private static final String MARK = "M";
+    private static final String DELETE = "X";
+    private static final String SORT = "S";
+    private static final String ARCHIVE = "R";
+    private static final String SEPARATOR = " : ";
+
+    private JournalRecord() {
+    }
+
+    /**
+     * Writes the record of a task added to the end of the list.
+     *
+     * @param task the added task
+     * @return the journal record
+     */
+    public static String add(Task task) {
+        return ADD + SEPARATOR + task.toStorageString();
+    }
+
+    /**
+     * Writes the record of a single task marked as done or not done.
+     *
+     * @param index the index of the task
+     * @param isDone whether the task was marked as done
+     * @return the journal record
+     */
+    public static String mark(int index, boolean isDone) {
+        return MARK + SEPARATOR + index + SEPARATOR + (isDone ? "1" : "0");
+    }
+
+    /**
+     * Writes the record of several tasks marked as done or not done.
+     *
+     * @param indices the indices of the tasks
+     * @param isDone whether the tasks were marked as done
+     * @return the journal record
+     */
+    public static String mark(BitSet indices, boolean isDone) {
+        return MARK + SEPARATOR + writeRanges(indices) + SEPARATOR + (isDone ? "1" : "0");
+    }
+
+    /**
+     * Writes the record of a single deleted task.
+     *
+     * @param index the index the task had
+     * @return the journal record
+     */
+    public static String delete(int index) {
+        return DELETE + SEPARATOR + index;
+    }
+
+    /**
+     * Writes the record of several tasks deleted in a single pass.
+     *
+     * @param indices the indices the tasks had
+     * @return the journal record
+     */
+    public static String delete(BitSet indices) {
+        return DELETE + SEPARATOR + writeRanges(indices);
+    }
+
+    /**
+     * Writes the record of a sort of the list.
+     *
+     * @return the journal record
+     */
+    public static String sort() {
+        return SORT;
+    }
+
+    /**
+     * Writes the record of the done tasks being moved to the archive.
+     *
+     * @return the journal record
+     */
+    public static String archive() {
+        return ARCHIVE;
+    }
+
+    /**
+     * Applies a journal record to the task list, repeating the mutation it describes.
+     *
+     * @param taskList the task list the record is replayed onto
+     * @param record the journal record
+     * @throws InvalidInputException if the record is malformed or refers to a task that is not in the list
+     */
+    public static void replay(TaskList taskList, String record) throws InvalidInputException {
+        String[] recordParts = record.split(SEPARATOR, 2);
+        String recordType = recordParts[0];
+        try {
+            if (recordType.equals(ADD)) {
+                taskList.addTask(TextFormat.parseTask(recordParts[1]));
+            } else if (recordType.equals(MARK)) {
+                String[] markParts = recordParts[1].split(SEPARATOR);
+                taskList.markTasks(readRanges(markParts[0], taskList.getSize()), markParts[1].equals("1"));
+            } else if (recordType.equals(DELETE)) {
+                taskList.deleteTasks(readRanges(recordParts[1], taskList.getSize()));
+            } else if (recordType.equals(SORT)) {
+                taskList.sortTasks();
+            } else if (recordType.equals(ARCHIVE)) {
+                taskList.deleteDoneTasks();
+            } else {
+                throw new InvalidInputException("invalid journal record");
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new InvalidInputException("invalid journal record", e);
+        }
+    }
+
+    /**
+     * Writes a set of task indices as ranges, e.g. {@code "2,6,11-39"}.
+     * A single index is written as a number, as in the records of single tasks.
+     */
+    static String writeRanges(BitSet indices) {
+        StringBuilder ranges = new StringBuilder();
+        for (int start = indices.nextSetBit(0); start >= 0; start = indices.nextSetBit(start)) {
+            int end = indices.nextClearBit(start);
+            if (ranges.length() > 0) {
+                ranges.append(',');
+            }
+            ranges.append(start);
+            if (end - start > 1) {
+                ranges.append('-').append(end - 1);
+            }
+            start = end;
+        }
+        return ranges.toString();
+    }
+
+    /**
+     * Reads the task indices written by {@link #writeRanges(BitSet)}, checking that they are in a list of the
+     * given size before any of them is set.
+     */
+    static BitSet readRanges(String ranges, int size) throws InvalidInputException {
+        BitSet indices = new BitSet();
+        for (String range : ranges.split(",")) {
+            int dash = range.indexOf('-');
+            int first = Integer.parseInt(range, 0, dash < 0 ? range.length() : dash, 10);
+            int last = dash < 0 ? first : Integer.parseInt(range, dash + 1, range.length(), 10);
+            if (first < 0 || last < first || last >= size) {
+                throw new InvalidInputException("invalid journal record: no tasks " + range + " in a list of " + size);
+            }
+            indices.set(first, last + 1);
+        }
+        return indices;
+    }
+}
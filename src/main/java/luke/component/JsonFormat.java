@@ -0,0 +1,260 @@
+package luke.component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+
+/**
+ * The {@code JsonFormat} class reads and writes tasks as a JSON array of flat objects, e.g.
+ * {@code [{"type":"deadline","done":false,"name":"report","by":"22/02/2025 23:59"}]}.
+ *
+ * The array is read as a stream: only the object being read is held in memory. Values must be
+ * strings, booleans, numbers or {@code null}; unknown keys are ignored.
+ */
+public class JsonFormat {
+
+    private JsonFormat() {
+    }
+
+    /**
+     * Reads tasks from a JSON array one object at a time with a single character of lookahead.
+     */
+    static class RecordReader implements TaskRecordReader {
+        private final Reader in;
+        private final Map<String, String> fields = new HashMap<>();
+        private final StringBuilder text = new StringBuilder();
+        private int next = -2;
+        private boolean isStarted = false;
+        private boolean isFinished = false;
+        private long recordNumber = 0;
+
+        RecordReader(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public Task readTask() throws IOException, InvalidInputException {
+            if (!this.isStarted) {
+                expect('[');
+                this.isStarted = true;
+                if (peekNonSpace() == ']') {
+                    read();
+                    this.isFinished = true;
+                }
+            }
+            if (this.isFinished) {
+                return null;
+            }
+            this.recordNumber++;
+            readObject();
+            int c = readNonSpace();
+            if (c == ']') {
+                this.isFinished = true;
+            } else if (c != ',') {
+                throw error("expected ',' or ']'");
+            }
+            return TransferFormat.createTask(this.fields.get("type"), this.fields.get("done"),
+                    this.fields.get("name"), this.fields.get("by"), this.fields.get("from"), this.fields.get("to"));
+        }
+
+        @Override
+        public long getRecordNumber() {
+            return this.recordNumber;
+        }
+
+        private void readObject() throws IOException {
+            expect('{');
+            this.fields.clear();
+            if (peekNonSpace() == '}') {
+                read();
+                return;
+            }
+            while (true) {
+                if (peekNonSpace() != '"') {
+                    throw error("expected a key");
+                }
+                String key = readString();
+                expect(':');
+                this.fields.put(key, readValue());
+                int c = readNonSpace();
+                if (c == '}') {
+                    return;
+                } else if (c != ',') {
+                    throw error("expected ',' or '}'");
+                }
+            }
+        }
+
+        /**
+         * Reads a string, boolean, number or null value.
+         *
+         * @return the value as a string, or {@code null} for a JSON null
+         */
+        private String readValue() throws IOException {
+            int c = peekNonSpace();
+            if (c == '"') {
+                return readString();
+            } else if (c == '{' || c == '[') {
+                throw error("nested values are not supported");
+            }
+            this.text.setLength(0);
+            while ((c = peek()) >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                this.text.append((char) read());
+            }
+            String literal = this.text.toString();
+            if (literal.isEmpty()) {
+                throw error("expected a value");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() throws IOException {
+            expect('"');
+            this.text.setLength(0);
+            while (true) {
+                int c = read();
+                if (c < 0) {
+                    throw error("unterminated string");
+                } else if (c == '"') {
+                    return this.text.toString();
+                } else if (c == '\\') {
+                    this.text.append(readEscape());
+                } else {
+                    this.text.append((char) c);
+                }
+            }
+        }
+
+        private char readEscape() throws IOException {
+            int c = read();
+            switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw error("invalid unicode escape");
+                    }
+                    value = value * 16 + digit;
+                }
+                return (char) value;
+            default:
+                throw error("invalid escape");
+            }
+        }
+
+        private void expect(char expected) throws IOException {
+            if (readNonSpace() != expected) {
+                throw error("expected '" + expected + "'");
+            }
+        }
+
+        private int readNonSpace() throws IOException {
+            peekNonSpace();
+            return read();
+        }
+
+        private int peekNonSpace() throws IOException {
+            while (peek() >= 0 && Character.isWhitespace(peek())) {
+                read();
+            }
+            return peek();
+        }
+
+        private int peek() throws IOException {
+            if (this.next == -2) {
+                this.next = this.in.read();
+            }
+            return this.next;
+        }
+
+        private int read() throws IOException {
+            int c = peek();
+            this.next = -2;
+            return c;
+        }
+
+        private IOException error(String message) {
+            return new IOException("Malformed JSON in record " + this.recordNumber + ": " + message);
+        }
+    }
+
+    /**
+     * Writes tasks as the objects of a JSON array, one object per line.
+     */
+    static class RecordWriter implements TaskRecordWriter {
+        private static final String[] TIME_KEYS = {"by", "from", "to"};
+
+        private final Writer out;
+        private boolean isFirst = true;
+
+        RecordWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeTask(Task task) throws IOException {
+            this.out.write(this.isFirst ? "[\n" : ",\n");
+            this.isFirst = false;
+            this.out.write("{\"type\":\"");
+            this.out.write(TransferFormat.getType(task));
+            this.out.write("\",\"done\":");
+            this.out.write(task.getIsDone() ? "true" : "false");
+            this.out.write(",\"name\":");
+            writeString(task.getName());
+            String[] times = TransferFormat.getTimes(task);
+            for (int i = 0; i < times.length; i++) {
+                if (times[i] != null) {
+                    this.out.write(",\"" + TIME_KEYS[i] + "\":");
+                    writeString(times[i]);
+                }
+            }
+            this.out.write('}');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            this.out.write(this.isFirst ? "[]\n" : "\n]\n");
+            this.out.flush();
+        }
+
+        private void writeString(String value) throws IOException {
+            this.out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    this.out.write('\\');
+                    this.out.write(c);
+                } else if (c == '\n') {
+                    this.out.write("\\n");
+                } else if (c == '\t') {
+                    this.out.write("\\t");
+                } else if (c < 0x20) {
+                    this.out.write(String.format("\\u%04x", (int) c));
+                } else {
+                    this.out.write(c);
+                }
+            }
+            this.out.write('"');
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package luke.component;
+
+import java.util.Arrays;
+
+/**
+ * The {@code LatencyRecorder} class keeps the most recent latency samples of an operation
+ * and reports percentiles over them.
+ */
+public class LatencyRecorder {
+
+    private static final int CAPACITY = 4096;
+
+    private final long[] samples = new long[CAPACITY];
+    private long count = 0;
+
+    /**
+     * Records a single latency sample.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        this.samples[(int) (this.count % CAPACITY)] = nanos;
+        this.count++;
+    }
+
+    /**
+     * Returns the total number of samples recorded.
+     *
+     * @return the number of samples
+     */
+    public synchronized long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Returns the given percentile of the recent samples.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the latency at the percentile in nanoseconds, or 0 if there are no samples
+     */
+    public synchronized long getPercentile(double percentile) {
+        int size = (int) Math.min(this.count, CAPACITY);
+        if (size == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(this.samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+
+    /**
+     * Returns a summary of the samples, e.g. {@code "n=12 p50=0.10 p90=0.40 p99=1.20 max=1.30 ms"}.
+     *
+     * @return a string representation of the recorded latencies
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d p50=%.2f p90=%.2f p99=%.2f max=%.2f ms", getCount(),
+                getPercentile(50) / 1e6, getPercentile(90) / 1e6, getPercentile(99) / 1e6, getPercentile(100) / 1e6);
+    }
+}
@@ -0,0 +1,291 @@
+package luke.component;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+
+/**
+ * The {@code MappedTaskLoader} class loads a text task file by memory-mapping it and scanning
+ * line boundaries directly on the mapped bytes. Each line is decoded into a reused character buffer
+ * (byte by byte while it is ASCII) and parsed there by {@link TextFormat}, so a large file is parsed
+ * exactly like a small one, without a {@code Scanner}, regex or a {@code String} per line.
+ *
+ * Files larger than a single mapping are processed in line-aligned windows. Each window can
+ * be split into line-aligned chunks that are parsed in parallel on a {@link ForkJoinPool};
+ * the parsed chunks are then added to the task list in their original order. Each window is
+ * unmapped as soon as it has been parsed, as a mapped file cannot be replaced on some platforms.
+ */
+class MappedTaskLoader {
+
+    private static final long MAX_WINDOW_SIZE = 1L << 30;
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final Path path;
+    private long stamp = 0;
+    private int lineNumber = 0;
+
+    /**
+     * Constructs a loader for the text task file at the given path.
+     *
+     * @param path the file to be loaded
+     */
+    MappedTaskLoader(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Returns the snapshot stamp found in the header of the loaded file.
+     *
+     * @return the snapshot stamp, or 0 if the header has none
+     */
+    long getStamp() {
+        return this.stamp;
+    }
+
+    /**
+     * Loads every task of the file into the task list on the calling thread.
+     *
+     * @see #load(TaskList, List, ForkJoinPool)
+     */
+    boolean load(TaskList taskList, List<String> badLines) throws IOException {
+        return load(taskList, badLines, null);
+    }
+
+    /**
+     * Loads every task of the file into the task list.
+     * Lines that cannot be parsed are skipped and described in {@code badLines}
+     * together with their line number.
+     *
+     * @param taskList the task list the tasks are added to
+     * @param badLines the list bad lines are reported to
+     * @param pool the pool to parse chunks on, or {@code null} to parse on the calling thread
+     * @return true if the file had a header, false if it is empty
+     * @throws IOException if an I/O error occurs while mapping the file
+     */
+    boolean load(TaskList taskList, List<String> badLines, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long windowStart = 0;
+            while (windowStart < size) {
+                long windowSize = Math.min(MAX_WINDOW_SIZE, size - windowStart);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+                try {
+                    windowStart += loadWindow(buffer, windowStart == 0, windowStart + windowSize == size,
+                            taskList, badLines, pool);
+                } finally {
+                    unmap(buffer);
+                }
+            }
+        }
+        return this.lineNumber > 0;
+    }
+
+    /**
+     * Loads the complete lines of a mapped window into the task list.
+     *
+     * @return the number of bytes loaded, up to the end of the last complete line
+     */
+    private int loadWindow(MappedByteBuffer buffer, boolean isFirst, boolean isLast, TaskList taskList,
+            List<String> badLines, ForkJoinPool pool) throws IOException {
+        int limit = buffer.limit();
+        int end = isLast ? limit : lastLineEnd(buffer, limit);
+        if (end == 0) {
+            throw new IOException("Line " + (this.lineNumber + 1) + " is too long to be loaded");
+        }
+        int start = 0;
+        if (isFirst) {
+            start = readHeader(buffer, end);
+        }
+        for (ChunkParser chunk : parse(buffer, start, end, pool)) {
+            chunk.addTo(taskList, badLines, this.lineNumber);
+            this.lineNumber += chunk.lineCount;
+        }
+        return end;
+    }
+
+    /**
+     * Unmaps a buffer right away rather than when it is garbage collected, so that the file can be replaced
+     * by the next save on platforms that refuse to replace a mapped file, e.g. Windows. The buffer must not
+     * be used afterwards. If the JDK does not allow it, the buffer is left to the garbage collector.
+     *
+     * @param buffer the buffer to be unmapped
+     */
+    static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(unsafeField.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // unmapped once the buffer is garbage collected
+        }
+    }
+
+    /**
+     * Parses the lines in {@code [start, end)}, splitting them into chunks when a pool is given.
+     *
+     * @return the parsed chunks in file order
+     */
+    private List<ChunkParser> parse(MappedByteBuffer buffer, int start, int end, ForkJoinPool pool) {
+        List<ChunkParser> chunks = new ArrayList<>();
+        int chunkCount = pool == null ? 1 : pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = pool == null ? end - start : Math.max(MIN_CHUNK_SIZE, (end - start) / chunkCount + 1);
+        int chunkStart = start;
+        while (chunkStart < end) {
+            int chunkEnd = nextLineStart(buffer, (int) Math.min((long) chunkStart + chunkSize, end), end);
+            chunks.add(new ChunkParser(buffer, chunkStart, chunkEnd));
+            chunkStart = chunkEnd;
+        }
+        if (pool == null || chunks.size() == 1) {
+            chunks.forEach(ChunkParser::compute);
+        } else {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(chunks)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Reads the header line and returns the position of the line after it.
+     */
+    private int readHeader(MappedByteBuffer buffer, int end) {
+        int headerEnd = nextLineStart(buffer, 0, end);
+        int contentEnd = trimLineEnd(buffer, 0, headerEnd);
+        this.stamp = Storage.parseStamp(new ChunkParser(buffer, 0, contentEnd).decode(0, contentEnd).toString());
+        this.lineNumber = 1;
+        return headerEnd;
+    }
+
+    /**
+     * Returns the position just after the last line feed before {@code limit}, or 0 if there is none.
+     */
+    private static int lastLineEnd(MappedByteBuffer buffer, int limit) {
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the position just after the first line feed at or after {@code from}, or {@code end}.
+     */
+    private static int nextLineStart(MappedByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Returns the end of the line content in {@code [start, end)}, excluding any line feed and carriage return.
+     */
+    private static int trimLineEnd(MappedByteBuffer buffer, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Parses the task lines of one line-aligned chunk of the mapped file.
+     * Each chunk keeps its own tasks, bad lines and decode buffer, so chunks can be parsed concurrently.
+     */
+    private static class ChunkParser extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient MappedByteBuffer buffer;
+        private final int start;
+        private final int end;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<Integer> badLineNumbers = new ArrayList<>();
+        private final List<String> badLines = new ArrayList<>();
+        private final List<InvalidInputException> badLineErrors = new ArrayList<>();
+        private int lineCount = 0;
+        private char[] chars = new char[256];
+        private CharBuffer view = CharBuffer.wrap(this.chars);
+
+        ChunkParser(MappedByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            int lineStart = this.start;
+            while (lineStart < this.end) {
+                int lineEnd = nextLineStart(this.buffer, lineStart, this.end);
+                int contentEnd = trimLineEnd(this.buffer, lineStart, lineEnd);
+                this.lineCount++;
+                if (contentEnd > lineStart) {
+                    CharSequence line = decode(lineStart, contentEnd);
+                    try {
+                        this.tasks.add(TextFormat.parseTask(line));
+                    } catch (InvalidInputException e) {
+                        this.badLineNumbers.add(this.lineCount);
+                        this.badLines.add(line.toString());
+                        this.badLineErrors.add(e);
+                    }
+                }
+                lineStart = lineEnd;
+            }
+        }
+
+        /**
+         * Adds the parsed tasks to the task list and reports the bad lines,
+         * numbering the lines of this chunk from {@code linesBefore + 1}.
+         */
+        void addTo(TaskList taskList, List<String> badLines, int linesBefore) {
+            for (Task task : this.tasks) {
+                taskList.addTask(task);
+            }
+            for (int i = 0; i < this.badLines.size(); i++) {
+                String lineNumber = String.valueOf(linesBefore + this.badLineNumbers.get(i));
+                badLines.add(TextFormat.describeBadLine(lineNumber, this.badLines.get(i), this.badLineErrors.get(i)));
+            }
+        }
+
+        /**
+         * Decodes the bytes in {@code [start, end)} as UTF-8. ASCII lines are copied into the reused
+         * character buffer and viewed there; other lines are decoded into a {@code String}.
+         */
+        private CharSequence decode(int start, int end) {
+            int length = end - start;
+            if (this.chars.length < length) {
+                this.chars = new char[Math.max(length, this.chars.length * 2)];
+                this.view = CharBuffer.wrap(this.chars);
+            }
+            for (int i = 0; i < length; i++) {
+                byte b = this.buffer.get(start + i);
+                if (b < 0) {
+                    byte[] bytes = new byte[length];
+                    this.buffer.get(start, bytes, 0, length);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+                this.chars[i] = (char) b;
+            }
+            return this.view.clear().limit(length);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package luke.component;
+
+/**
+ * The {@code SaveReport} class describes the outcome of a single save performed by {@link Storage}.
+ * It records how many tasks were written, how many bytes reached the file and how long the save took.
+ */
+public class SaveReport {
+
+    private final int taskCount;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new {@code SaveReport}.
+     *
+     * @param taskCount the number of tasks written
+     * @param bytes the number of bytes written to the file
+     * @param elapsedNanos the time taken by the save in nanoseconds
+     */
+    public SaveReport(int taskCount, long bytes, long elapsedNanos) {
+        this.taskCount = taskCount;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of tasks written.
+     *
+     * @return the number of tasks written
+     */
+    public int getTaskCount() {
+        return this.taskCount;
+    }
+
+    /**
+     * Returns the number of bytes written to the file.
+     *
+     * @return the number of bytes written
+     */
+    public long getBytes() {
+        return this.bytes;
+    }
+
+    /**
+     * Returns the time taken by the save in nanoseconds.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns a short summary of the save, e.g. {@code "10 tasks, 245 bytes in 1.20 ms"}.
+     *
+     * @return a string representation of the report
+     */
+    @Override
+    public String toString() {
+        return String.format("%d tasks, %d bytes in %.2f ms", this.taskCount, this.bytes, this.elapsedNanos / 1e6);
+    }
+}
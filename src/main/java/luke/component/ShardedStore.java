@@ -0,0 +1,475 @@
+package luke.component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import luke.exception.InvalidInputException;
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+
+/**
+ * The {@code ShardedStore} class saves the task list as a directory of shard files plus a manifest.
+ *
+ * Tasks are partitioned by type and by creation bucket, i.e. by their sequence number divided by
+ * {@link #BUCKET_SIZE}. Each shard is a text file of lines such as {@code "42 : T : 1 : name"},
+ * where the leading sequence number restores the order of the list on loading.
+ *
+ * A save only rewrites the shards modified since the last save. Rewritten shards go to new files
+ * named after the snapshot stamp, and the manifest listing the current file of every shard is then
+ * atomically replaced, so a crash during a save leaves the previous set of shards intact.
+ * Files no longer listed in the manifest are deleted after it has been replaced.
+ *
+ * On loading, the shards are parsed in parallel on the common {@link ForkJoinPool}.
+ */
+class ShardedStore {
+
+    static final int BUCKET_SIZE = 4096;
+
+    private static final String MANIFEST_FILE = "manifest";
+    private static final String MANIFEST_HEADER = "shards: ";
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final String SEPARATOR = " : ";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final char[] TYPE_NAMES = {'T', 'D', 'E'};
+
+    private final Path directory;
+
+    // the file holding each shard, as listed in the manifest
+    private final Map<Long, String> shardFiles = new HashMap<>();
+    // the shard files written without forcing them to disk since they were last forced
+    private final Set<String> unforcedFiles = new HashSet<>();
+    private volatile long savedGeneration = -1;
+
+    /**
+     * Constructs a store for the shard directory at the given path.
+     *
+     * @param directory the directory holding the manifest and the shard files
+     */
+    ShardedStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the id of the shard the task belongs to, combining its creation bucket and its type.
+     *
+     * @param task the task to be placed in a shard
+     * @return the shard id
+     */
+    static long getShardId(Task task) {
+        return getShardId(task, task.getSequence());
+    }
+
+    /**
+     * Returns the id of the shard the task belongs to when it has the given sequence number,
+     * e.g. the sequence number it had when the list was copied for a save.
+     *
+     * @param task the task to be placed in a shard
+     * @param sequence the sequence number of the task
+     * @return the shard id
+     */
+    static long getShardId(Task task, long sequence) {
+        int type;
+        if (task instanceof Deadline) {
+            type = 1;
+        } else if (task instanceof Event) {
+            type = 2;
+        } else {
+            type = 0;
+        }
+        return (Math.max(sequence, 0) / BUCKET_SIZE) << 2 | type;
+    }
+
+    /**
+     * Reads the sequence numbers of the tasks, so that a copy of the list can be saved on another thread
+     * while the tasks are renumbered, e.g. by a sort.
+     *
+     * @param tasks the tasks in list order
+     * @return the sequence number of every task
+     */
+    static long[] readSequences(List<Task> tasks) {
+        long[] sequences = new long[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            sequences[i++] = task.getSequence();
+        }
+        return sequences;
+    }
+
+    /**
+     * Checks if a manifest exists in the shard directory.
+     *
+     * @return true if there is a sharded list to load, false otherwise
+     */
+    boolean exists() {
+        return Files.exists(getManifestPath());
+    }
+
+    /**
+     * Returns the path of the manifest.
+     *
+     * @return the manifest path
+     */
+    Path getManifestPath() {
+        return this.directory.resolve(MANIFEST_FILE);
+    }
+
+    /**
+     * Reads the snapshot stamp from the header of the manifest.
+     *
+     * @return the snapshot stamp, or -1 if there is no readable manifest
+     */
+    long readStamp() {
+        try (BufferedReader reader = Files.newBufferedReader(getManifestPath(), StandardCharsets.UTF_8)) {
+            return parseManifestStamp(reader.readLine());
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the generation of the task list that was last saved to the shards.
+     * Shards modified after it have to be rewritten by the next save.
+     *
+     * @return the last saved generation, or -1 if nothing was saved or loaded yet
+     */
+    long getSavedGeneration() {
+        return this.savedGeneration;
+    }
+
+    /**
+     * Records that the shards hold the given generation of the task list, e.g. right after loading them.
+     *
+     * @param generation the saved generation
+     */
+    void setSavedGeneration(long generation) {
+        this.savedGeneration = generation;
+    }
+
+    /**
+     * Loads every shard listed in the manifest into the task list, in sequence order.
+     * The shards are parsed in parallel and then merged by sequence number.
+     * Lines that cannot be parsed are skipped and reported to {@code badLines} with their file and line number.
+     * Files in the shard directory that the manifest does not list, e.g. left behind by a crash, are deleted.
+     *
+     * @param taskList the task list the stored tasks are added to
+     * @param badLines the list bad lines are reported to
+     * @return the snapshot stamp of the manifest
+     * @throws IOException if an I/O error occurs while reading the manifest or a shard
+     */
+    long load(TaskList taskList, List<String> badLines) throws IOException {
+        long stamp;
+        this.shardFiles.clear();
+        try (BufferedReader reader = Files.newBufferedReader(getManifestPath(), StandardCharsets.UTF_8)) {
+            stamp = Math.max(parseManifestStamp(reader.readLine()), 0);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    this.shardFiles.put(parseShardId(line), line);
+                }
+            }
+        }
+
+        List<ShardReader> readers = new ArrayList<>();
+        for (String fileName : this.shardFiles.values()) {
+            readers.add(new ShardReader(this.directory.resolve(fileName)));
+        }
+        ForkJoinPool.commonPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(readers)));
+        List<Task> tasks = new ArrayList<>();
+        for (ShardReader reader : readers) {
+            if (reader.error != null) {
+                throw reader.error;
+            }
+            tasks.addAll(reader.tasks);
+            badLines.addAll(reader.badLines);
+        }
+        tasks.sort(Comparator.comparingLong(Task::getSequence));
+        for (Task task : tasks) {
+            taskList.addTask(task);
+        }
+        deleteUnlisted();
+        return stamp;
+    }
+
+    /**
+     * Saves the tasks, rewriting only the shards that were modified, are new or have no file yet,
+     * and then replaces the manifest. Shards that no longer hold any task are dropped.
+     *
+     * @param tasks the tasks to be saved, in list order
+     * @param sequences the sequence number of every task, read when the tasks were copied
+     * @param modifiedShards the ids of the shards modified since the last save, or {@code null} if all were
+     * @param generation the generation of the task list the tasks were copied from
+     * @param stamp the snapshot stamp of the save
+     * @param isForced whether the written files are forced to disk
+     * @return a report of the number of tasks and bytes rewritten and the time taken
+     * @throws IOException if an I/O error occurs while writing a shard or the manifest
+     */
+    SaveReport save(List<Task> tasks, long[] sequences, Set<Long> modifiedShards, long generation, long stamp,
+            boolean isForced) throws IOException {
+        long startTime = System.nanoTime();
+        Files.createDirectories(this.directory);
+
+        Map<Long, List<Integer>> rewrittenShards = new HashMap<>();
+        Set<Long> presentShards = new HashSet<>();
+        long lastShardId = -1;
+        List<Integer> lastShard = null;
+        for (int i = 0; i < sequences.length; i++) {
+            long shardId = getShardId(tasks.get(i), sequences[i]);
+            if (shardId != lastShardId) {
+                presentShards.add(shardId);
+                boolean isRewritten = modifiedShards == null || modifiedShards.contains(shardId)
+                        || !this.shardFiles.containsKey(shardId);
+                lastShard = isRewritten ? rewrittenShards.computeIfAbsent(shardId, id -> new ArrayList<>()) : null;
+                lastShardId = shardId;
+            }
+            if (lastShard != null) {
+                lastShard.add(i);
+            }
+        }
+
+        long bytes = 0;
+        int taskCount = 0;
+        Map<Long, String> newShardFiles = new HashMap<>();
+        for (long shardId : presentShards) {
+            List<Integer> shard = rewrittenShards.get(shardId);
+            if (shard == null) {
+                newShardFiles.put(shardId, this.shardFiles.get(shardId));
+            } else {
+                String fileName = getShardName(shardId) + "." + stamp;
+                bytes += writeShard(fileName, tasks, sequences, shard, isForced);
+                taskCount += shard.size();
+                newShardFiles.put(shardId, fileName);
+            }
+        }
+        bytes += writeManifest(newShardFiles, stamp, isForced);
+
+        Set<String> oldFiles = new HashSet<>(this.shardFiles.values());
+        oldFiles.removeAll(newShardFiles.values());
+        for (String fileName : oldFiles) {
+            Files.deleteIfExists(this.directory.resolve(fileName));
+        }
+        this.unforcedFiles.removeAll(oldFiles);
+        this.shardFiles.clear();
+        this.shardFiles.putAll(newShardFiles);
+        this.savedGeneration = Math.max(this.savedGeneration, generation);
+        return new SaveReport(taskCount, bytes, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Deletes the manifest and every shard file, e.g. after the list was saved in another format.
+     *
+     * @throws IOException if an I/O error occurs while deleting the files
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(getManifestPath());
+        this.shardFiles.clear();
+        this.unforcedFiles.clear();
+        this.savedGeneration = -1;
+        deleteUnlisted();
+        Files.deleteIfExists(this.directory);
+    }
+
+    /**
+     * Forces the shard files written without forcing them since they were last forced to disk,
+     * so that the manifest can then be forced without listing a shard that might not survive a crash.
+     *
+     * @return the number of shard files forced
+     * @throws IOException if an I/O error occurs while forcing a shard file
+     */
+    int force() throws IOException {
+        int forcedCount = 0;
+        for (String fileName : this.unforcedFiles) {
+            Path file = this.directory.resolve(fileName);
+            if (Files.exists(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.force(false);
+                }
+                forcedCount++;
+            }
+        }
+        this.unforcedFiles.clear();
+        return forcedCount;
+    }
+
+    /**
+     * Writes the tasks at the given positions of the list to a shard file, each with its sequence number.
+     */
+    private long writeShard(String fileName, List<Task> tasks, long[] sequences, List<Integer> shard,
+            boolean isForced) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.directory.resolve(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                    StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            String lineSeparator = System.lineSeparator();
+            for (int i : shard) {
+                writer.write(Long.toString(sequences[i]));
+                writer.write(SEPARATOR);
+                writer.write(tasks.get(i).toStorageString());
+                writer.write(lineSeparator);
+            }
+            writer.flush();
+            if (isForced) {
+                channel.force(false);
+            } else {
+                this.unforcedFiles.add(fileName);
+            }
+            return channel.position();
+        }
+    }
+
+    private long writeManifest(Map<Long, String> newShardFiles, long stamp, boolean isForced) throws IOException {
+        Path manifest = getManifestPath();
+        Path temp = manifest.resolveSibling(MANIFEST_FILE + TEMP_FILE_SUFFIX);
+        long bytes;
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                    StandardCharsets.UTF_8));
+            writer.write(MANIFEST_HEADER + stamp);
+            writer.write(System.lineSeparator());
+            for (String fileName : newShardFiles.values()) {
+                writer.write(fileName);
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+            bytes = channel.position();
+            if (isForced) {
+                channel.force(false);
+            }
+        }
+        try {
+            Files.move(temp, manifest, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, manifest, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isForced) {
+            try (FileChannel channel = FileChannel.open(this.directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // directories cannot be opened as channels on some platforms
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Deletes every file in the shard directory other than the manifest and the files it lists.
+     */
+    private void deleteUnlisted() throws IOException {
+        if (!Files.isDirectory(this.directory)) {
+            return;
+        }
+        Set<String> listedFiles = new HashSet<>(this.shardFiles.values());
+        listedFiles.add(MANIFEST_FILE);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                if (!listedFiles.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the name of a shard, e.g. {@code "D-3"} for the deadlines of the fourth creation bucket.
+     */
+    private static String getShardName(long shardId) {
+        return TYPE_NAMES[(int) (shardId & 0b11)] + "-" + (shardId >>> 2);
+    }
+
+    /**
+     * Parses the shard id from a shard file name such as {@code "D-3.1700000000000"}.
+     */
+    private static long parseShardId(String fileName) throws IOException {
+        int dash = fileName.indexOf('-');
+        int dot = fileName.indexOf('.', dash);
+        int type = dash == 1 ? new String(TYPE_NAMES).indexOf(fileName.charAt(0)) : -1;
+        if (type < 0 || dot < 0) {
+            throw new IOException("Invalid shard in manifest: " + fileName);
+        }
+        try {
+            return Long.parseLong(fileName.substring(dash + 1, dot)) << 2 | type;
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid shard in manifest: " + fileName);
+        }
+    }
+
+    private static long parseManifestStamp(String header) {
+        if (header == null || !header.startsWith(MANIFEST_HEADER)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.substring(MANIFEST_HEADER.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Parses the lines of one shard file. Each reader keeps its own tasks and bad lines,
+     * so shards can be parsed concurrently.
+     */
+    private static class ShardReader extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Path file;
+        private final List<Task> tasks = new ArrayList<>();
+        private final List<String> badLines = new ArrayList<>();
+        private IOException error;
+
+        ShardReader(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        protected void compute() {
+            try (BufferedReader reader = Files.newBufferedReader(this.file, StandardCharsets.UTF_8)) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (!line.isEmpty()) {
+                        readLine(line, lineNumber);
+                    }
+                }
+            } catch (IOException e) {
+                this.error = e;
+            }
+        }
+
+        private void readLine(String line, int lineNumber) {
+            int separator = line.indexOf(SEPARATOR);
+            try {
+                if (separator < 0) {
+                    throw new InvalidInputException("missing sequence number");
+                }
+                Task task = TextFormat.parseTask(line, separator + SEPARATOR.length(), line.length());
+                task.setSequence(Long.parseLong(line, 0, separator, 10));
+                this.tasks.add(task);
+            } catch (InvalidInputException | NumberFormatException e) {
+                this.badLines.add(this.file.getFileName() + ":" + lineNumber + ": " + line);
+            }
+        }
+    }
+}
@@ -1,57 +1,457 @@
 package luke.component;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import luke.exception.InvalidInputException;
+import luke.exception.StaleFileException;
+import luke.task.Task;
 
 /**
  * The {@code Storage} class is responsible for reading from a file located at {@link #READ_FILE_PATH}
  * and writing to a file located at {@link #WRITE_FILE_PATH}.
- * It provides methods to read lines from the file, write lines to the file,
- * check if the file exists and has content, and clear the file.
+ * It provides methods to load the task list from the file, save snapshots of it,
+ * journal individual changes, check if the file exists and has content, and clear the file.
  */
 public class Storage {
     private static final String READ_FILE_PATH = "src/main/resources/data/list.txt";
     private static final String WRITE_FILE_PATH = "src/main/resources/data/list.txt";
     private static final String JAR_READ_FILE_PATH = "data/list.txt";
     private static final String JAR_WRITE_FILE_PATH = "data/list.txt";
-    private Scanner scanner;
-    private boolean isJar = false;
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final String JOURNAL_FILE_SUFFIX = ".journal";
+    private static final String JOURNAL_BASE_SUFFIX = ".base";
+    private static final String ARCHIVE_FILE_SUFFIX = ".archive";
+    private static final String SHARD_DIRECTORY_SUFFIX = ".shards";
+    private static final String LOCK_FILE_SUFFIX = ".lock";
+    private static final String JOURNAL_HEADER = "journal : ";
+    private static final String SNAPSHOT_HEADER = "list: ";
+    private static final String HEADER_SEPARATOR = " : ";
+    private static final long JOURNAL_COMPACTION_THRESHOLD = 1 << 20;
+    private static final long PARALLEL_LOAD_THRESHOLD = 4 << 20;
+    private static final long MAPPED_LOAD_THRESHOLD = 64 << 10;
+    private static final int TRANSFER_PROGRESS_INTERVAL = 100_000;
+    private static final int MAX_REPORTED_BAD_RECORDS = 10;
+    // the journal lock files held by Storage objects in this JVM, which must not be opened again: closing any
+    // descriptor of a file drops every lock the process holds on it
+    private static final Set<Path> OWNED_JOURNAL_LOCKS = ConcurrentHashMap.newKeySet();
+    private final Path file;
+    private boolean isBinaryFile = false;
+    private boolean isCompressedFile = false;
+    private boolean isShardedFile = false;
+    private boolean isCompressed = false;
+    private StorageFormat format;
+    private boolean isParallelLoad = true;
+    private final ShardedStore shardedStore;
+
+    // stamp shared by a snapshot and the journal of mutations made on top of it
+    private long snapshotStamp = 0;
+    private FileChannel journalChannel;
+    // locked for as long as this instance owns the journal; the journal itself is never locked
+    private FileChannel journalLockChannel;
+    private boolean isJournalShared = false;
+    private boolean isJournalBehind = false;
+    private long journalSize = 0;
+    private long savedGeneration = -1;
+
+    // locked by every Luke instance while it checks the stamp on disk and replaces the list
+    private FileChannel lockChannel;
+
+    // the list as last read or written, to merge changes made by other programs and other instances
+    private TextBaseline textBaseline;
+
+    // archived tasks, loaded lazily the first time they are asked for
+    private List<Task> archivedTasks;
+
+    private DurabilityPolicy durability = DurabilityPolicy.getDefault();
+    private int unforcedCommands = 0;
+    private final Map<String, LatencyRecorder> journalLatencies = new LinkedHashMap<>();
+    private final Map<String, LatencyRecorder> snapshotLatencies = new LinkedHashMap<>();
+    private final Map<String, LatencyRecorder> syncLatencies = new LinkedHashMap<>();
 
     /**
-     * Constructs a Storage object and initializes a Scanner to read from the file
-     * located at "data/list.txt".
-     *
-     * @throws FileNotFoundException if the file at the READ_FILE_PATH does not exist
+     * Constructs a Storage object for the file located at "data/list.txt"
+     * and detects whether the file is stored in the text or binary format and whether it is compressed.
+     * If a sharded list was saved more recently than the file, the sharded list is loaded instead.
      */
     public Storage() {
+        this(findFile());
+    }
+
+    /**
+     * Constructs a Storage object for the file at the given path, e.g. a file in a temporary directory.
+     * The journal, archive, lock file and shards are kept next to it.
+     *
+     * @param file the path of the storage file
+     * @see #Storage()
+     */
+    public Storage(Path file) {
+        this.file = file;
+        if (Files.exists(getReadPath())) {
+            try (InputStream in = openInput(getReadPath())) {
+                this.isCompressedFile = in instanceof GZIPInputStream;
+                this.isBinaryFile = BinaryFormat.hasMagic(in);
+            } catch (IOException e) {
+                this.isBinaryFile = false;
+            }
+        }
+        this.shardedStore = new ShardedStore(getShardDirectory());
+        if (this.shardedStore.exists()) {
+            this.isShardedFile = !Files.exists(getReadPath())
+                    || this.shardedStore.readStamp() >= readStamp(getReadPath());
+        }
+        if (this.isShardedFile) {
+            this.format = StorageFormat.SHARDED;
+        } else {
+            this.format = this.isBinaryFile ? StorageFormat.BINARY : StorageFormat.TEXT;
+        }
+        this.isCompressed = this.isCompressedFile;
+    }
+
+    /**
+     * Reads the snapshot stamp from the header of a task file, in either storage format.
+     *
+     * @return the snapshot stamp, or -1 if the header cannot be read
+     */
+    private static long readStamp(Path file) {
         try {
-            this.scanner = new Scanner(new File(READ_FILE_PATH));
-        } catch (FileNotFoundException e) {
-            isJar = true;
-            try {
-                this.scanner = new Scanner(new File(JAR_READ_FILE_PATH));
-            } catch (FileNotFoundException e2) {
-                System.out.println("No file found");
+            try (InputStream in = openInput(file)) {
+                if (BinaryFormat.hasMagic(in)) {
+                    DataInputStream dataIn = new DataInputStream(in);
+                    dataIn.readUnsignedByte();
+                    return dataIn.readLong();
+                }
+            }
+            try (InputStream in = openInput(file)) {
+                String header = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)).readLine();
+                return header == null ? -1 : parseStamp(header);
             }
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the stamp of the most recent snapshot on disk, whether it was saved as a file or as shards.
+     * Must be called while holding the lock file, see {@link #lockFiles()}.
+     *
+     * @return the snapshot stamp, or -1 if there is no snapshot on disk
+     */
+    private long readDiskStamp() {
+        long stamp = Files.exists(getWritePath()) ? readStamp(getWritePath()) : -1;
+        if (this.shardedStore.exists()) {
+            stamp = Math.max(stamp, this.shardedStore.readStamp());
+        }
+        return stamp;
+    }
+
+    /**
+     * Checks that no other Luke instance saved the list since this instance last read or wrote it.
+     * Must be called while holding the lock file, see {@link #lockFiles()}.
+     *
+     * @throws StaleFileException if the snapshot on disk was saved by another instance
+     */
+    private void checkDiskStamp() throws StaleFileException {
+        long diskStamp = readDiskStamp();
+        if (diskStamp >= 0 && diskStamp != this.snapshotStamp) {
+            throw new StaleFileException("The list file was saved by another instance of Luke");
         }
     }
 
     /**
-     * Reads the next line from the file.
+     * Loads the sharded list into the given task list and remembers its snapshot stamp,
+     * see {@link ShardedStore}. Lines that cannot be parsed are skipped and reported to {@code badLines}.
      *
-     * @return the next line of text in the file
+     * @param taskList the task list the stored tasks are added to
+     * @param badLines the list bad lines are reported to
+     * @return true if a sharded list was found, false otherwise
+     * @throws IOException if an I/O error occurs while reading the manifest or a shard
      */
-    public String readLine() {
+    public boolean loadSharded(TaskList taskList, List<String> badLines) throws IOException {
+        if (!this.shardedStore.exists()) {
+            return false;
+        }
+        this.snapshotStamp = this.shardedStore.load(taskList, badLines);
+        this.shardedStore.setSavedGeneration(taskList.getGeneration());
+        this.textBaseline = TextBaseline.of(taskList.getList(), taskList.getGeneration(), null);
+        return true;
+    }
+
+    /**
+     * Loads the text storage file into the given task list and remembers its snapshot stamp.
+     * The file is memory-mapped and parsed directly from its bytes, see {@link MappedTaskLoader}, unless it is
+     * small enough to be read faster than it can be mapped, e.g. when running a single command from the terminal.
+     * Large files are split into line-aligned chunks that are parsed in parallel when parallel loading is on.
+     * A compressed file is instead decompressed and parsed line by line as it streams in.
+     * Lines that cannot be parsed are skipped and reported to {@code badLines} with their line number.
+     *
+     * @param taskList the task list the stored tasks are added to
+     * @param badLines the list bad lines are reported to
+     * @return true if a list file with a header was found, false otherwise
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public boolean loadText(TaskList taskList, List<String> badLines) throws IOException {
+        Path readPath = getReadPath();
+        if (!Files.exists(readPath)) {
+            return false;
+        }
+        if (this.isCompressedFile) {
+            long stamp = readText(readPath, taskList, badLines);
+            this.snapshotStamp = Math.max(stamp, 0);
+            this.textBaseline = TextBaseline.of(taskList.getList(), taskList.getGeneration(), null);
+            return stamp >= 0;
+        }
+        if (Files.size(readPath) <= MAPPED_LOAD_THRESHOLD) {
+            long stamp = readText(readPath, taskList, badLines);
+            this.snapshotStamp = Math.max(stamp, 0);
+            this.textBaseline = TextBaseline.read(readPath, taskList.getGeneration());
+            return stamp >= 0;
+        }
+        MappedTaskLoader loader = new MappedTaskLoader(readPath);
+        boolean isParallel = this.isParallelLoad && Files.size(readPath) > PARALLEL_LOAD_THRESHOLD;
+        boolean isFound = loader.load(taskList, badLines, isParallel ? ForkJoinPool.commonPool() : null);
+        this.snapshotStamp = loader.getStamp();
+        this.textBaseline = TextBaseline.read(readPath, taskList.getGeneration());
+        return isFound;
+    }
+
+    /**
+     * Parses the snapshot stamp from a header line such as {@code "list: n : stamp"}.
+     *
+     * @return the stamp, or 0 for a header without one
+     */
+    static long parseStamp(String header) {
+        int separator = header.indexOf(HEADER_SEPARATOR);
+        if (!header.startsWith(SNAPSHOT_HEADER) || separator < 0) {
+            return 0;
+        }
         try {
-            return this.scanner.nextLine();
-        } catch (Exception e) {
-            return "";
+            return Long.parseLong(header.substring(separator + HEADER_SEPARATOR.length()));
+        } catch (NumberFormatException e) {
+            return 0;
         }
     }
 
+    /**
+     * Loads the snapshot that the journal left behind by a stopped Luke instance was based on, if another
+     * instance has saved a newer snapshot since. That instance kept a copy of the replaced snapshot next to
+     * the journal, so that the journal can still be replayed onto it with {@link #readJournal()}.
+     * The list then has to be merged with the newer snapshot, see {@link #readConflictingChange()},
+     * and saved before any further change is journaled.
+     *
+     * @param taskList the task list the tasks of the base snapshot are added to
+     * @param badLines the list bad lines are reported to
+     * @return true if the base snapshot was loaded, false if the journal belongs to the snapshot on disk
+     * @throws IOException if an I/O error occurs while reading the base snapshot
+     */
+    public synchronized boolean loadJournalBase(TaskList taskList, List<String> badLines) throws IOException {
+        Path journal = getJournalPath();
+        Path base = getJournalBasePath();
+        if (!Files.exists(base) || !Files.exists(journal) || isJournalOwnedElsewhere()) {
+            return false;
+        }
+        long baseStamp = readStamp(base);
+        if (baseStamp < 0 || baseStamp != readJournalStamp(journal)) {
+            return false;
+        }
+        readText(base, taskList, badLines);
+        this.snapshotStamp = baseStamp;
+        this.textBaseline = TextBaseline.of(taskList.getList(), taskList.getGeneration(), null);
+        return true;
+    }
+
+    /**
+     * Reads the snapshot stamp from the header of a journal, e.g. {@code "journal : stamp"}.
+     *
+     * @return the snapshot stamp, or -1 if the header cannot be read
+     */
+    private static long readJournalStamp(Path journal) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(JOURNAL_HEADER)) {
+                return -1;
+            }
+            return Long.parseLong(header.substring(JOURNAL_HEADER.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reads the records of the mutation journal that belong to the snapshot read by {@link #readHeader()}.
+     * A journal left behind by an older snapshot (for example after a crash during compaction)
+     * is ignored, as its mutations are already contained in the current snapshot, unless its base snapshot
+     * was loaded with {@link #loadJournalBase(TaskList, List)}.
+     * A journal that is still in use by another running Luke instance is left to that instance.
+     *
+     * @return the journal records in the order they were appended
+     * @throws IOException if an I/O error occurs while reading the journal
+     */
+    public synchronized List<String> readJournal() throws IOException {
+        List<String> records = new ArrayList<>();
+        Path journal = getJournalPath();
+        if (!Files.exists(journal)) {
+            return records;
+        }
+        openJournal();
+        if (this.journalChannel == null) {
+            return records;
+        }
+        boolean isStale;
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            isStale = header == null || !header.equals(JOURNAL_HEADER + this.snapshotStamp);
+            String line;
+            while (!isStale && (line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    records.add(line);
+                }
+            }
+        }
+        if (isStale) {
+            resetJournal();
+            return records;
+        }
+        this.journalSize = Files.size(journal);
+        return records;
+    }
+
+    /**
+     * Appends a single mutation record to the journal next to the storage file.
+     * The journal channel is kept open, so each append costs one write regardless of the list size.
+     * Only one Luke instance at a time owns the journal; while another instance owns it, changes are
+     * only persisted by snapshots.
+     *
+     * @param record the record to be appended
+     * @throws IOException if an I/O error occurs while writing to the journal
+     */
+    public synchronized void appendJournal(String record) throws IOException {
+        long startTime = System.nanoTime();
+        if (this.journalChannel == null && !this.isJournalShared && !this.isJournalBehind) {
+            openJournal();
+        }
+        if (this.journalChannel == null) {
+            return;
+        }
+        this.journalSize += writeJournalLine(record);
+        this.unforcedCommands++;
+        if (this.durability.isJournalForced(this.unforcedCommands)) {
+            this.journalChannel.force(false);
+            this.unforcedCommands = 0;
+        }
+        getLatencyRecorder(this.journalLatencies).record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Appends tasks to the archive file next to the storage file. The archive is append-only
+     * and is never read on startup, so archived tasks cost nothing until they are asked for.
+     *
+     * @param tasks the tasks to be archived
+     * @throws IOException if an I/O error occurs while writing to the archive
+     */
+    public synchronized void appendArchive(List<Task> tasks) throws IOException {
+        Path archive = getArchivePath();
+        Path directory = archive.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                    StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            TaskRecordWriter records = new TextFormat.RecordWriter(writer);
+            for (Task task : tasks) {
+                records.writeTask(task);
+            }
+            records.finish();
+            if (this.durability.isSnapshotForced()) {
+                channel.force(false);
+            }
+        }
+        if (this.archivedTasks != null) {
+            this.archivedTasks.addAll(tasks);
+        }
+    }
+
+    /**
+     * Returns the archived tasks, reading the archive file the first time they are asked for.
+     * Lines of the archive that cannot be parsed are skipped.
+     *
+     * @return the archived tasks in the order they were archived
+     * @throws IOException if an I/O error occurs while reading the archive
+     */
+    public synchronized List<Task> loadArchive() throws IOException {
+        if (this.archivedTasks == null) {
+            List<Task> tasks = new ArrayList<>();
+            Path archive = getArchivePath();
+            if (Files.exists(archive)) {
+                try (Reader in = Files.newBufferedReader(archive, StandardCharsets.UTF_8)) {
+                    TextFormat.RecordReader reader = new TextFormat.RecordReader(in);
+                    while (true) {
+                        try {
+                            Task task = reader.readTask();
+                            if (task == null) {
+                                break;
+                            }
+                            tasks.add(task);
+                        } catch (InvalidInputException e) {
+                            // skip lines that were cut off or corrupted
+                        }
+                    }
+                }
+            }
+            this.archivedTasks = tasks;
+        }
+        return new ArrayList<>(this.archivedTasks);
+    }
+
+    /**
+     * Checks if the journal has grown past the size at which it should be compacted into a new snapshot,
+     * or could not be started because another instance saved the list since this instance read it.
+     *
+     * @return true if the journal should be compacted, false otherwise
+     */
+    public synchronized boolean needsCompaction() {
+        return this.journalSize > JOURNAL_COMPACTION_THRESHOLD || this.isJournalBehind;
+    }
+
     /**
      * Writes the specified text to the file located at WRITE_FILE_PATH or JAR_WRITE_FILE_PATH.
      * A new line is added after the text.
@@ -61,7 +461,7 @@ public class Storage {
      * @throws IOException if an I/O error occurs while writing to the file
      */
     public void writeLine(String textToAdd) throws IOException {
-        String writeFilePath = isJar ? JAR_WRITE_FILE_PATH : WRITE_FILE_PATH;
+        String writeFilePath = getWritePath().toString();
 
         // Create directory if it doesn't exist
         File directory = new File(writeFilePath).getParentFile();
@@ -84,12 +484,740 @@ public class Storage {
     }
 
     /**
-     * Checks if there are more lines to be read from the file.
+     * Saves a snapshot of the whole task list to the file located at WRITE_FILE_PATH or JAR_WRITE_FILE_PATH.
+     * The tasks are streamed through a single buffered channel into a temporary file next to the
+     * storage file, which then atomically replaces the storage file. A crash during the save
+     * therefore leaves either the previous file or the new one, never a partially written file.
+     * The journal is compacted into the snapshot and discarded once the new file is in place.
+     *
+     * Several Luke instances may share the file. The temporary file is written without holding any lock;
+     * only the check of the stamp on disk and the rename are done while holding the lock file, so that
+     * a snapshot saved by another instance in the meantime is never overwritten.
+     *
+     * @param taskList the task list to be saved
+     * @return a report of the number of tasks and bytes written and the time taken
+     * @throws StaleFileException if another instance saved the list since this instance last read or wrote it
+     * @throws IOException if an I/O error occurs while writing or replacing the file
+     */
+    public SaveReport saveSnapshot(TaskList taskList) throws IOException {
+        List<Task> tasks = taskList.getList();
+        return saveSnapshot(tasks, ShardedStore.readSequences(tasks), taskList.getGeneration(), null);
+    }
+
+    /**
+     * Saves a snapshot of the given tasks, e.g. a copy of the task list taken by {@link AutoSaver}.
+     * In the sharded format only the given modified shards are rewritten, see {@link ShardedStore}.
+     *
+     * @param tasks the tasks to be saved, in list order
+     * @param sequences the sequence number of every task, read on the thread that copied the tasks
+     * @param generation the generation of the task list the tasks were copied from
+     * @param modifiedShards the shards modified since {@link #getShardedGeneration()}, or {@code null} if unknown
+     * @return a report of the number of tasks and bytes written and the time taken
+     * @throws StaleFileException if another instance saved the list since this instance last read or wrote it
+     * @throws IOException if an I/O error occurs while writing or replacing the file
+     * @see #saveSnapshot(TaskList)
+     */
+    public synchronized SaveReport saveSnapshot(List<Task> tasks, long[] sequences, long generation,
+            Set<Long> modifiedShards) throws IOException {
+        long startTime = System.nanoTime();
+        long stamp = Math.max(this.snapshotStamp + 1, System.currentTimeMillis());
+        boolean isForced = this.durability.isSnapshotForced();
+        Path target = getWritePath();
+        BasicFileAttributes attributes = null;
+        SaveReport report;
+        if (this.format == StorageFormat.SHARDED) {
+            FileLock fileLock = lockFiles();
+            try {
+                checkDiskStamp();
+                preserveJournalBase();
+                report = this.shardedStore.save(tasks, sequences, modifiedShards, generation, stamp, isForced);
+                Files.deleteIfExists(target);
+                commitSnapshot(stamp, generation);
+            } finally {
+                fileLock.release();
+            }
+        } else {
+            Path temp = createTempFile(target);
+            long bytes = writeTempFile(temp, tasks, stamp, this.format, this.isCompressed, isForced);
+            FileLock fileLock = lockFiles();
+            try {
+                try {
+                    checkDiskStamp();
+                } catch (StaleFileException e) {
+                    Files.deleteIfExists(temp);
+                    throw e;
+                }
+                preserveJournalBase();
+                replaceFile(temp, target, isForced);
+                if (this.shardedStore.exists()) {
+                    this.shardedStore.delete();
+                }
+                commitSnapshot(stamp, generation);
+                if (this.format == StorageFormat.TEXT && !this.isCompressed) {
+                    attributes = Files.readAttributes(target, BasicFileAttributes.class);
+                }
+            } finally {
+                fileLock.release();
+            }
+            report = new SaveReport(tasks.size(), bytes, System.nanoTime() - startTime);
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        getLatencyRecorder(this.snapshotLatencies).record(elapsedNanos);
+        this.textBaseline = TextBaseline.of(tasks, generation, attributes);
+        return new SaveReport(report.getTaskCount(), report.getBytes(), elapsedNanos);
+    }
+
+    /**
+     * Records that the snapshot with the given stamp is in place and discards the journal it replaces.
+     */
+    private void commitSnapshot(long stamp, long generation) throws IOException {
+        this.snapshotStamp = stamp;
+        this.savedGeneration = Math.max(this.savedGeneration, generation);
+        resetJournal();
+    }
+
+    /**
+     * Keeps a copy of the snapshot on disk before it is replaced, if another running Luke instance owns a journal
+     * of changes made on top of it. Should that instance stop without saving, its journal can then still be
+     * replayed onto the snapshot it was based on, see {@link #loadJournalBase(TaskList, List)}.
+     * The copy is written in the text format, once per journal. Must be called while holding the lock file,
+     * after {@link #checkDiskStamp()}.
+     */
+    private void preserveJournalBase() throws IOException {
+        Path journal = getJournalPath();
+        Path base = getJournalBasePath();
+        if (this.journalChannel != null || Files.exists(base) || !isJournalOwnedElsewhere()
+                || readJournalStamp(journal) != this.snapshotStamp) {
+            return;
+        }
+        TaskList diskList = new TaskList();
+        readSavedList(diskList);
+        Path temp = createTempFile(base);
+        writeTempFile(temp, diskList.getList(), this.snapshotStamp, StorageFormat.TEXT, false, false);
+        replaceFile(temp, base, false);
+    }
+
+    /**
+     * Reads the most recent snapshot on disk, whether it was saved as a file or as shards.
+     * If no snapshot has been saved yet, e.g. in a new data directory, the list is left empty.
+     * Must be called while holding the lock file.
+     */
+    private void readSavedList(TaskList taskList) throws IOException {
+        if (this.shardedStore.exists() && this.shardedStore.readStamp() == readDiskStamp()) {
+            this.shardedStore.load(taskList, new ArrayList<>());
+        } else if (Files.exists(getWritePath())) {
+            readTasks(getWritePath(), taskList);
+        }
+    }
+
+    /**
+     * Locks the lock file next to the storage file, which every Luke instance holds while it checks
+     * the stamp on disk and replaces the list. The caller releases the returned lock when it is done.
+     */
+    private FileLock lockFiles() throws IOException {
+        if (this.lockChannel == null) {
+            Path target = getWritePath();
+            Path lockFile = target.resolveSibling(target.getFileName() + LOCK_FILE_SUFFIX);
+            Path directory = lockFile.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            this.lockChannel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        return this.lockChannel.lock();
+    }
+
+    /**
+     * Returns the path of the storage file, e.g. to watch it for changes.
+     *
+     * @return the path of the storage file
+     */
+    public Path getFilePath() {
+        return getWritePath();
+    }
+
+    /**
+     * Checks if the text storage file was changed by another program since Luke last read or wrote it,
+     * and if so returns the changed tasks, see {@link TextBaseline}. Changes are only detected in the
+     * uncompressed text format. The stamp of the changed file is adopted, so that the next save replaces it.
+     *
+     * @return the change, or {@code null} if the file has not changed
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    public synchronized ExternalChange pollExternalChange() throws IOException {
+        Path file = getWritePath();
+        if (this.textBaseline == null || !this.textBaseline.hasFile()) {
+            return null;
+        }
+        FileLock fileLock = lockFiles();
+        try {
+            if (!Files.exists(file) || this.textBaseline.isCurrent(file) || !isPlainText(file)) {
+                return null;
+            }
+            ExternalChange change = this.textBaseline.diff(file);
+            this.textBaseline = TextBaseline.read(file, change == null ? this.textBaseline.getGeneration() : -1);
+            this.snapshotStamp = Math.max(readStamp(file), 0);
+            return change;
+        } finally {
+            fileLock.release();
+        }
+    }
+
+    /**
+     * Checks if another Luke instance saved the list since this instance last read or wrote it, and if so
+     * reads the saved list, in whichever format it was saved, and returns how it differs from the list as
+     * this instance last read or wrote it. The stamp of the saved list is adopted, so that the next save
+     * replaces it.
+     *
+     * @return the change, or {@code null} if no other instance saved a different list
+     * @throws IOException if an I/O error occurs while reading the saved list
+     */
+    public synchronized ExternalChange readConflictingChange() throws IOException {
+        FileLock fileLock = lockFiles();
+        try {
+            long diskStamp = readDiskStamp();
+            if (diskStamp < 0 || diskStamp == this.snapshotStamp) {
+                return null;
+            }
+            TextBaseline baseline = this.textBaseline != null
+                    ? this.textBaseline
+                    : TextBaseline.of(new ArrayList<>(), -1, null);
+            Path file = getWritePath();
+            ExternalChange change;
+            boolean isSharded = this.shardedStore.exists() && this.shardedStore.readStamp() == diskStamp;
+            if (!isSharded && isPlainText(file)) {
+                change = baseline.diff(file);
+                this.textBaseline = TextBaseline.read(file, -1);
+            } else {
+                TaskList diskList = new TaskList();
+                readSavedList(diskList);
+                change = baseline.diff(diskList.getList());
+                this.textBaseline = TextBaseline.of(diskList.getList(), -1, null);
+            }
+            this.snapshotStamp = diskStamp;
+            return change;
+        } finally {
+            fileLock.release();
+        }
+    }
+
+    /**
+     * Checks if a task file is in the uncompressed text format.
+     */
+    private static boolean isPlainText(Path file) throws IOException {
+        try (InputStream in = openInput(file)) {
+            return !(in instanceof GZIPInputStream) && !BinaryFormat.hasMagic(in);
+        }
+    }
+
+    /**
+     * Returns the generation of the task list that was last saved in the sharded format.
+     * Shards modified after it are rewritten by the next sharded save.
+     *
+     * @return the last generation saved to the shards, or -1 if none was
+     */
+    public long getShardedGeneration() {
+        return this.shardedStore.getSavedGeneration();
+    }
+
+    /**
+     * Reads the binary storage file into the given task list and remembers its snapshot stamp.
+     *
+     * @param taskList the task list the stored tasks are added to
+     * @return the number of tasks read
+     * @throws IOException if an I/O error occurs or the file is not a valid binary task file
+     */
+    public int loadBinary(TaskList taskList) throws IOException {
+        int sizeBefore = taskList.getSize();
+        this.snapshotStamp = readBinary(getReadPath(), taskList);
+        this.textBaseline = TextBaseline.of(taskList.getList(), taskList.getGeneration(), null);
+        return taskList.getSize() - sizeBefore;
+    }
+
+    /**
+     * Returns the generation of the task list that was last persisted.
+     *
+     * @return the last persisted generation, or -1 if nothing was persisted yet
+     */
+    public synchronized long getSavedGeneration() {
+        return this.savedGeneration;
+    }
+
+    /**
+     * Records that the given generation of the task list is already persisted, e.g. right after loading it.
+     *
+     * @param generation the persisted generation
+     */
+    public synchronized void setSavedGeneration(long generation) {
+        this.savedGeneration = generation;
+    }
+
+    /**
+     * Sets whether large text files are parsed in parallel on the common fork-join pool.
+     *
+     * @param isParallelLoad true to parse large files in parallel, false to parse on the calling thread
+     */
+    public void setParallelLoad(boolean isParallelLoad) {
+        this.isParallelLoad = isParallelLoad;
+    }
+
+    /**
+     * Checks if the storage file found at startup is compressed.
+     *
+     * @return true if the storage file is compressed, false otherwise
+     */
+    public boolean isCompressedFile() {
+        return this.isCompressedFile;
+    }
+
+    /**
+     * Checks if {@link #saveSnapshot(TaskList)} compresses the storage file.
+     *
+     * @return true if snapshots are compressed, false otherwise
+     */
+    public boolean isCompressed() {
+        return this.isCompressed;
+    }
+
+    /**
+     * Sets whether the next {@link #saveSnapshot(TaskList)} compresses the storage file with gzip.
+     * Compressed files are detected by their gzip header when loading.
+     *
+     * @param isCompressed true to compress snapshots, false to write them uncompressed
+     */
+    public synchronized void setCompressed(boolean isCompressed) {
+        this.isCompressed = isCompressed;
+    }
+
+    /**
+     * Checks if the list found at startup is stored in the sharded format.
+     *
+     * @return true if the list is sharded, false otherwise
+     */
+    public boolean isShardedFile() {
+        return this.isShardedFile;
+    }
+
+    /**
+     * Checks if the storage file found at startup is in the binary format.
+     *
+     * @return true if the storage file is binary, false otherwise
+     */
+    public boolean isBinaryFile() {
+        return this.isBinaryFile;
+    }
+
+    /**
+     * Returns the format used by {@link #saveSnapshot(TaskList)}.
+     *
+     * @return the current storage format
+     */
+    public StorageFormat getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Sets the format used by the next {@link #saveSnapshot(TaskList)}.
+     * Loading always detects the format of the file, so the two formats can be switched freely.
+     *
+     * @param format the storage format to save in
+     */
+    public synchronized void setFormat(StorageFormat format) {
+        this.format = format;
+    }
+
+    /**
+     * Converts a task file from one storage format to another.
+     * The format of the source file and whether it is compressed are detected from its header magic.
+     *
+     * @param source the file to be converted
+     * @param target the file to write the converted tasks to, which may be the source file itself
+     * @param targetFormat the format to convert to
+     * @param isCompressed whether the target file is compressed
+     * @return a report of the number of tasks and bytes written and the time taken
+     * @throws IOException if an I/O error occurs or the source file contains an invalid task
+     */
+    public static SaveReport convert(Path source, Path target, StorageFormat targetFormat, boolean isCompressed)
+            throws IOException {
+        if (targetFormat == StorageFormat.SHARDED) {
+            throw new IOException("A sharded list is a directory and cannot be written to a single file");
+        }
+        long startTime = System.nanoTime();
+        TaskList taskList = new TaskList();
+        long stamp = readTasks(source, taskList);
+        long bytes = writeTasks(target, taskList.getList(), stamp, targetFormat, isCompressed, true);
+        return new SaveReport(taskList.getSize(), bytes, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Imports the tasks of a CSV or JSON file into the task list, streaming the file one record at a time
+     * so that memory use does not grow with the file. A gzip-compressed file is decompressed as it streams in.
+     * Invalid records are skipped; the first few are described in {@code badRecords} with their record number.
+     *
+     * @param source the file to be imported
+     * @param format the format of the file
+     * @param taskList the task list the imported tasks are added to
+     * @param badRecords the list the first invalid records are reported to
+     * @param progress called with the progress of the import every {@value #TRANSFER_PROGRESS_INTERVAL} tasks
+     * @return a report of the number of tasks imported and skipped and the time taken
+     * @throws IOException if an I/O error occurs or the file is malformed
+     */
+    public static TransferReport importTasks(Path source, TransferFormat format, TaskList taskList,
+            List<String> badRecords, Consumer<TransferReport> progress) throws IOException {
+        long startTime = System.nanoTime();
+        long taskCount = 0;
+        long skippedCount = 0;
+        try (Reader in = new BufferedReader(new InputStreamReader(openInput(source), StandardCharsets.UTF_8),
+                WRITE_BUFFER_SIZE)) {
+            TaskRecordReader reader = format.createReader(in);
+            while (true) {
+                Task task;
+                try {
+                    task = reader.readTask();
+                } catch (InvalidInputException e) {
+                    if (skippedCount++ < MAX_REPORTED_BAD_RECORDS) {
+                        badRecords.add(reader.getRecordNumber() + ": " + e.getMessage());
+                    }
+                    continue;
+                }
+                if (task == null) {
+                    break;
+                }
+                taskList.addTask(task);
+                if (++taskCount % TRANSFER_PROGRESS_INTERVAL == 0) {
+                    progress.accept(new TransferReport(taskCount, skippedCount, System.nanoTime() - startTime));
+                }
+            }
+        }
+        return new TransferReport(taskCount, skippedCount, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Exports tasks to a CSV or JSON file, streaming them through a single buffered writer.
+     * The file is gzip-compressed if its name ends with {@code ".gz"}.
      *
-     * @return true if there are more lines to be read, false otherwise
+     * @param target the file to be written
+     * @param format the format of the file
+     * @param tasks the tasks to be exported, in list order
+     * @param progress called with the progress of the export every {@value #TRANSFER_PROGRESS_INTERVAL} tasks
+     * @return a report of the number of tasks exported and the time taken
+     * @throws IOException if an I/O error occurs while writing the file
      */
-    public boolean hasNext() {
-        return scanner.hasNext();
+    public static TransferReport exportTasks(Path target, TransferFormat format, List<Task> tasks,
+            Consumer<TransferReport> progress) throws IOException {
+        long startTime = System.nanoTime();
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        boolean isCompressed = TransferFormat.isCompressed(target.getFileName().toString());
+        long taskCount = 0;
+        try (OutputStream fileOut = Files.newOutputStream(target)) {
+            GZIPOutputStream compressor = isCompressed ? new GZIPOutputStream(fileOut, WRITE_BUFFER_SIZE) : null;
+            Writer out = new BufferedWriter(new OutputStreamWriter(isCompressed ? compressor : fileOut,
+                    StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            TaskRecordWriter writer = format.createWriter(out);
+            for (Task task : tasks) {
+                writer.writeTask(task);
+                if (++taskCount % TRANSFER_PROGRESS_INTERVAL == 0) {
+                    progress.accept(new TransferReport(taskCount, 0, System.nanoTime() - startTime));
+                }
+            }
+            writer.finish();
+            if (compressor != null) {
+                compressor.finish();
+            }
+        }
+        return new TransferReport(taskCount, 0, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Reads every task of a file in either storage format into the task list.
+     *
+     * @return the snapshot stamp of the file
+     */
+    private static long readTasks(Path source, TaskList taskList) throws IOException {
+        boolean isBinary;
+        try (InputStream in = openInput(source)) {
+            isBinary = BinaryFormat.hasMagic(in);
+        }
+        if (isBinary) {
+            return readBinary(source, taskList);
+        }
+        List<String> badLines = new ArrayList<>();
+        long stamp = readText(source, taskList, badLines);
+        if (!badLines.isEmpty()) {
+            throw new IOException("Invalid task on line " + badLines.get(0));
+        }
+        return Math.max(stamp, 0);
+    }
+
+    /**
+     * Reads every task of a text task file, which may be compressed, line by line as it streams in,
+     * parsing each line in place with a {@link TextFormat.RecordReader}.
+     * Lines that cannot be parsed are skipped and reported to {@code badLines} with their line number.
+     *
+     * @return the snapshot stamp of the file, or -1 if the file is empty
+     */
+    private static long readText(Path source, TaskList taskList, List<String> badLines) throws IOException {
+        try (Reader in = new InputStreamReader(openInput(source), StandardCharsets.UTF_8)) {
+            TextFormat.RecordReader reader = new TextFormat.RecordReader(in);
+            String header = reader.readHeader();
+            if (header == null) {
+                return -1;
+            }
+            while (true) {
+                try {
+                    Task task = reader.readTask();
+                    if (task == null) {
+                        break;
+                    }
+                    taskList.addTask(task);
+                } catch (InvalidInputException e) {
+                    badLines.add(TextFormat.describeBadLine(String.valueOf(reader.getRecordNumber()),
+                            reader.getLine(), e));
+                }
+            }
+            return parseStamp(header);
+        }
+    }
+
+    /**
+     * Opens a buffered stream over the file, transparently decompressing it if it starts with the gzip magic.
+     */
+    private static InputStream openInput(Path source) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(source), WRITE_BUFFER_SIZE);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >>> 8)) {
+            return new GZIPInputStream(in, WRITE_BUFFER_SIZE);
+        }
+        return in;
+    }
+
+    /**
+     * Reads every task of a binary task file into the task list.
+     *
+     * @return the snapshot stamp of the file
+     */
+    private static long readBinary(Path source, TaskList taskList) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(openInput(source),
+                WRITE_BUFFER_SIZE))) {
+            BinaryFormat.readMagic(in);
+            long stamp = in.readLong();
+            int taskCount = in.readInt();
+            for (int i = 0; i < taskCount; i++) {
+                taskList.addTask(BinaryFormat.readTask(in));
+            }
+            return stamp;
+        }
+    }
+
+    /**
+     * Writes the task list to a temporary file next to the target, streaming it through a single
+     * buffered channel, and then atomically moves the temporary file over the target.
+     * When {@code isCompressed} is set, the tasks are streamed through a gzip compressor on their way to the file.
+     * When {@code isForced} is set, the file is forced to disk before the move and the directory after it.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeTasks(Path target, List<Task> tasks, long stamp, StorageFormat format,
+            boolean isCompressed, boolean isForced) throws IOException {
+        Path temp = createTempFile(target);
+        long bytes = writeTempFile(temp, tasks, stamp, format, isCompressed, isForced);
+        replaceFile(temp, target, isForced);
+        return bytes;
+    }
+
+    /**
+     * Creates a temporary file with a unique name next to the target, creating the directory if needed,
+     * so that concurrent saves by several instances never write to the same temporary file.
+     */
+    private static Path createTempFile(Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, target.getFileName() + ".", TEMP_FILE_SUFFIX);
+    }
+
+    /**
+     * Writes the task list to a temporary file, deleting the file if the write fails.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeTempFile(Path temp, List<Task> tasks, long stamp, StorageFormat format,
+            boolean isCompressed, boolean isForced) throws IOException {
+        try {
+            return writeFile(temp, tasks, stamp, format, isCompressed, isForced);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the task list to the given file.
+     *
+     * @return the number of bytes written
+     */
+    private static long writeFile(Path file, List<Task> tasks, long stamp, StorageFormat format,
+            boolean isCompressed, boolean isForced) throws IOException {
+        long bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream channelOut = Channels.newOutputStream(channel);
+            GZIPOutputStream compressor = isCompressed ? new GZIPOutputStream(channelOut, WRITE_BUFFER_SIZE) : null;
+            OutputStream fileOut = isCompressed ? compressor : channelOut;
+            if (format == StorageFormat.BINARY) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, WRITE_BUFFER_SIZE));
+                BinaryFormat.writeHeader(out, stamp, tasks.size());
+                for (Task task : tasks) {
+                    BinaryFormat.writeTask(out, task);
+                }
+                out.flush();
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(fileOut, StandardCharsets.UTF_8),
+                        WRITE_BUFFER_SIZE);
+                writer.write(SNAPSHOT_HEADER + tasks.size() + HEADER_SEPARATOR + stamp);
+                writer.write(System.lineSeparator());
+                TaskRecordWriter records = new TextFormat.RecordWriter(writer);
+                for (Task task : tasks) {
+                    records.writeTask(task);
+                }
+                records.finish();
+            }
+            if (compressor != null) {
+                compressor.finish();
+            }
+            bytes = channel.position();
+            if (isForced) {
+                channel.force(false);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Atomically moves a fully written temporary file over the target,
+     * forcing the directory to disk afterwards when {@code isForced} is set.
+     */
+    private static void replaceFile(Path temp, Path target, boolean isForced) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (isForced) {
+            forceDirectory(target);
+        }
+    }
+
+    /**
+     * Forces the directory entry of a renamed file to disk. Not every platform can open a directory
+     * for this, in which case the rename is left to the file system.
+     */
+    private static void forceDirectory(Path file) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories cannot be opened as channels on some platforms
+        }
+    }
+
+    /**
+     * Forces the storage file and the journal to disk if the durability policy asks for it on shutdown.
+     * In the sharded format, the shard files written since the last sync are forced before the manifest.
+     *
+     * @throws IOException if an I/O error occurs while forcing the files
+     */
+    public synchronized void sync() throws IOException {
+        if (!this.durability.isSyncedOnShutdown()) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        if (this.journalChannel != null) {
+            this.journalChannel.force(false);
+            this.unforcedCommands = 0;
+        }
+        Path target = getWritePath();
+        if (this.format == StorageFormat.SHARDED) {
+            this.shardedStore.force();
+            target = this.shardedStore.getManifestPath();
+        }
+        if (Files.exists(target)) {
+            try (FileChannel channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                channel.force(false);
+            }
+            forceDirectory(target);
+        }
+        getLatencyRecorder(this.syncLatencies).record(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Closes the journal and the lock file. The journal is kept, so that the changes recorded in it are
+     * replayed the next time the list is loaded.
+     *
+     * @throws IOException if an I/O error occurs while closing the files
+     */
+    public synchronized void close() throws IOException {
+        if (this.journalChannel != null) {
+            this.journalChannel.close();
+            this.journalChannel = null;
+            releaseJournal();
+        }
+        if (this.lockChannel != null) {
+            this.lockChannel.close();
+            this.lockChannel = null;
+        }
+    }
+
+    /**
+     * Returns the durability policy used when writing.
+     *
+     * @return the current durability policy
+     */
+    public synchronized DurabilityPolicy getDurability() {
+        return this.durability;
+    }
+
+    /**
+     * Sets the durability policy used when writing.
+     *
+     * @param durability the durability policy
+     */
+    public synchronized void setDurability(DurabilityPolicy durability) {
+        this.durability = durability;
+        this.unforcedCommands = 0;
+    }
+
+    /**
+     * Returns the latency percentiles of journal appends, snapshots and shutdown syncs,
+     * per durability policy they were measured under.
+     *
+     * @return a report of the measured latencies, one line per operation and policy
+     */
+    public synchronized String getLatencyReport() {
+        StringBuilder report = new StringBuilder();
+        appendLatencies(report, "journal", this.journalLatencies);
+        appendLatencies(report, "snapshot", this.snapshotLatencies);
+        appendLatencies(report, "sync", this.syncLatencies);
+        return report.toString();
+    }
+
+    private static void appendLatencies(StringBuilder report, String operation,
+            Map<String, LatencyRecorder> latencies) {
+        for (Map.Entry<String, LatencyRecorder> entry : latencies.entrySet()) {
+            report.append(String.format("%-8s [%s] %s%n", operation, entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private LatencyRecorder getLatencyRecorder(Map<String, LatencyRecorder> latencies) {
+        return latencies.computeIfAbsent(this.durability.toString(), policy -> new LatencyRecorder());
     }
 
     /**
@@ -98,9 +1226,8 @@ public class Storage {
      * @return true if the file is accessible for writing, false otherwise
      */
     public boolean hasReadFile() {
-        String readFilePath = isJar ? JAR_READ_FILE_PATH : READ_FILE_PATH;
         try {
-            new FileWriter(readFilePath, true).close();
+            new FileWriter(getReadPath().toFile(), true).close();
         } catch (IOException e) {
             return false;
         }
@@ -113,9 +1240,8 @@ public class Storage {
      * @return true if the file is accessible for writing, false otherwise
      */
     public boolean hasWriteFile() {
-        String writeFilePath = isJar ? JAR_WRITE_FILE_PATH : WRITE_FILE_PATH;
         try {
-            new FileWriter(writeFilePath, true).close();
+            new FileWriter(getWritePath().toFile(), true).close();
         } catch (IOException e) {
             return false;
         }
@@ -129,8 +1255,203 @@ public class Storage {
      * @throws IOException if an I/O error occurs while clearing the file
      */
     public void clearFile() throws IOException {
-        String writeFilePath = isJar ? JAR_WRITE_FILE_PATH : WRITE_FILE_PATH;
-        new FileWriter(writeFilePath, false).close();
+        new FileWriter(getWritePath().toFile(), false).close();
+    }
+
+    /**
+     * Returns the path of the storage file: the one under {@code src/main/resources} when run from the
+     * source tree, or the one next to the working directory when run from a JAR.
+     */
+    private static Path findFile() {
+        if (hasList(Paths.get(READ_FILE_PATH))) {
+            return Paths.get(READ_FILE_PATH);
+        }
+        if (!hasList(Paths.get(JAR_READ_FILE_PATH))) {
+            System.out.println("No file found");
+        }
+        return Paths.get(JAR_READ_FILE_PATH);
+    }
+
+    /**
+     * Checks if a list is kept at the given storage file, either in the file itself or, once a sharded save
+     * has deleted the file, in the manifest of its shards.
+     */
+    private static boolean hasList(Path file) {
+        return Files.exists(file)
+                || Files.exists(new ShardedStore(file.resolveSibling(file.getFileName() + SHARD_DIRECTORY_SUFFIX))
+                        .getManifestPath());
+    }
+
+    private Path getReadPath() {
+        return this.file;
+    }
+
+    private Path getWritePath() {
+        return this.file;
+    }
+
+    private Path getJournalPath() {
+        Path target = getWritePath();
+        return target.resolveSibling(target.getFileName() + JOURNAL_FILE_SUFFIX);
+    }
+
+    private Path getJournalLockPath() {
+        Path journal = getJournalPath();
+        return journal.resolveSibling(journal.getFileName() + LOCK_FILE_SUFFIX);
+    }
+
+    private Path getJournalBasePath() {
+        Path journal = getJournalPath();
+        return journal.resolveSibling(journal.getFileName() + JOURNAL_BASE_SUFFIX);
+    }
+
+    private Path getShardDirectory() {
+        Path target = getWritePath();
+        return target.resolveSibling(target.getFileName() + SHARD_DIRECTORY_SUFFIX);
+    }
+
+    private Path getArchivePath() {
+        Path target = getWritePath();
+        return target.resolveSibling(target.getFileName() + ARCHIVE_FILE_SUFFIX);
+    }
+
+    /**
+     * Opens the journal and takes ownership of it by locking the journal lock file for as long as the journal
+     * is open. The lock is kept on a file of its own, which the owner never opens again, so reading or
+     * deleting the journal cannot drop it. If another Luke instance owns the journal, it is left closed until
+     * the next snapshot.
+     * A new journal is not started while another instance has saved the list since this instance read it,
+     * as its records could not be replayed onto either snapshot; the list is saved (and merged) first.
+     */
+    private void openJournal() throws IOException {
+        Path journal = getJournalPath();
+        Path directory = journal.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        FileLock fileLock = lockFiles();
+        try {
+            if (!ownJournal()) {
+                this.isJournalShared = true;
+                return;
+            }
+            FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            if (channel.size() == 0) {
+                long diskStamp = readDiskStamp();
+                if (diskStamp >= 0 && diskStamp != this.snapshotStamp) {
+                    channel.close();
+                    Files.deleteIfExists(journal);
+                    releaseJournal();
+                    this.isJournalBehind = true;
+                    return;
+                }
+                // left behind by a journal that was replayed and compacted
+                Files.deleteIfExists(getJournalBasePath());
+            }
+            this.journalChannel = channel;
+        } finally {
+            fileLock.release();
+        }
+        this.journalSize = this.journalChannel.size();
+        if (this.journalSize == 0) {
+            this.journalSize += writeJournalLine(JOURNAL_HEADER + this.snapshotStamp);
+        }
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Locks the journal lock file, unless another Luke instance, in this JVM or another process, holds it.
+     *
+     * @return true if this instance now owns the journal
+     */
+    private boolean ownJournal() throws IOException {
+        Path lockFile = getJournalLockPath().toAbsolutePath();
+        if (!OWNED_JOURNAL_LOCKS.add(lockFile)) {
+            return false;
+        }
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            if (tryLock(channel)) {
+                this.journalLockChannel = channel;
+                return true;
+            }
+        } finally {
+            if (this.journalLockChannel == null) {
+                if (channel != null) {
+                    channel.close();
+                }
+                OWNED_JOURNAL_LOCKS.remove(lockFile);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gives up the ownership of the journal taken by {@link #ownJournal()}.
+     */
+    private void releaseJournal() throws IOException {
+        if (this.journalLockChannel == null) {
+            return;
+        }
+        try {
+            this.journalLockChannel.close();
+        } finally {
+            this.journalLockChannel = null;
+            OWNED_JOURNAL_LOCKS.remove(getJournalLockPath().toAbsolutePath());
+        }
+    }
+
+    /**
+     * Checks if the journal is owned by another Luke instance. A lock file held in this JVM is not opened,
+     * as closing the probe would drop the lock of its owner.
+     */
+    private boolean isJournalOwnedElsewhere() throws IOException {
+        Path lockFile = getJournalLockPath().toAbsolutePath();
+        if (this.journalLockChannel != null || !Files.exists(lockFile)) {
+            return false;
+        } else if (!OWNED_JOURNAL_LOCKS.add(lockFile)) {
+            // held by another instance in this JVM
+            return true;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+            return !tryLock(channel);
+        } finally {
+            OWNED_JOURNAL_LOCKS.remove(lockFile);
+        }
+    }
+
+    private int writeJournalLine(String line) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            this.journalChannel.write(buffer);
+        }
+        return written;
+    }
+
+    private void resetJournal() throws IOException {
+        if (this.journalChannel != null) {
+            this.journalChannel.close();
+            this.journalChannel = null;
+            Files.deleteIfExists(getJournalPath());
+            Files.deleteIfExists(getJournalBasePath());
+            releaseJournal();
+        } else if (!isJournalOwnedElsewhere()) {
+            Files.deleteIfExists(getJournalPath());
+            Files.deleteIfExists(getJournalBasePath());
+        }
+        this.isJournalShared = false;
+        this.isJournalBehind = false;
+        this.journalSize = 0;
     }
 
 }
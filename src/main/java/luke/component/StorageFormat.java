@@ -0,0 +1,13 @@
+package luke.component;
+
+/**
+ * The {@code StorageFormat} enum lists the formats in which {@link Storage} can save the task list.
+ */
+public enum StorageFormat {
+    /** Human-readable lines such as {@code "T : 1 : name"}. */
+    TEXT,
+    /** Compact, versioned binary records, see {@link BinaryFormat}. */
+    BINARY,
+    /** A directory of text shards partitioned by task type and creation bucket, see {@link ShardedStore}. */
+    SHARDED
+}
@@ -0,0 +1,242 @@
+package luke.component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+import luke.task.ToDo;
+
+/**
+ * The {@code TaskIndex} class indexes the tasks of a {@link TaskList} by type, completion status and time,
+ * so that a filtered listing such as "all undone deadlines" or "events starting before X" costs
+ * O(log n + k) for k matching tasks instead of a walk over the whole list.
+ *
+ * The tasks of each type and status are kept in a bucket ordered by sequence number, i.e. in list order.
+ * The deadlines and events of a bucket are also kept in a map from their due time or start time to the
+ * tasks at that time, in list order. A query over several buckets merges them in order.
+ */
+class TaskIndex {
+
+    private static final Comparator<Task> BY_SEQUENCE = Comparator.comparingLong(Task::getSequence);
+    private static final Comparator<Task> BY_TIME = Comparator.comparing(TaskIndex::getTime).thenComparing(BY_SEQUENCE);
+    private static final List<Class<? extends Task>> SORT_ORDER = List.of(ToDo.class, Deadline.class, Event.class);
+
+    private final Map<Class<? extends Task>, Bucket[]> buckets = new HashMap<>();
+
+    /**
+     * Constructs an index of the given tasks.
+     *
+     * @param tasks the tasks to be indexed, numbered in list order
+     */
+    TaskIndex(List<Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Adds a task to the index under its current status.
+     *
+     * @param task the task to be added
+     */
+    void add(Task task) {
+        getBucket(task.getClass(), task.getIsDone(), true).add(task);
+    }
+
+    /**
+     * Removes a task from the index. The task must still have the status and sequence number it was added with.
+     *
+     * @param task the task to be removed
+     */
+    void remove(Task task) {
+        Bucket bucket = getBucket(task.getClass(), task.getIsDone(), false);
+        if (bucket != null) {
+            bucket.remove(task);
+        }
+    }
+
+    /**
+     * Returns the tasks of the given type and status in list order.
+     *
+     * @param type the type of the tasks, or {@code null} for any type
+     * @param isDone the status of the tasks, or {@code null} for either status
+     * @return the matching tasks
+     */
+    ArrayList<Task> find(Class<? extends Task> type, Boolean isDone) {
+        List<Iterator<Task>> sources = new ArrayList<>();
+        for (Bucket bucket : select(type, isDone)) {
+            sources.add(bucket.tasks.values().iterator());
+        }
+        return merge(sources, BY_SEQUENCE);
+    }
+
+    /**
+     * Returns the deadlines due and the events starting within the given times, in time order.
+     * Tasks at the same time are in list order.
+     *
+     * @param type the type of the tasks, or {@code null} for deadlines and events
+     * @param isDone the status of the tasks, or {@code null} for either status
+     * @param from the earliest time, inclusive, or {@code null} for no limit
+     * @param to the latest time, inclusive, or {@code null} for no limit
+     * @return the matching tasks
+     */
+    ArrayList<Task> findBetween(Class<? extends Task> type, Boolean isDone, LocalDateTime from, LocalDateTime to) {
+        List<Iterator<Task>> sources = new ArrayList<>();
+        if (from != null && to != null && from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        for (Bucket bucket : select(type, isDone)) {
+            NavigableMap<LocalDateTime, NavigableMap<Long, Task>> times = bucket.times;
+            if (from != null) {
+                times = times.tailMap(from, true);
+            }
+            if (to != null) {
+                times = times.headMap(to, true);
+            }
+            sources.add(times.values().stream().flatMap(tasks -> tasks.values().stream()).iterator());
+        }
+        return merge(sources, BY_TIME);
+    }
+
+    /**
+     * Returns the tasks in the order of {@link Task#compareTo(Task)}: to-dos by name, then deadlines by due
+     * time and events by start time, each with the undone tasks first. Tasks that compare equal are in list
+     * order. Only the to-dos have to be sorted; the other tasks are read from the index in order.
+     *
+     * @return the sorted tasks
+     */
+    ArrayList<Task> sorted() {
+        ArrayList<Task> sorted = new ArrayList<>();
+        for (Class<? extends Task> type : SORT_ORDER) {
+            for (Bucket bucket : select(type, false)) {
+                sortInto(sorted, bucket, type);
+            }
+            for (Bucket bucket : select(type, true)) {
+                sortInto(sorted, bucket, type);
+            }
+        }
+        return sorted;
+    }
+
+    private static void sortInto(ArrayList<Task> sorted, Bucket bucket, Class<? extends Task> type) {
+        if (type == ToDo.class) {
+            int start = sorted.size();
+            sorted.addAll(bucket.tasks.values());
+            sorted.subList(start, sorted.size()).sort(null);
+        } else {
+            for (NavigableMap<Long, Task> tasks : bucket.times.values()) {
+                sorted.addAll(tasks.values());
+            }
+        }
+    }
+
+    /**
+     * Returns the buckets of the given type and status.
+     */
+    private List<Bucket> select(Class<? extends Task> type, Boolean isDone) {
+        List<Bucket> selected = new ArrayList<>();
+        for (Map.Entry<Class<? extends Task>, Bucket[]> entry : this.buckets.entrySet()) {
+            if (type != null && !type.isAssignableFrom(entry.getKey())) {
+                continue;
+            }
+            Bucket[] statusBuckets = entry.getValue();
+            for (int status = 0; status < statusBuckets.length; status++) {
+                if (isDone == null || isDone == (status == 1)) {
+                    selected.add(statusBuckets[status]);
+                }
+            }
+        }
+        return selected;
+    }
+
+    private Bucket getBucket(Class<? extends Task> type, boolean isDone, boolean isCreated) {
+        Bucket[] statusBuckets = this.buckets.get(type);
+        if (statusBuckets == null) {
+            if (!isCreated) {
+                return null;
+            }
+            statusBuckets = new Bucket[] {new Bucket(), new Bucket()};
+            this.buckets.put(type, statusBuckets);
+        }
+        return statusBuckets[isDone ? 1 : 0];
+    }
+
+    /**
+     * Merges sources that are each in the given order into a single list in that order.
+     */
+    private static ArrayList<Task> merge(List<Iterator<Task>> sources, Comparator<Task> order) {
+        ArrayList<Task> merged = new ArrayList<>();
+        Task[] heads = new Task[sources.size()];
+        for (int i = 0; i < heads.length; i++) {
+            heads[i] = next(sources.get(i));
+        }
+        while (true) {
+            int first = -1;
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] != null && (first < 0 || order.compare(heads[i], heads[first]) < 0)) {
+                    first = i;
+                }
+            }
+            if (first < 0) {
+                return merged;
+            }
+            merged.add(heads[first]);
+            heads[first] = next(sources.get(first));
+        }
+    }
+
+    private static Task next(Iterator<Task> source) {
+        return source.hasNext() ? source.next() : null;
+    }
+
+    /**
+     * Returns the time a task is indexed by: the due time of a deadline or the start time of an event.
+     *
+     * @return the time, or {@code null} for a task that has none
+     */
+    private static LocalDateTime getTime(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getDueTime();
+        } else if (task instanceof Event) {
+            return ((Event) task).getStartTime();
+        }
+        return null;
+    }
+
+    /**
+     * The tasks of one type and status, by sequence number and by time.
+     */
+    private static class Bucket {
+        private final NavigableMap<Long, Task> tasks = new TreeMap<>();
+        private final NavigableMap<LocalDateTime, NavigableMap<Long, Task>> times = new TreeMap<>();
+
+        void add(Task task) {
+            this.tasks.put(task.getSequence(), task);
+            LocalDateTime time = getTime(task);
+            if (time != null) {
+                this.times.computeIfAbsent(time, t -> new TreeMap<>()).put(task.getSequence(), task);
+            }
+        }
+
+        void remove(Task task) {
+            this.tasks.remove(task.getSequence());
+            LocalDateTime time = getTime(task);
+            NavigableMap<Long, Task> tasksAtTime = time == null ? null : this.times.get(time);
+            if (tasksAtTime != null) {
+                tasksAtTime.remove(task.getSequence());
+                if (tasksAtTime.isEmpty()) {
+                    this.times.remove(time);
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package luke.component;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import luke.task.Task;
 
@@ -8,16 +15,49 @@ import luke.task.Task;
  * The {@code TaskList} class represents a list of tasks.
  * It provides methods to add, delete, retrieve, and modify tasks in the list.
  * Tasks are represented by {@link Task} objects.
+ *
+ * Every modification bumps a monotonically increasing generation, so callers can tell cheaply
+ * whether the list changed since they last looked at it, e.g. since it was last saved.
+ * The list also remembers the generation in which each storage shard (see {@link ShardedStore})
+ * was last modified, so a sharded save only rewrites the shards that changed.
+ *
+ * Tasks are numbered with increasing sequence numbers in list order: added tasks are numbered
+ * after every other task, and the whole list is renumbered after it is reordered or spliced.
+ * The tasks are kept in a {@link TaskTree} ordered by sequence number, so a task is found by its position,
+ * and deleted, in O(log n). Each task is also given an id when it is added, see {@link Task#getId()},
+ * by which it can be found in O(1) however the tasks before it change.
+ *
+ * Searches for words in task names are answered by a {@link WordIndex} of the words of every name, which is
+ * built by the first search and kept up to date like the {@link TaskIndex}. Since it refers to tasks by id,
+ * it stays valid when the list is renumbered.
+ *
+ * Filtered listings, e.g. of the undone deadlines or of the events starting before a time, are answered by
+ * a {@link TaskIndex} by type, status and time. The index is built by the first such query and then kept
+ * up to date by {@link #addTask(Task)}, {@link #deleteTask(int)} and {@link #markTask(int, boolean)}, so a
+ * list that is only loaded, changed and saved never pays for it. It is dropped when the list is renumbered.
  */
 public class TaskList {
 
-    private ArrayList<Task> list;
+    /**
+     * Up to {@code size / BULK_SCAN_RATIO} selected tasks are found or deleted one by one in the tree;
+     * a larger selection is handled in a single pass over the whole list.
+     */
+    private static final int BULK_SCAN_RATIO = 32;
+
+    private final TaskTree list = new TaskTree();
+    private final Map<Long, Task> tasksById = new HashMap<>();
+    private long generation = 0;
+    private int doneCount = 0;
+    private long nextSequence = 0;
+    private long nextId = 1;
+    private final Map<Long, Long> shardGenerations = new HashMap<>();
+    private TaskIndex index;
+    private WordIndex words;
 
     /**
      * Constructs a new {@code TaskList} object and initializes an empty list of tasks.
      */
     public TaskList() {
-        this.list = new ArrayList<>();
     }
 
     /**
@@ -30,12 +70,31 @@ public class TaskList {
     }
 
     /**
-     * Adds a task to the list.
+     * Adds a task to the end of the list.
+     * A task that already has a sequence number after every task in the list, e.g. one loaded
+     * from a storage shard, keeps it; any other task is numbered after the last task.
+     * The task is given the next id.
      *
      * @param task the task to be added
      */
     public void addTask(Task task) {
-        this.list.add(task);
+        if (task.getSequence() < this.nextSequence) {
+            task.setSequence(this.nextSequence);
+        }
+        this.nextSequence = task.getSequence() + 1;
+        this.list.append(task);
+        assignId(task);
+        if (this.words != null) {
+            this.words.add(task);
+        }
+        if (task.getIsDone()) {
+            this.doneCount++;
+        }
+        if (this.index != null) {
+            this.index.add(task);
+        }
+        this.generation++;
+        markShardModified(task);
     }
 
     /**
@@ -45,7 +104,185 @@ public class TaskList {
      * @return the task that was removed
      */
     public Task deleteTask(int i) {
-        return this.list.remove(i);
+        Task task = this.list.removeAt(i);
+        this.tasksById.remove(task.getId());
+        if (this.words != null) {
+            this.words.remove(task);
+        }
+        if (task.getIsDone()) {
+            this.doneCount--;
+        }
+        if (this.index != null) {
+            this.index.remove(task);
+        }
+        this.generation++;
+        markShardModified(task);
+        return task;
+    }
+
+    /**
+     * Deletes every task that is marked as done in a single pass over the list,
+     * keeping the remaining tasks in their order.
+     *
+     * @return the tasks that were removed, in list order
+     */
+    public ArrayList<Task> deleteDoneTasks() {
+        ArrayList<Task> doneTasks = new ArrayList<>(this.doneCount);
+        ArrayList<Task> keptTasks = new ArrayList<>(this.list.size() - this.doneCount);
+        this.generation++;
+        for (Task task : this.list) {
+            if (task.getIsDone()) {
+                doneTasks.add(task);
+                markShardModified(task);
+                this.tasksById.remove(task.getId());
+                if (this.words != null) {
+                    this.words.remove(task);
+                }
+                if (this.index != null) {
+                    this.index.remove(task);
+                }
+            } else {
+                keptTasks.add(task);
+            }
+        }
+        this.list.reset(keptTasks);
+        this.doneCount = 0;
+        return doneTasks;
+    }
+
+    /**
+     * Deletes the tasks at the given indices, keeping the remaining tasks in their order. A large selection
+     * is deleted in a single pass that rebuilds the list, so the cost is O(n) however many tasks are deleted.
+     *
+     * @param indices the indices of the tasks to be deleted, all less than {@link #getSize()}
+     * @return the tasks that were removed, in list order
+     */
+    public ArrayList<Task> deleteTasks(BitSet indices) {
+        ArrayList<Task> deleted = getTasks(indices);
+        if (deleted.size() < this.list.size() / BULK_SCAN_RATIO) {
+            for (int i = indices.previousSetBit(this.list.size() - 1); i >= 0; i = indices.previousSetBit(i - 1)) {
+                this.list.removeAt(i);
+            }
+        } else {
+            ArrayList<Task> keptTasks = new ArrayList<>(this.list.size() - deleted.size());
+            int i = 0;
+            for (Task task : this.list) {
+                if (!indices.get(i++)) {
+                    keptTasks.add(task);
+                }
+            }
+            this.list.reset(keptTasks);
+        }
+        this.generation++;
+        for (Task task : deleted) {
+            if (task.getIsDone()) {
+                this.doneCount--;
+            }
+            this.tasksById.remove(task.getId());
+            if (this.words != null) {
+                this.words.remove(task);
+            }
+            if (this.index != null) {
+                this.index.remove(task);
+            }
+            markShardModified(task);
+        }
+        return deleted;
+    }
+
+    /**
+     * Marks the tasks at the given indices as done or not done.
+     * The list is only modified if the status of at least one task changes.
+     *
+     * @param indices the indices of the tasks to be marked, all less than {@link #getSize()}
+     * @param isDone {@code true} to mark the tasks as done, {@code false} to mark them as not done
+     * @return the number of tasks whose status changed
+     */
+    public int markTasks(BitSet indices, boolean isDone) {
+        int changed = 0;
+        for (Task task : getTasks(indices)) {
+            if (task.getIsDone() == isDone) {
+                continue;
+            }
+            if (changed++ == 0) {
+                this.generation++;
+            }
+            if (this.index != null) {
+                this.index.remove(task);
+            }
+            task.setIsDone(isDone);
+            if (this.index != null) {
+                this.index.add(task);
+            }
+            markShardModified(task);
+        }
+        this.doneCount += isDone ? changed : -changed;
+        return changed;
+    }
+
+    /**
+     * Returns the tasks at the given indices in list order, looking each one up in the tree if there are few
+     * of them and walking the list once otherwise.
+     */
+    private ArrayList<Task> getTasks(BitSet indices) {
+        ArrayList<Task> tasks = new ArrayList<>(indices.cardinality());
+        if (indices.cardinality() < this.list.size() / BULK_SCAN_RATIO) {
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                tasks.add(this.list.get(i));
+            }
+        } else {
+            int i = 0;
+            for (Task task : this.list) {
+                if (indices.get(i++)) {
+                    tasks.add(task);
+                }
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Replaces the tasks in {@code [start, end)} with the given tasks, e.g. to merge a change made
+     * to the storage file by another program. The list is renumbered afterwards.
+     *
+     * @param start the index of the first task to be replaced
+     * @param end the index after the last task to be replaced
+     * @param tasks the tasks to be inserted at {@code start}
+     */
+    public void replaceTasks(int start, int end, List<Task> tasks) {
+        ArrayList<Task> spliced = new ArrayList<>(this.list);
+        List<Task> replaced = spliced.subList(start, end);
+        for (Task task : replaced) {
+            if (task.getIsDone()) {
+                this.doneCount--;
+            }
+            this.tasksById.remove(task.getId());
+            if (this.words != null) {
+                this.words.remove(task);
+            }
+        }
+        replaced.clear();
+        spliced.addAll(start, tasks);
+        for (Task task : tasks) {
+            if (task.getIsDone()) {
+                this.doneCount++;
+            }
+            assignId(task);
+            if (this.words != null) {
+                this.words.add(task);
+            }
+        }
+        this.list.reset(spliced);
+        markModified();
+    }
+
+    /**
+     * Returns the number of tasks in the list that are marked as done.
+     *
+     * @return the number of done tasks
+     */
+    public int getDoneCount() {
+        return this.doneCount;
     }
 
     /**
@@ -60,20 +297,175 @@ public class TaskList {
 
     /**
      * Marks a task as done or not done based on the specified flag.
+     * The list is only modified if the status of the task changes.
      *
      * @param i the index of the task to be marked
      * @param isDone {@code true} to mark the task as done, {@code false} to mark it as not done
      */
     public void markTask(int i, boolean isDone) {
-        this.list.get(i).setIsDone(isDone);
+        Task task = this.list.get(i);
+        if (task.getIsDone() == isDone) {
+            return;
+        }
+        this.doneCount += isDone ? 1 : -1;
+        if (this.index != null) {
+            this.index.remove(task);
+        }
+        task.setIsDone(isDone);
+        if (this.index != null) {
+            this.index.add(task);
+        }
+        this.generation++;
+        markShardModified(task);
+    }
+
+    /**
+     * Records a modification that reordered or spliced the list, such as a sort.
+     * The tasks are renumbered in their new order, which modifies every shard.
+     */
+    private void markModified() {
+        this.generation++;
+        this.index = null; // the tasks are renumbered, so the index is rebuilt when it is next needed
+        this.shardGenerations.clear();
+        long lastShardId = -1;
+        int i = 0;
+        for (Task task : this.list) {
+            task.setSequence(i++);
+            long shardId = ShardedStore.getShardId(task);
+            if (shardId != lastShardId) {
+                this.shardGenerations.put(shardId, this.generation);
+                lastShardId = shardId;
+            }
+        }
+        this.nextSequence = this.list.size();
+    }
+
+    /**
+     * Returns the shards that were modified after the given generation.
+     *
+     * @param generation the generation to compare against, e.g. the generation of the last sharded save
+     * @return the ids of the modified shards, see {@link ShardedStore#getShardId(Task)}
+     */
+    public Set<Long> getShardsModifiedSince(long generation) {
+        Set<Long> modifiedShards = new HashSet<>();
+        for (Map.Entry<Long, Long> entry : this.shardGenerations.entrySet()) {
+            if (entry.getValue() > generation) {
+                modifiedShards.add(entry.getKey());
+            }
+        }
+        return modifiedShards;
+    }
+
+    /**
+     * Returns the tasks of the given type and status in list order.
+     *
+     * @param type the type of the tasks, e.g. {@code Deadline.class}, or {@code null} for any type
+     * @param isDone the status of the tasks, or {@code null} for either status
+     * @return the matching tasks
+     */
+    public ArrayList<Task> findTasks(Class<? extends Task> type, Boolean isDone) {
+        return getIndex().find(type, isDone);
+    }
+
+    /**
+     * Returns the deadlines due and the events starting within the given times, in time order.
+     *
+     * @param type the type of the tasks, or {@code null} for both deadlines and events
+     * @param isDone the status of the tasks, or {@code null} for either status
+     * @param from the earliest time, inclusive, or {@code null} for no limit
+     * @param to the latest time, inclusive, or {@code null} for no limit
+     * @return the matching tasks
+     */
+    public ArrayList<Task> findTasksBetween(Class<? extends Task> type, Boolean isDone, LocalDateTime from,
+            LocalDateTime to) {
+        return getIndex().findBetween(type, isDone, from, to);
+    }
+
+    /**
+     * Returns the tasks whose names contain the given words, ignoring case, e.g. {@code book}. A word ending
+     * with {@code *} matches any word it is a prefix of, and {@code or} separates alternatives, see
+     * {@link WordIndex}.
+     *
+     * @param query the words to be searched for, e.g. {@code red book or blue pen*}
+     * @return the matching tasks in list order
+     */
+    public ArrayList<Task> findTasksByWords(String query) {
+        if (this.words == null) {
+            this.words = new WordIndex(this.list, this.tasksById::get);
+        }
+        return this.words.find(query);
+    }
+
+    /**
+     * Returns the tasks in sorted order, see {@link Task#compareTo(Task)}, without changing the list.
+     * Tasks that compare equal keep their order in the list.
+     *
+     * @return the sorted tasks
+     */
+    public ArrayList<Task> getSortedTasks() {
+        return getIndex().sorted();
+    }
+
+    /**
+     * Sorts the list in the order of {@link #getSortedTasks()} and renumbers it.
+     */
+    public void sortTasks() {
+        this.list.reset(getSortedTasks());
+        markModified();
+    }
+
+    /**
+     * Returns the index of a task in the list, found in the tree by its sequence number.
+     *
+     * @param task the task to be found
+     * @return the index of the task, or -1 if it is not in the list
+     */
+    public int indexOf(Task task) {
+        return this.list.indexOf(task);
+    }
+
+    /**
+     * Returns the task with the given id.
+     *
+     * @param id the id of the task, see {@link Task#getId()}
+     * @return the task, or {@code null} if no task in the list has that id
+     */
+    public Task getTaskById(long id) {
+        return this.tasksById.get(id);
+    }
+
+    private void assignId(Task task) {
+        task.setId(this.nextId++);
+        this.tasksById.put(task.getId(), task);
+    }
+
+    private TaskIndex getIndex() {
+        if (this.index == null) {
+            this.index = new TaskIndex(this.list);
+        }
+        return this.index;
+    }
+
+    private void markShardModified(Task task) {
+        this.shardGenerations.put(ShardedStore.getShardId(task), this.generation);
+    }
+
+    /**
+     * Returns the modification generation of the list, which increases with every change.
+     *
+     * @return the modification generation
+     */
+    public long getGeneration() {
+        return this.generation;
     }
 
     /**
-     * Returns the list of tasks.
+     * Returns the tasks in list order as a read-only view. The tasks are modified through the other
+     * methods of the list.
      *
      * @return the list of tasks
      */
-    public ArrayList<Task> getList() {
+    public List<Task> getList() {
         return this.list;
     }
 }
@@ -0,0 +1,30 @@
+package luke.component;
+
+import java.io.IOException;
+
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+
+/**
+ * A {@code TaskRecordReader} reads tasks one record at a time from a stream in a transfer format,
+ * so that only the current record is held in memory.
+ */
+public interface TaskRecordReader {
+
+    /**
+     * Reads the next record and creates its task.
+     * An invalid record is consumed before the exception is thrown, so reading can continue after it.
+     *
+     * @return the task of the next record, or {@code null} at the end of the stream
+     * @throws IOException if an I/O error occurs or the stream is malformed beyond the current record
+     * @throws InvalidInputException if the record does not describe a valid task
+     */
+    Task readTask() throws IOException, InvalidInputException;
+
+    /**
+     * Returns the number of the record last read, starting from 1.
+     *
+     * @return the current record number
+     */
+    long getRecordNumber();
+}
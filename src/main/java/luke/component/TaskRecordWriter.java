@@ -0,0 +1,26 @@
+package luke.component;
+
+import java.io.IOException;
+
+import luke.task.Task;
+
+/**
+ * A {@code TaskRecordWriter} writes tasks one record at a time to a stream in a transfer format.
+ */
+public interface TaskRecordWriter {
+
+    /**
+     * Writes a single task as one record.
+     *
+     * @param task the task to be written
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void writeTask(Task task) throws IOException;
+
+    /**
+     * Writes whatever has to follow the last record and flushes the stream.
+     *
+     * @throws IOException if an I/O error occurs while writing
+     */
+    void finish() throws IOException;
+}
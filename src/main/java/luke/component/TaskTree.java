@@ -0,0 +1,240 @@
+package luke.component;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import luke.task.Task;
+
+/**
+ * The {@code TaskTree} class holds the tasks of a {@link TaskList} in list order in an order-statistic tree:
+ * a treap ordered by sequence number in which every node records the size of its subtree. Finding the task
+ * at a position, finding the position of a task, appending a task and removing the task at a position take
+ * O(log n) expected time, so deleting a task does not shift every task after it as in an {@code ArrayList}.
+ *
+ * To other classes the tree is a read-only {@link List}; it is only changed by its {@code TaskList}.
+ * A whole list is built in O(n) by {@link #reset(List)}.
+ */
+class TaskTree extends AbstractList<Task> {
+
+    private final SplittableRandom priorities = new SplittableRandom();
+    private Node root;
+
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index);
+        Node node = this.root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.task;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of a task by its sequence number.
+     *
+     * @param o the task to be found
+     * @return the position of the task, or -1 if it is not in the tree
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof Task)) {
+            return -1;
+        }
+        long sequence = ((Task) o).getSequence();
+        Node node = this.root;
+        int index = 0;
+        while (node != null) {
+            if (sequence < node.task.getSequence()) {
+                node = node.left;
+            } else if (sequence > node.task.getSequence()) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return node.task == o ? index + size(node.left) : -1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return new InOrderIterator(this.root);
+    }
+
+    /**
+     * Adds a task after every other task. The task must have a larger sequence number than any of them.
+     *
+     * @param task the task to be added
+     */
+    void append(Task task) {
+        Node node = new Node(task, this.priorities.nextInt());
+        Node parent = null;
+        Node current = this.root;
+        // walk down the right spine to where the node belongs; everything below it becomes its left subtree
+        while (current != null && current.priority > node.priority) {
+            current.size++;
+            parent = current;
+            current = current.right;
+        }
+        node.left = current;
+        node.update();
+        if (parent == null) {
+            this.root = node;
+        } else {
+            parent.right = node;
+        }
+    }
+
+    /**
+     * Removes the task at a position.
+     *
+     * @param index the position of the task
+     * @return the removed task
+     */
+    Task removeAt(int index) {
+        checkIndex(index);
+        Node[] removed = new Node[1];
+        this.root = removeAt(this.root, index, removed);
+        return removed[0].task;
+    }
+
+    private static Node removeAt(Node node, int index, Node[] removed) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = removeAt(node.left, index, removed);
+        } else if (index > leftSize) {
+            node.right = removeAt(node.right, index - leftSize - 1, removed);
+        } else {
+            removed[0] = node;
+            return merge(node.left, node.right);
+        }
+        return node.update();
+    }
+
+    /**
+     * Replaces the contents of the tree with the given tasks in the given order, e.g. after a sort.
+     * The tree is built in a single pass, keeping the nodes of its right spine on a stack. Unless the tasks
+     * are already in increasing sequence order, they have to be renumbered before the tree is searched.
+     *
+     * @param tasks the tasks in list order
+     */
+    void reset(List<Task> tasks) {
+        Deque<Node> spine = new ArrayDeque<>();
+        for (Task task : tasks) {
+            Node node = new Node(task, this.priorities.nextInt());
+            Node last = null;
+            while (!spine.isEmpty() && spine.peek().priority < node.priority) {
+                last = spine.pop();
+            }
+            node.left = last;
+            if (!spine.isEmpty()) {
+                spine.peek().right = node;
+            }
+            spine.push(node);
+        }
+        this.root = spine.peekLast();
+        updateSizes(this.root);
+    }
+
+    private static int updateSizes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        node.size = updateSizes(node.left) + updateSizes(node.right) + 1;
+        return node.size;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        } else if (right == null) {
+            return left;
+        } else if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        } else {
+            right.left = merge(left, right.left);
+            return right.update();
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size());
+        }
+    }
+
+    /**
+     * A node of the tree, holding a task and the size of the subtree below it.
+     */
+    private static class Node {
+        private final Task task;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(Task task, int priority) {
+            this.task = task;
+            this.priority = priority;
+        }
+
+        Node update() {
+            this.size = size(this.left) + size(this.right) + 1;
+            return this;
+        }
+    }
+
+    /**
+     * Visits the tasks in list order, keeping the path to the next node on a stack.
+     */
+    private static class InOrderIterator implements Iterator<Task> {
+        private final Deque<Node> path = new ArrayDeque<>();
+
+        InOrderIterator(Node root) {
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.path.isEmpty();
+        }
+
+        @Override
+        public Task next() {
+            if (this.path.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = this.path.pop();
+            pushLeft(node.right);
+            return node.task;
+        }
+
+        private void pushLeft(Node node) {
+            for (; node != null; node = node.left) {
+                this.path.push(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package luke.component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import luke.exception.InvalidInputException;
+import luke.task.Task;
+
+/**
+ * The {@code TextBaseline} class remembers the storage file as Luke last read or wrote it:
+ * a 64-bit hash of the storage line of every task and, for the text format, the size and
+ * modification time of the file.
+ *
+ * When the file is changed by another program, the hashes of the new file are compared with the
+ * baseline from both ends. Only the lines between the common prefix and the common suffix are decoded
+ * and parsed, so an edit of a few lines costs one scan of the bytes rather than a full reload.
+ * For the other formats the baseline is taken from the tasks themselves and compared with a list
+ * read back from the file.
+ */
+class TextBaseline {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    // files up to this size are read into memory rather than mapped, which costs more to set up
+    private static final long MAPPED_READ_THRESHOLD = 64 << 10;
+
+    // size and modification time of a text file, or -1 and null for a baseline taken from tasks
+    private final long size;
+    private final FileTime modifiedTime;
+    private final long[] lineHashes;
+    private final long generation;
+
+    private TextBaseline(long size, FileTime modifiedTime, long[] lineHashes, long generation) {
+        this.size = size;
+        this.modifiedTime = modifiedTime;
+        this.lineHashes = lineHashes;
+        this.generation = generation;
+    }
+
+    /**
+     * Reads the baseline of a text storage file.
+     *
+     * @param file the text storage file
+     * @param generation the generation of the task list the file holds, or -1 if it holds none
+     * @return the baseline of the file
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    static TextBaseline read(Path file, long generation) throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readBytes(channel);
+            try {
+                List<int[]> lines = findTaskLines(buffer);
+                long[] lineHashes = new long[lines.size()];
+                for (int i = 0; i < lineHashes.length; i++) {
+                    lineHashes[i] = hash(buffer, lines.get(i)[0], lines.get(i)[1]);
+                }
+                return new TextBaseline(channel.size(), modifiedTime, lineHashes, generation);
+            } finally {
+                release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Takes the baseline from the tasks saved in, or loaded from, a file in any storage format.
+     * The attributes of a text file written from the tasks can be given so that the baseline can
+     * also tell when the file is changed.
+     *
+     * @param tasks the tasks in list order
+     * @param generation the generation of the task list the tasks were copied from, or -1
+     * @param attributes the attributes of the text file holding the tasks, or {@code null}
+     * @return the baseline of the tasks
+     */
+    static TextBaseline of(List<Task> tasks, long generation, BasicFileAttributes attributes) {
+        return attributes == null
+                ? new TextBaseline(-1, null, hashAll(tasks), generation)
+                : new TextBaseline(attributes.size(), attributes.lastModifiedTime(), hashAll(tasks), generation);
+    }
+
+    /**
+     * Returns the generation of the task list the file held when the baseline was taken.
+     *
+     * @return the generation, or -1 if the file did not hold a generation of the list
+     */
+    long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Checks if the baseline was taken from a text file and can therefore tell when the file is changed.
+     *
+     * @return true if the size and modification time of a text file are known, false otherwise
+     */
+    boolean hasFile() {
+        return this.modifiedTime != null;
+    }
+
+    /**
+     * Checks if the file still has the size and modification time of the baseline.
+     *
+     * @param file the text storage file
+     * @return true if the file looks unchanged, false otherwise
+     * @throws IOException if an I/O error occurs while reading the file attributes
+     */
+    boolean isCurrent(Path file) throws IOException {
+        return hasFile() && Files.size(file) == this.size && Files.getLastModifiedTime(file).equals(this.modifiedTime);
+    }
+
+    /**
+     * Compares the file with the baseline and parses the task lines that differ.
+     *
+     * @param file the changed text storage file
+     * @return the change, or {@code null} if every task line is unchanged
+     * @throws IOException if an I/O error occurs while reading the file
+     */
+    ExternalChange diff(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = readBytes(channel);
+            try {
+                return diff(buffer);
+            } finally {
+                release(buffer);
+            }
+        }
+    }
+
+    private ExternalChange diff(ByteBuffer buffer) {
+        List<int[]> lines = findTaskLines(buffer);
+        long[] newHashes = new long[lines.size()];
+        for (int i = 0; i < newHashes.length; i++) {
+            newHashes[i] = hash(buffer, lines.get(i)[0], lines.get(i)[1]);
+        }
+        int[] region = findChangedRegion(newHashes);
+        if (region == null) {
+            return null;
+        }
+        List<Task> addedTasks = new ArrayList<>();
+        List<String> badLines = new ArrayList<>();
+        for (int i = region[0]; i < region[1]; i++) {
+            int[] line = lines.get(i);
+            byte[] bytes = new byte[line[1] - line[0]];
+            buffer.get(line[0], bytes);
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            try {
+                addedTasks.add(TextFormat.parseTask(text));
+            } catch (InvalidInputException e) {
+                badLines.add(TextFormat.describeBadLine(String.valueOf(line[2]), text, e));
+            }
+        }
+        return new ExternalChange(region[0], getRemovedHashes(region, newHashes.length), addedTasks, badLines,
+                this.generation);
+    }
+
+    /**
+     * Compares a list read back from a file in any storage format with the baseline.
+     *
+     * @param tasks the tasks read from the changed file
+     * @return the change, or {@code null} if every task is unchanged
+     */
+    ExternalChange diff(List<Task> tasks) {
+        long[] newHashes = hashAll(tasks);
+        int[] region = findChangedRegion(newHashes);
+        if (region == null) {
+            return null;
+        }
+        return new ExternalChange(region[0], getRemovedHashes(region, newHashes.length),
+                new ArrayList<>(tasks.subList(region[0], region[1])), new ArrayList<>(), this.generation);
+    }
+
+    /**
+     * Finds the lines between the common prefix and the common suffix of the baseline and the new hashes.
+     *
+     * @return the start and end of the changed lines in the new hashes, or {@code null} if nothing changed
+     */
+    private int[] findChangedRegion(long[] newHashes) {
+        int oldCount = this.lineHashes.length;
+        int newCount = newHashes.length;
+        int prefix = 0;
+        while (prefix < oldCount && prefix < newCount && this.lineHashes[prefix] == newHashes[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldCount - prefix && suffix < newCount - prefix
+                && this.lineHashes[oldCount - 1 - suffix] == newHashes[newCount - 1 - suffix]) {
+            suffix++;
+        }
+        if (prefix + suffix == oldCount && prefix + suffix == newCount) {
+            return null;
+        }
+        return new int[] {prefix, newCount - suffix};
+    }
+
+    /**
+     * Returns the hashes of the baseline lines replaced by the changed region.
+     */
+    private long[] getRemovedHashes(int[] region, int newCount) {
+        int suffix = newCount - region[1];
+        long[] removedHashes = new long[this.lineHashes.length - region[0] - suffix];
+        System.arraycopy(this.lineHashes, region[0], removedHashes, 0, removedHashes.length);
+        return removedHashes;
+    }
+
+    private static long[] hashAll(List<Task> tasks) {
+        long[] hashes = new long[tasks.size()];
+        int i = 0;
+        for (Task task : tasks) {
+            hashes[i++] = hash(task.toStorageString());
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns the hash a task line of the file would have, e.g. for a task of the live list.
+     *
+     * @param line the storage line of a task
+     * @return the hash of the line
+     */
+    static long hash(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long hash(ByteBuffer buffer, int start, int end) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ (buffer.get(i) & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Unmaps the contents of a file once they have been read, see {@link MappedTaskLoader#unmap(MappedByteBuffer)}.
+     */
+    private static void release(ByteBuffer buffer) {
+        if (buffer instanceof MappedByteBuffer) {
+            MappedTaskLoader.unmap((MappedByteBuffer) buffer);
+        }
+    }
+
+    /**
+     * Returns the contents of the file, read into memory if the file is small and memory-mapped otherwise.
+     */
+    private static ByteBuffer readBytes(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size > MAPPED_READ_THRESHOLD) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                break;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Returns the start and end of the content and the line number of every non-empty line after the header line.
+     */
+    private static List<int[]> findTaskLines(ByteBuffer buffer) {
+        List<int[]> lines = new ArrayList<>();
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int lineNumber = 0;
+        while (lineStart < limit) {
+            lineNumber++;
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                contentEnd--;
+            }
+            if (lineNumber > 1 && contentEnd > lineStart) {
+                lines.add(new int[] {lineStart, contentEnd, lineNumber});
+            }
+            lineStart = lineEnd + 1;
+        }
+        return lines;
+    }
+}
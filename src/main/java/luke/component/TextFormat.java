@@ -0,0 +1,257 @@
+package luke.component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+import luke.exception.InvalidInputException;
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.NameEscaper;
+import luke.task.Task;
+import luke.task.TimeParser;
+import luke.task.ToDo;
+
+/**
+ * The {@code TextFormat} class reads and writes the lines of the text storage format,
+ * e.g. {@code "T : 1 : name"} or {@code "D : 0 : name : DD/MM/YYYY HH:MM"}.
+ * Tasks are written in this format by {@link Task#toStorageString()}.
+ *
+ * Fields are separated by {@code " : "}. So that any task name can be stored, names are escaped by
+ * {@link NameEscaper}, so an escaped name never contains a separator or a line break. Lines are parsed
+ * character by character where they are, e.g. in the buffer of a reader: the fields are read by position
+ * without copying them, and only names are turned into {@code String}s.
+ */
+public class TextFormat {
+
+    private static final int SEPARATOR_LENGTH = 3;
+
+    private TextFormat() {
+    }
+
+    /**
+     * Reads a single task from a line of text and returns the corresponding Task object.
+     *
+     * @param input the task data in string format
+     * @return the corresponding Task object
+     * @throws InvalidInputException if the task data is invalid
+     */
+    public static Task parseTask(CharSequence input) throws InvalidInputException {
+        return parseTask(input, 0, input.length());
+    }
+
+    /**
+     * Reads a task from the line in {@code line[start, end)}, e.g. a line in the buffer of a reader,
+     * without copying the line or its fields.
+     *
+     * @param line the text holding the line
+     * @param start the index of the first character of the line
+     * @param end the index after the last character of the line, excluding its line break
+     * @return the task
+     * @throws InvalidInputException if the line is not a valid task
+     */
+    static Task parseTask(CharSequence line, int start, int end) throws InvalidInputException {
+        int typeEnd = findSeparator(line, start, end);
+        int doneStart = typeEnd + SEPARATOR_LENGTH;
+        int doneEnd = findSeparator(line, doneStart, end);
+        int nameStart = doneEnd + SEPARATOR_LENGTH;
+        int nameEnd = findSeparator(line, nameStart, end);
+        if (typeEnd - start != 1) {
+            throw new InvalidInputException("invalid command\n");
+        }
+        char type = line.charAt(start);
+        if (type != 'T' && type != 'D' && type != 'E') {
+            throw new InvalidInputException("invalid command\n");
+        }
+        if (nameStart >= end) {
+            throw new InvalidInputException("insufficient arguments");
+        }
+        boolean isDone = doneEnd - doneStart == 1 && line.charAt(doneStart) == '1';
+        String name = NameEscaper.unescape(line, nameStart, nameEnd);
+        if (type == 'T') {
+            return new ToDo(name, isDone);
+        }
+        int firstTimeStart = nameEnd + SEPARATOR_LENGTH;
+        int firstTimeEnd = findSeparator(line, firstTimeStart, end);
+        int secondTimeStart = firstTimeEnd + SEPARATOR_LENGTH;
+        if (firstTimeStart > end || (type == 'E' && secondTimeStart > end)) {
+            throw new InvalidInputException("insufficient arguments");
+        }
+        try {
+            LocalDateTime firstTime = TimeParser.parse(line, firstTimeStart, firstTimeEnd);
+            if (type == 'D') {
+                return new Deadline(name, isDone, firstTime);
+            }
+            int secondTimeEnd = findSeparator(line, secondTimeStart, end);
+            LocalDateTime secondTime = TimeParser.parse(line, secondTimeStart, secondTimeEnd);
+            return new Event(name, isDone, firstTime, secondTime);
+        } catch (DateTimeException e) {
+            String message = type == 'D' ? "invalid deadline: " : "invalid event time: ";
+            throw new InvalidInputException(message + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Describes a line that could not be parsed together with the reason, e.g.
+     * {@code "7: X : 0 : name (invalid command)"}, so that every reader reports bad lines alike.
+     *
+     * @param position where the line was found, e.g. its line number
+     * @param line the line
+     * @param e the exception thrown by {@link #parseTask(CharSequence)}
+     * @return the description of the line
+     */
+    static String describeBadLine(String position, CharSequence line, InvalidInputException e) {
+        return position + ": " + line + " (" + e.getMessage().trim() + ")";
+    }
+
+    /**
+     * Returns the position of the first separator in {@code line[start, end)}, or {@code end} if there is none.
+     */
+    private static int findSeparator(CharSequence line, int start, int end) {
+        for (int i = start; i + 2 < end; i++) {
+            if (line.charAt(i + 1) == ':' && line.charAt(i) == ' ' && line.charAt(i + 2) == ' ') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Reads tasks from a text stream one line at a time, parsing each line in place in a reused buffer.
+     * Empty lines are skipped. The header line of a list file has to be read with {@link #readHeader()}
+     * before the first task.
+     */
+    static class RecordReader implements TaskRecordReader {
+        private final Reader in;
+        private char[] buffer = new char[8192];
+        private CharBuffer view = CharBuffer.wrap(this.buffer);
+        private int position = 0;
+        private int limit = 0;
+        private int lineStart = 0;
+        private int lineEnd = 0;
+        private boolean isEnd = false;
+        private long lineNumber = 0;
+
+        RecordReader(Reader in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads the header line of a list file, e.g. {@code "list: n : stamp"}.
+         *
+         * @return the header line, or {@code null} if the stream is empty
+         * @throws IOException if an I/O error occurs while reading
+         */
+        String readHeader() throws IOException {
+            return readLine() ? getLine() : null;
+        }
+
+        @Override
+        public Task readTask() throws IOException, InvalidInputException {
+            do {
+                if (!readLine()) {
+                    return null;
+                }
+            } while (this.lineEnd == this.lineStart);
+            return parseTask(this.view, this.lineStart, this.lineEnd);
+        }
+
+        /**
+         * Returns the number of the line last read, starting from 1 and counting the header and empty lines.
+         *
+         * @return the current line number
+         */
+        @Override
+        public long getRecordNumber() {
+            return this.lineNumber;
+        }
+
+        /**
+         * Returns the line last read, e.g. to report it when it could not be parsed.
+         *
+         * @return the line without its line break
+         */
+        String getLine() {
+            return new String(this.buffer, this.lineStart, this.lineEnd - this.lineStart);
+        }
+
+        /**
+         * Finds the next line in the buffer, reading more of the stream as needed.
+         *
+         * @return true if a line was found, false at the end of the stream
+         */
+        private boolean readLine() throws IOException {
+            int scan = this.position;
+            while (true) {
+                while (scan < this.limit && this.buffer[scan] != '\n') {
+                    scan++;
+                }
+                if (scan < this.limit || this.isEnd) {
+                    break;
+                }
+                scan -= this.position;
+                fill();
+            }
+            if (this.position == this.limit && this.isEnd) {
+                return false;
+            }
+            this.lineNumber++;
+            this.lineStart = this.position;
+            this.lineEnd = scan;
+            this.position = scan < this.limit ? scan + 1 : scan;
+            if (this.lineEnd > this.lineStart && this.buffer[this.lineEnd - 1] == '\r') {
+                this.lineEnd--;
+            }
+            return true;
+        }
+
+        /**
+         * Moves the unread characters to the front of the buffer, growing it if it is full, and reads more.
+         */
+        private void fill() throws IOException {
+            int remaining = this.limit - this.position;
+            if (remaining == this.buffer.length) {
+                char[] larger = new char[this.buffer.length * 2];
+                System.arraycopy(this.buffer, this.position, larger, 0, remaining);
+                this.buffer = larger;
+                this.view = CharBuffer.wrap(larger);
+            } else if (this.position > 0) {
+                System.arraycopy(this.buffer, this.position, this.buffer, 0, remaining);
+            }
+            this.position = 0;
+            this.limit = remaining;
+            int count = this.in.read(this.buffer, this.limit, this.buffer.length - this.limit);
+            if (count < 0) {
+                this.isEnd = true;
+            } else {
+                this.limit += count;
+            }
+        }
+    }
+
+    /**
+     * Writes tasks to a text stream, one storage line per task.
+     */
+    static class RecordWriter implements TaskRecordWriter {
+        private final Writer out;
+        private final String lineSeparator = System.lineSeparator();
+
+        RecordWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void writeTask(Task task) throws IOException {
+            this.out.write(task.toStorageString());
+            this.out.write(this.lineSeparator);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            this.out.flush();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package luke.component;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+
+import luke.exception.InvalidInputException;
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+import luke.task.ToDo;
+
+/**
+ * The {@code TransferFormat} enum lists the formats in which {@link Storage} can import and export tasks
+ * for other trackers. Every format describes a task by the fields {@code type} ({@code todo},
+ * {@code deadline} or {@code event}), {@code done}, {@code name}, {@code by}, {@code from} and {@code to},
+ * with times in the format {@code DD/MM/YYYY HH:MM}.
+ */
+public enum TransferFormat {
+    /** Comma-separated values with a header row, see {@link CsvFormat}. */
+    CSV,
+    /** A JSON array of flat task objects, see {@link JsonFormat}. */
+    JSON;
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final String COMPRESSED_SUFFIX = ".gz";
+
+    /**
+     * Returns the format of a file from its extension, ignoring a trailing {@code ".gz"}.
+     *
+     * @param fileName the name of the file, e.g. {@code "tasks.csv"} or {@code "tasks.json.gz"}
+     * @return the format of the file, or {@code null} if the extension is not known
+     */
+    public static TransferFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(COMPRESSED_SUFFIX)) {
+            name = name.substring(0, name.length() - COMPRESSED_SUFFIX.length());
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        } else if (name.endsWith(".json")) {
+            return JSON;
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a file is to be gzip-compressed, i.e. if its name ends with {@code ".gz"}.
+     *
+     * @param fileName the name of the file
+     * @return true if the file is compressed, false otherwise
+     */
+    public static boolean isCompressed(String fileName) {
+        return fileName.toLowerCase().endsWith(COMPRESSED_SUFFIX);
+    }
+
+    /**
+     * Creates a reader of task records in this format.
+     *
+     * @param in the stream to read from
+     * @return the record reader
+     */
+    public TaskRecordReader createReader(Reader in) {
+        return this == CSV ? new CsvFormat.RecordReader(in) : new JsonFormat.RecordReader(in);
+    }
+
+    /**
+     * Creates a writer of task records in this format.
+     *
+     * @param out the stream to write to
+     * @return the record writer
+     */
+    public TaskRecordWriter createWriter(Writer out) {
+        return this == CSV ? new CsvFormat.RecordWriter(out) : new JsonFormat.RecordWriter(out);
+    }
+
+    /**
+     * Returns the type field of a task.
+     */
+    static String getType(Task task) {
+        if (task instanceof Deadline) {
+            return "deadline";
+        } else if (task instanceof Event) {
+            return "event";
+        }
+        return "todo";
+    }
+
+    /**
+     * Returns the time fields {@code by}, {@code from} and {@code to} of a task, {@code null} where not applicable.
+     */
+    static String[] getTimes(Task task) {
+        if (task instanceof Deadline) {
+            return new String[] {((Deadline) task).getDueTime().format(TIME_FORMATTER), null, null};
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            return new String[] {null, event.getStartTime().format(TIME_FORMATTER),
+                    event.getEndTime().format(TIME_FORMATTER)};
+        }
+        return new String[] {null, null, null};
+    }
+
+    /**
+     * Creates a task from the fields of a record, using the same constructors as the task commands.
+     *
+     * @throws InvalidInputException if a required field is missing or a time is invalid
+     */
+    static Task createTask(String type, String done, String name, String by, String from, String to)
+            throws InvalidInputException {
+        if (type == null || name == null || name.isEmpty()) {
+            throw new InvalidInputException("missing type or name");
+        }
+        boolean isDone = "true".equalsIgnoreCase(done) || "1".equals(done);
+        try {
+            switch (type.toLowerCase()) {
+            case "todo":
+                return new ToDo(name, isDone);
+            case "deadline":
+                return new Deadline(name, isDone, by);
+            case "event":
+                return new Event(name, isDone, from, to);
+            default:
+                throw new InvalidInputException("unknown task type: " + type);
+            }
+        } catch (DateTimeException e) {
+            throw new InvalidInputException("invalid time for " + type + " " + name + ": " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw new InvalidInputException("invalid time for " + type + ": " + name, e);
+        }
+    }
+}
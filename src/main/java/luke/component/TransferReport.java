@@ -0,0 +1,74 @@
+package luke.component;
+
+/**
+ * The {@code TransferReport} class describes the progress or outcome of an import or export
+ * performed by {@link Storage}. It records how many tasks were transferred, how many records
+ * were skipped and how long the transfer has taken so far.
+ */
+public class TransferReport {
+
+    private final long taskCount;
+    private final long skippedCount;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a new {@code TransferReport}.
+     *
+     * @param taskCount the number of tasks transferred
+     * @param skippedCount the number of records that were skipped because they were invalid
+     * @param elapsedNanos the time taken so far in nanoseconds
+     */
+    public TransferReport(long taskCount, long skippedCount, long elapsedNanos) {
+        this.taskCount = taskCount;
+        this.skippedCount = skippedCount;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of tasks transferred.
+     *
+     * @return the number of tasks transferred
+     */
+    public long getTaskCount() {
+        return this.taskCount;
+    }
+
+    /**
+     * Returns the number of records that were skipped because they were invalid.
+     *
+     * @return the number of skipped records
+     */
+    public long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    /**
+     * Returns the time taken so far in nanoseconds.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the throughput of the transfer.
+     *
+     * @return the number of tasks transferred per second
+     */
+    public double getTasksPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.taskCount * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Returns a short summary of the transfer, e.g. {@code "1000 tasks in 12.50 ms (80000 tasks/s)"}.
+     *
+     * @return a string representation of the report
+     */
+    @Override
+    public String toString() {
+        String summary = String.format("%d tasks in %.2f ms (%.0f tasks/s)", this.taskCount,
+                this.elapsedNanos / 1e6, getTasksPerSecond());
+        return this.skippedCount == 0 ? summary : summary + ", " + this.skippedCount + " skipped";
+    }
+}
@@ -61,6 +61,16 @@ public class Ui {
         return " Bye. Hope to see you again soon!";
     }
 
+    /**
+     * Prints a message to the console.
+     *
+     * @param message the message to be printed
+     */
+    public void print(String message) {
+        writer.println(message);
+        writer.flush();
+    }
+
     /**
      * Reads a line of input from the user.
      *
@@ -0,0 +1,289 @@
+package luke.component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+
+import luke.task.Task;
+
+/**
+ * The {@code WordIndex} class is an inverted index of the words in task names, so that {@code find} looks up
+ * the words it is given instead of scanning every name. A word is a run of letters and digits of the name
+ * in lower case, see {@link Task#getWords()}.
+ *
+ * Each word maps to the ids of the tasks whose names contain it, see {@link Task#getId()}, in increasing
+ * order. Ids only grow, so a task is added by appending its id, and the lists stay valid when the tasks are
+ * reordered. A deleted task's id is left in place and skipped, since it no longer resolves to a task; a list
+ * is compacted once half of its ids are such dead ids, so deletes cost O(1) amortized per word.
+ *
+ * A query is a list of words that must all occur in a name. A word ending with {@code *} matches any word it
+ * is a prefix of, and {@code or} between words separates alternatives, e.g. {@code red book or blue pen*}.
+ * The words are kept in a sorted map, so the words with a prefix are found by a range lookup.
+ * Tasks that are not indexed, e.g. those in the archive, are matched by the same rules with
+ * {@link #scan(Iterable, String)}.
+ */
+public class WordIndex {
+
+    private static final String OR = "or";
+    private static final char PREFIX = '*';
+
+    private final NavigableMap<String, Posting> postings = new TreeMap<>();
+    private final LongFunction<Task> tasksById;
+
+    /**
+     * Constructs an index of the given tasks.
+     *
+     * @param tasks the tasks to be indexed, in any order, e.g. in list order after a sort
+     * @param tasksById finds a task of the list by its id, or returns {@code null} for a deleted task
+     */
+    WordIndex(Iterable<Task> tasks, LongFunction<Task> tasksById) {
+        this.tasksById = tasksById;
+        for (Task task : tasks) {
+            add(task);
+        }
+        for (Posting posting : this.postings.values()) {
+            Arrays.sort(posting.ids, 0, posting.size);
+        }
+    }
+
+    /**
+     * Adds a task to the index. Its id must be larger than that of any task added before.
+     *
+     * @param task the task to be added
+     */
+    void add(Task task) {
+        for (String word : task.getWords()) {
+            this.postings.computeIfAbsent(word, w -> new Posting()).add(task.getId());
+        }
+    }
+
+    /**
+     * Records that a task was deleted. The task must already be gone from the list, so its id is dead.
+     *
+     * @param task the deleted task
+     */
+    void remove(Task task) {
+        for (String word : task.getWords()) {
+            Posting posting = this.postings.get(word);
+            if (posting != null && ++posting.deadCount * 2 > posting.size) {
+                posting.compact(this.tasksById);
+                if (posting.size == 0) {
+                    this.postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the tasks matching a query, e.g. {@code red book or blue pen*}.
+     *
+     * @param query the words to be searched for
+     * @return the matching tasks in list order
+     */
+    ArrayList<Task> find(String query) {
+        List<Posting> alternatives = new ArrayList<>();
+        for (List<String> terms : parse(query)) {
+            alternatives.add(matchAll(terms));
+        }
+        Posting ids = alternatives.size() == 1 ? alternatives.get(0) : Posting.union(alternatives);
+        ArrayList<Task> tasks = new ArrayList<>(ids.size);
+        for (int i = 0; i < ids.size; i++) {
+            Task task = this.tasksById.apply(ids.ids[i]);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        tasks.sort(Comparator.comparingLong(Task::getSequence));
+        return tasks;
+    }
+
+    /**
+     * Returns the tasks matching a query by checking the name of every task, following the same rules as
+     * {@link #find(String)}, e.g. for the archived tasks, which are not indexed.
+     *
+     * @param tasks the tasks to be searched
+     * @param query the words to be searched for
+     * @return the matching tasks in the order they were given
+     */
+    public static ArrayList<Task> scan(Iterable<Task> tasks, String query) {
+        List<List<String>> alternatives = parse(query);
+        ArrayList<Task> matches = new ArrayList<>();
+        for (Task task : tasks) {
+            for (List<String> terms : alternatives) {
+                if (matchesAll(task.getWords(), terms)) {
+                    matches.add(task);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Splits a query into its alternatives, each a list of the words that must all occur in a name.
+     * A word that has to be matched as a prefix keeps its {@code *} at the end.
+     */
+    private static List<List<String>> parse(String query) {
+        List<List<String>> alternatives = new ArrayList<>();
+        List<String> terms = new ArrayList<>();
+        for (String queryWord : fold(query).trim().split("\\s+")) {
+            if (queryWord.equals(OR)) {
+                alternatives.add(terms);
+                terms = new ArrayList<>();
+            } else if (!queryWord.isEmpty()) {
+                boolean isPrefix = queryWord.charAt(queryWord.length() - 1) == PREFIX;
+                List<String> words = Task.toWords(queryWord);
+                for (int i = 0; i < words.size(); i++) {
+                    terms.add(isPrefix && i == words.size() - 1 ? words.get(i) + PREFIX : words.get(i));
+                }
+            }
+        }
+        alternatives.add(terms);
+        return alternatives;
+    }
+
+    private static boolean isPrefix(String term) {
+        return term.charAt(term.length() - 1) == PREFIX;
+    }
+
+    /**
+     * Checks if the words of a name contain every term of an alternative.
+     */
+    private static boolean matchesAll(List<String> words, List<String> terms) {
+        if (terms.isEmpty()) {
+            return false;
+        }
+        for (String term : terms) {
+            boolean isMatched = false;
+            for (String word : words) {
+                if (isPrefix(term) ? word.startsWith(term.substring(0, term.length() - 1)) : word.equals(term)) {
+                    isMatched = true;
+                    break;
+                }
+            }
+            if (!isMatched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the ids of the tasks whose names contain every term, starting from the term with the fewest
+     * tasks and keeping only the ids that are found in the lists of the other terms.
+     */
+    private Posting matchAll(List<String> terms) {
+        if (terms.isEmpty()) {
+            return new Posting();
+        }
+        List<Posting> postingsOfTerms = new ArrayList<>();
+        for (String term : terms) {
+            postingsOfTerms.add(isPrefix(term) ? matchPrefix(term.substring(0, term.length() - 1)) : match(term));
+        }
+        postingsOfTerms.sort(Comparator.comparingInt(posting -> posting.size));
+        Posting result = postingsOfTerms.get(0).copy();
+        for (int i = 1; i < postingsOfTerms.size() && result.size > 0; i++) {
+            result.retainAll(postingsOfTerms.get(i));
+        }
+        return result;
+    }
+
+    private Posting match(String word) {
+        Posting posting = this.postings.get(word);
+        return posting == null ? new Posting() : posting;
+    }
+
+    private Posting matchPrefix(String prefix) {
+        return Posting.union(this.postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    /**
+     * Folds text for a case-insensitive comparison of words.
+     */
+    private static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The ids of the tasks that contain a word, in increasing order, including the ids of deleted tasks.
+     */
+    private static class Posting {
+        private long[] ids = new long[2];
+        private int size = 0;
+        private int deadCount = 0;
+
+        void add(long id) {
+            if (this.size == this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            }
+            this.ids[this.size++] = id;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(this.ids, 0, this.size, id) >= 0;
+        }
+
+        /**
+         * Keeps only the ids that are also in another list.
+         */
+        void retainAll(Posting other) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (other.contains(this.ids[i])) {
+                    this.ids[kept++] = this.ids[i];
+                }
+            }
+            this.size = kept;
+        }
+
+        /**
+         * Drops the ids of deleted tasks.
+         */
+        void compact(LongFunction<Task> tasksById) {
+            int kept = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (tasksById.apply(this.ids[i]) != null) {
+                    this.ids[kept++] = this.ids[i];
+                }
+            }
+            this.size = kept;
+            this.deadCount = 0;
+            if (this.ids.length > 2 * kept + 2) {
+                this.ids = Arrays.copyOf(this.ids, kept + 2);
+            }
+        }
+
+        Posting copy() {
+            Posting copy = new Posting();
+            copy.ids = Arrays.copyOf(this.ids, Math.max(this.size, 1));
+            copy.size = this.size;
+            return copy;
+        }
+
+        /**
+         * Returns the ids that are in any of the lists, in increasing order and without repeats.
+         */
+        static Posting union(Iterable<Posting> postings) {
+            Posting union = new Posting();
+            for (Posting posting : postings) {
+                for (int i = 0; i < posting.size; i++) {
+                    union.add(posting.ids[i]);
+                }
+            }
+            Arrays.sort(union.ids, 0, union.size);
+            int kept = 0;
+            for (int i = 0; i < union.size; i++) {
+                if (kept == 0 || union.ids[kept - 1] != union.ids[i]) {
+                    union.ids[kept++] = union.ids[i];
+                }
+            }
+            union.size = kept;
+            return union;
+        }
+    }
+}
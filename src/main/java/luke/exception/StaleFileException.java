@@ -0,0 +1,19 @@
+package luke.exception;
+
+import java.io.IOException;
+
+/**
+ * This exception is thrown when the storage file was saved by another Luke instance
+ * since this instance last read or wrote it.
+ * <p>
+ * Saving anyway would overwrite the other instance's changes, so callers should merge
+ * the saved list into their own before saving again.
+ * </p>
+ */
+public class StaleFileException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public StaleFileException(String message) {
+        super(message);
+    }
+}
@@ -10,46 +10,46 @@ import java.time.format.DateTimeFormatter;
  */
 public class Deadline extends Task {
 
+    static final DateTimeFormatter STORAGE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    static final DateTimeFormatter DISPLAY_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
     protected LocalDateTime dueTime;
 
     /**
      * Constructs a new {@code Deadline} task with the specified name, completion status,
      * and due time. The due time is provided as a string in the format "DD/MM/YYYY HH:MM",
-     * which is then converted into a {@code LocalDateTime}.
+     * which is then converted into a {@code LocalDateTime} by {@link TimeParser}.
      *
      * @param name the name of the task
      * @param isDone the completion status of the task
      * @param dueTime the due time of the task in the format "DD/MM/YYYY HH:MM"
+     * @throws java.time.DateTimeException if the due time is not a valid time in that format
      */
     public Deadline(String name, boolean isDone, String dueTime) {
         super(name, isDone);
-        // input format of dueTime: [DD/MM/YYYY HH:MM]
-        // required format        : [YYYY:MM:DDTHH:MM:SS]
-        String day = dueTime.substring(0, 2);
-        String month = dueTime.substring(3, 5);
-        String year = dueTime.substring(6, 10);
-        String hour = dueTime.substring(11, 13);
-        String minute = dueTime.substring(14, 16);
-        String timeString = String.format("%s-%s-%sT%s:%s:00", year, month, day, hour, minute);
-        this.dueTime = LocalDateTime.parse(timeString); // assume string is in correct format
+        this.dueTime = TimeParser.parse(dueTime);
     }
 
     /**
-     * Gets the name of the task.
+     * Constructs a new {@code Deadline} task with the specified name, completion status
+     * and an already parsed due time.
      *
-     * @return the name of the task
+     * @param name the name of the task
+     * @param isDone the completion status of the task
+     * @param dueTime the due time of the task
      */
-    public String getName() {
-        return this.name;
+    public Deadline(String name, boolean isDone, LocalDateTime dueTime) {
+        super(name, isDone);
+        this.dueTime = dueTime;
     }
 
     /**
-     * Sets the completion status of the task.
+     * Gets the name of the task.
      *
-     * @param isDone {@code true} if the task is done, {@code false} otherwise
+     * @return the name of the task
      */
-    public void setIsDone(boolean isDone) {
-        this.isDone = isDone;
+    public String getName() {
+        return this.name;
     }
 
     /**
@@ -71,15 +71,29 @@ public class Deadline extends Task {
     }
 
     /**
-     * Returns a string representation of the deadline task, including its completion
+     * Renders the storage line of the deadline task in the format
+     * {@code "D : isDone : name : DD/MM/YYYY HH:MM"}.
+     *
+     * @param isDone the completion status to render
+     * @return the storage representation of the deadline task
+     */
+    @Override
+    protected String renderStorageLine(boolean isDone) {
+        return "D : " + (isDone ? "1" : "0") + " : " + NameEscaper.escape(this.name)
+                + " : " + this.dueTime.format(STORAGE_FORMATTER);
+    }
+
+    /**
+     * Renders a string representation of the deadline task, including its completion
      * status, name, and formatted due time.
      *
+     * @param isDone the completion status to render
      * @return a string representation of the deadline task
      */
     @Override
-    public String toString() {
-        return String.format("[D][%s] %s (by: %s)", this.isDone ? "X" : " ",
-                this.name, this.dueTime.format(DateTimeFormatter.ofPattern("dd MMM yyyy")));
+    protected String renderDisplayLine(boolean isDone) {
+        return "[D][" + (isDone ? "X" : " ") + "] " + this.name
+                + " (by: " + this.dueTime.format(DISPLAY_FORMATTER) + ")";
     }
 
     /**
@@ -1,7 +1,6 @@
 package luke.task;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * The {@code Event} class represents a task that occurs at a specific time range.
@@ -16,55 +15,42 @@ public class Event extends Task {
     /**
      * Constructs a new {@code Event} task with the specified name, completion status,
      * start time, and end time. The start and end times are provided as strings in the
-     * format "DD/MM/YYYY HH:MM", which are then converted into {@code LocalDateTime}.
+     * format "DD/MM/YYYY HH:MM", which are then converted into {@code LocalDateTime} by {@link TimeParser}.
      *
      * @param name the name of the event
      * @param isDone the completion status of the event
      * @param start the start time of the event in the format "DD/MM/YYYY HH:MM"
      * @param end the end time of the event in the format "DD/MM/YYYY HH:MM"
+     * @throws java.time.DateTimeException if the start or end time is not a valid time in that format
      */
     public Event(String name, boolean isDone, String start, String end) {
         super(name, isDone);
-        // input format of start and end: [DD/MM/YYYY HH:MM]
-        // required format        : [YYYY:MM:DDTHH:MM:SS]
-        String startDay = start.substring(0, 2);
-        String startMonth = start.substring(3, 5);
-        String startYear = start.substring(6, 10);
-        String startHour = start.substring(11, 13);
-        String startMinute = start.substring(14, 16);
-        String startTimeString = String.format("%s-%s-%sT%s:%s:00",
-                startYear, startMonth, startDay,
-                startHour, startMinute);
-
-        String endDay = end.substring(0, 2);
-        String endMonth = end.substring(3, 5);
-        String endYear = end.substring(6, 10);
-        String endHour = end.substring(11, 13);
-        String endMinute = end.substring(14, 16);
-        String endTimeString = String.format("%s-%s-%sT%s:%s:00",
-                endYear, endMonth, endDay,
-                endHour, endMinute);
-
-        this.startTime = LocalDateTime.parse(startTimeString);
-        this.endTime = LocalDateTime.parse(endTimeString);
+        this.startTime = TimeParser.parse(start);
+        this.endTime = TimeParser.parse(end);
     }
 
     /**
-     * Gets the name of the event.
+     * Constructs a new {@code Event} task with the specified name, completion status
+     * and already parsed start and end times.
      *
-     * @return the name of the event
+     * @param name the name of the event
+     * @param isDone the completion status of the event
+     * @param startTime the start time of the event
+     * @param endTime the end time of the event
      */
-    public String getName() {
-        return this.name;
+    public Event(String name, boolean isDone, LocalDateTime startTime, LocalDateTime endTime) {
+        super(name, isDone);
+        this.startTime = startTime;
+        this.endTime = endTime;
     }
 
     /**
-     * Sets the completion status of the event.
+     * Gets the name of the event.
      *
-     * @param isDone {@code true} if the event is done, {@code false} otherwise
+     * @return the name of the event
      */
-    public void setIsDone(boolean isDone) {
-        this.isDone = isDone;
+    public String getName() {
+        return this.name;
     }
 
     /**
@@ -95,16 +81,31 @@ public class Event extends Task {
     }
 
     /**
-     * Returns a string representation of the event, including its completion status,
+     * Renders the storage line of the event in the format
+     * {@code "E : isDone : name : DD/MM/YYYY HH:MM : DD/MM/YYYY HH:MM"}.
+     *
+     * @param isDone the completion status to render
+     * @return the storage representation of the event
+     */
+    @Override
+    protected String renderStorageLine(boolean isDone) {
+        return "E : " + (isDone ? "1" : "0") + " : " + NameEscaper.escape(this.name)
+                + " : " + this.startTime.format(Deadline.STORAGE_FORMATTER)
+                + " : " + this.endTime.format(Deadline.STORAGE_FORMATTER);
+    }
+
+    /**
+     * Renders a string representation of the event, including its completion status,
      * name, start time, and end time.
      *
+     * @param isDone the completion status to render
      * @return a string representation of the event
      */
     @Override
-    public String toString() {
-        return String.format("[E][%s] %s (from: %s to: %s)", this.isDone ? "X" : " ", this.name,
-                this.startTime.format(DateTimeFormatter.ofPattern("dd MMM yyyy")),
-                this.endTime.format(DateTimeFormatter.ofPattern("dd MMM yyyy")));
+    protected String renderDisplayLine(boolean isDone) {
+        return "[E][" + (isDone ? "X" : " ") + "] " + this.name
+                + " (from: " + this.startTime.format(Deadline.DISPLAY_FORMATTER)
+                + " to: " + this.endTime.format(Deadline.DISPLAY_FORMATTER) + ")";
     }
 
     /**
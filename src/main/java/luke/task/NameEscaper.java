@@ -0,0 +1,108 @@
+package luke.task;
+
+/**
+ * The {@code NameEscaper} class escapes task names for the text storage format, where fields are separated
+ * by {@code " : "} and every task takes one line.
+ *
+ * A backslash is written as {@code \\}, a line feed as {@code \n}, a carriage return as {@code \r} and a colon
+ * that follows a space as {@code \:}, so an escaped name never contains a separator or a line break.
+ * A backslash that does not start one of these escapes, e.g. one typed into an older file, is kept as is.
+ */
+public final class NameEscaper {
+
+    private static final char ESCAPE = '\\';
+
+    private NameEscaper() {
+    }
+
+    /**
+     * Escapes a task name for the text storage format.
+     *
+     * @param name the task name
+     * @return the escaped name, or the name itself if nothing had to be escaped
+     */
+    public static String escape(String name) {
+        int length = name.length();
+        int i = 0;
+        while (i < length && !isEscaped(name, i)) {
+            i++;
+        }
+        if (i == length) {
+            return name;
+        }
+        StringBuilder escaped = new StringBuilder(length + 8).append(name, 0, i);
+        for (; i < length; i++) {
+            char c = name.charAt(i);
+            if (!isEscaped(name, i)) {
+                escaped.append(c);
+            } else if (c == '\n') {
+                escaped.append(ESCAPE).append('n');
+            } else if (c == '\r') {
+                escaped.append(ESCAPE).append('r');
+            } else {
+                escaped.append(ESCAPE).append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Undoes {@link #escape(String)}.
+     *
+     * @param name the escaped name
+     * @return the task name
+     */
+    public static String unescape(String name) {
+        if (name.indexOf(ESCAPE) < 0) {
+            return name;
+        }
+        return unescape(name, 0, name.length());
+    }
+
+    /**
+     * Undoes {@link #escape(String)} for the name in {@code chars[start, end)}, e.g. a field of a storage line,
+     * without copying the characters before the first escape.
+     *
+     * @param chars the text holding the escaped name
+     * @param start the index of the first character of the name
+     * @param end the index after the last character of the name
+     * @return the task name
+     */
+    public static String unescape(CharSequence chars, int start, int end) {
+        int i = start;
+        while (i < end && chars.charAt(i) != ESCAPE) {
+            i++;
+        }
+        if (i == end) {
+            return chars.subSequence(start, end).toString();
+        }
+        StringBuilder name = new StringBuilder(end - start).append(chars, start, i);
+        while (i < end) {
+            char c = chars.charAt(i++);
+            if (c != ESCAPE || i == end) {
+                name.append(c);
+                continue;
+            }
+            char escaped = chars.charAt(i++);
+            if (escaped == 'n') {
+                name.append('\n');
+            } else if (escaped == 'r') {
+                name.append('\r');
+            } else if (escaped == ESCAPE || escaped == ':') {
+                name.append(escaped);
+            } else {
+                // not written by escape, e.g. a backslash typed into an older file
+                name.append(c).append(escaped);
+            }
+        }
+        return name.toString();
+    }
+
+    /**
+     * Checks if the character at {@code index} of a name has to be escaped.
+     */
+    private static boolean isEscaped(String name, int index) {
+        char c = name.charAt(index);
+        return c == ESCAPE || c == '\n' || c == '\r' || (c == ':' && index > 0 && name.charAt(index - 1) == ' ');
+    }
+}
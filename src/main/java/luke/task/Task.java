@@ -1,14 +1,34 @@
 package luke.task;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
 /**
  * The {@code Task} class represents an abstract task that has a name and a completion status.
  * Subclasses must implement the methods to get and set the task's name, completion status,
  * and provide a string representation of the task.
+ *
+ * The display line returned by {@link #toString()} and the storage line returned by {@link #toStorageString()}
+ * are rendered once and cached. Since the completion status is the only part of a task that can change,
+ * {@link #setIsDone(boolean)} drops the cached lines, and they are rendered again the next time they are needed.
+ * A cached line is only used if its status character matches the current status, so a line rendered on
+ * another thread while the task is marked is never returned for the wrong status.
+ * The words of the name used for searching are split once when the task is constructed, see {@link #getWords()}.
  */
 public abstract class Task implements Comparable<Task> {
 
+    // the index of the status character in both the display line and the storage line, e.g. "[T][X]" and "T : 1"
+    private static final int STATUS_INDEX = 4;
+
     protected String name;
     protected boolean isDone;
+    protected long sequence = -1;
+    protected long id = -1;
+
+    private final List<String> words;
+    private String displayLine;
+    private String storageLine;
 
     /**
      * Constructs a new {@code Task} with the specified name and completion status.
@@ -19,6 +39,7 @@ public abstract class Task implements Comparable<Task> {
     public Task(String name, boolean isDone) {
         this.name = name;
         this.isDone = isDone;
+        this.words = toWords(name);
     }
 
     /**
@@ -29,11 +50,15 @@ public abstract class Task implements Comparable<Task> {
     public abstract String getName();
 
     /**
-     * Sets the completion status of the task.
+     * Sets the completion status of the task and drops the cached display and storage lines.
      *
      * @param isDone {@code true} if the task is done, {@code false} otherwise
      */
-    public abstract void setIsDone(boolean isDone);
+    public final void setIsDone(boolean isDone) {
+        this.isDone = isDone;
+        this.displayLine = null;
+        this.storageLine = null;
+    }
 
     /**
      * Gets the completion status of the task.
@@ -42,11 +67,132 @@ public abstract class Task implements Comparable<Task> {
      */
     public abstract boolean getIsDone();
 
+    /**
+     * Returns the distinct words of the name in lower case, in the order they first occur, so that searches
+     * compare names without folding and splitting them again.
+     *
+     * @return the words of the name, which cannot be modified
+     */
+    public final List<String> getWords() {
+        return this.words;
+    }
+
+    /**
+     * Splits text into its distinct words, the runs of letters and digits in it, in lower case.
+     *
+     * @param text the text to be split, e.g. a name or a word searched for
+     * @return the words of the text, which cannot be modified
+     */
+    public static List<String> toWords(String text) {
+        String folded = text.toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>(4);
+        int length = folded.length();
+        int start = 0;
+        while (start < length) {
+            while (start < length && !Character.isLetterOrDigit(folded.charAt(start))) {
+                start++;
+            }
+            int end = start;
+            while (end < length && Character.isLetterOrDigit(folded.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                String word = folded.substring(start, end);
+                if (!words.contains(word)) {
+                    words.add(word);
+                }
+            }
+            start = end;
+        }
+        return List.copyOf(words);
+    }
+
+    /**
+     * Returns the sequence number of the task, which orders the tasks of its list.
+     * Sequence numbers are assigned by the list the task is added to.
+     *
+     * @return the sequence number, or -1 if the task was never added to a list
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Sets the sequence number of the task.
+     *
+     * @param sequence the sequence number
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * Returns the id of the task, which identifies it in its list for as long as the program runs.
+     * Unlike the position or the sequence number of the task, the id does not change when other tasks
+     * are deleted or the list is sorted. Ids are assigned by the list the task is added to and not saved.
+     *
+     * @return the id, or -1 if the task was never added to a list
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Sets the id of the task.
+     *
+     * @param id the id
+     */
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    /**
+     * Returns the line used to persist this task in the storage file,
+     * e.g. {@code "T : 1 : name"}.
+     *
+     * @return the storage representation of the task
+     */
+    public final String toStorageString() {
+        boolean isDone = this.isDone;
+        String line = this.storageLine;
+        if (line == null || (line.charAt(STATUS_INDEX) == '1') != isDone) {
+            line = renderStorageLine(isDone);
+            this.storageLine = line;
+        }
+        return line;
+    }
+
     /**
      * Returns a string representation of the task.
      *
      * @return a string representation of the task
      */
     @Override
-    public abstract String toString();
+    public final String toString() {
+        boolean isDone = this.isDone;
+        String line = this.displayLine;
+        if (line == null || (line.charAt(STATUS_INDEX) == 'X') != isDone) {
+            line = renderDisplayLine(isDone);
+            this.displayLine = line;
+        }
+        return line;
+    }
+
+    /**
+     * Renders the storage line of the task with the given completion status,
+     * with the status {@code 1} or {@code 0} at index {@value #STATUS_INDEX}, e.g. {@code "T : 1 : name"}.
+     *
+     * @param isDone the completion status to render
+     * @return the storage line
+     */
+    protected abstract String renderStorageLine(boolean isDone);
+
+    /**
+     * Renders the display line of the task with the given completion status,
+     * with the status {@code X} or a space at index {@value #STATUS_INDEX}, e.g. {@code "[T][X] name"}.
+     *
+     * @param isDone the completion status to render
+     * @return the display line
+     */
+    protected abstract String renderDisplayLine(boolean isDone);
 }
@@ -0,0 +1,103 @@
+package luke.task;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * The {@code TimeParser} class parses task times in the fixed format {@code DD/MM/YYYY HH:MM}.
+ *
+ * The digits are read straight from the text into {@link LocalDateTime#of(int, int, int, int, int)},
+ * so no substrings, intermediate ISO string or {@code DateTimeFormatter} are involved. Every field is
+ * checked against its range, and a malformed time is reported with a message naming the offending
+ * field instead of an index or parse exception.
+ */
+public final class TimeParser {
+
+    /** The format of a task time, as shown to the user. */
+    public static final String FORMAT = "DD/MM/YYYY HH:MM";
+
+    private static final int LENGTH = 16;
+
+    private TimeParser() {
+    }
+
+    /**
+     * Parses a time in the format {@code DD/MM/YYYY HH:MM}. Trailing whitespace is ignored.
+     *
+     * @param text the text to be parsed
+     * @return the parsed time
+     * @throws DateTimeException if the text is not a valid time in the expected format
+     */
+    public static LocalDateTime parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses the time in {@code text[start, end)}, e.g. a field of a storage line, without copying it.
+     * Trailing whitespace is ignored.
+     *
+     * @param text the text holding the time
+     * @param start the index of the first character of the time
+     * @param end the index after the last character of the time
+     * @return the parsed time
+     * @throws DateTimeException if the text is not a valid time in the expected format
+     */
+    public static LocalDateTime parse(CharSequence text, int start, int end) {
+        int timeEnd = end;
+        while (timeEnd > start && Character.isWhitespace(text.charAt(timeEnd - 1))) {
+            timeEnd--;
+        }
+        if (timeEnd - start != LENGTH) {
+            throw new DateTimeException("Time must be in the format " + FORMAT + ": " + text.subSequence(start, end));
+        }
+        expectSeparator(text, start, end, 2, '/');
+        expectSeparator(text, start, end, 5, '/');
+        expectSeparator(text, start, end, 10, ' ');
+        expectSeparator(text, start, end, 13, ':');
+        int day = readDigits(text, start, end, 0, 2);
+        int month = readDigits(text, start, end, 3, 2);
+        int year = readDigits(text, start, end, 6, 4);
+        int hour = readDigits(text, start, end, 11, 2);
+        int minute = readDigits(text, start, end, 14, 2);
+        if (month < 1 || month > 12) {
+            throw new DateTimeException("Month must be between 01 and 12, but was " + month + ": "
+                    + text.subSequence(start, end));
+        }
+        int daysInMonth = Month.of(month).length(Year.isLeap(year));
+        if (day < 1 || day > daysInMonth) {
+            throw new DateTimeException("Day must be between 01 and " + daysInMonth + " for month " + month
+                    + " of " + year + ", but was " + day + ": " + text.subSequence(start, end));
+        }
+        if (hour > 23) {
+            throw new DateTimeException("Hour must be between 00 and 23, but was " + hour + ": "
+                    + text.subSequence(start, end));
+        }
+        if (minute > 59) {
+            throw new DateTimeException("Minute must be between 00 and 59, but was " + minute + ": "
+                    + text.subSequence(start, end));
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    private static void expectSeparator(CharSequence text, int start, int end, int index, char separator) {
+        if (text.charAt(start + index) != separator) {
+            throw new DateTimeException("Expected '" + separator + "' at position " + (index + 1)
+                    + " of the time, in the format " + FORMAT + ": " + text.subSequence(start, end));
+        }
+    }
+
+    private static int readDigits(CharSequence text, int start, int end, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            int digit = text.charAt(start + i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeException("Expected a digit at position " + (i + 1)
+                        + " of the time, in the format " + FORMAT + ": " + text.subSequence(start, end));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
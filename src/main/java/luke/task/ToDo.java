@@ -29,32 +29,35 @@ public class ToDo extends Task {
     }
 
     /**
-     * Sets the completion status of the task.
+     * Gets the completion status of the task.
      *
-     * @param isDone {@code true} if the task is done, {@code false} otherwise
+     * @return {@code true} if the task is done, {@code false} otherwise
      */
-    public void setIsDone(boolean isDone) {
-        this.isDone = isDone;
+    public boolean getIsDone() {
+        return isDone;
     }
 
     /**
-     * Gets the completion status of the task.
+     * Renders the storage line of the todo task in the format {@code "T : isDone : name"}.
      *
-     * @return {@code true} if the task is done, {@code false} otherwise
+     * @param isDone the completion status to render
+     * @return the storage representation of the todo task
      */
-    public boolean getIsDone() {
-        return isDone;
+    @Override
+    protected String renderStorageLine(boolean isDone) {
+        return "T : " + (isDone ? "1" : "0") + " : " + NameEscaper.escape(this.name);
     }
 
     /**
-     * Returns a string representation of the todo task, including its completion
+     * Renders a string representation of the todo task, including its completion
      * status and name.
      *
+     * @param isDone the completion status to render
      * @return a string representation of the todo task
      */
     @Override
-    public String toString() {
-        return String.format("[T][%s] %s", this.isDone ? "X" : " ", this.name);
+    protected String renderDisplayLine(boolean isDone) {
+        return "[T][" + (isDone ? "X" : " ") + "] " + this.name;
     }
 
     /**
@@ -0,0 +1,56 @@
+package luke.ui;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import luke.component.BatchReport;
+
+/**
+ * The {@code BatchRunner} class runs Luke on a script of commands without the GUI, e.g.
+ * {@code java -cp luke.jar luke.ui.BatchRunner commands.txt --quiet}.
+ *
+ * The script is read from the file named by the first argument, or from standard input if there is none
+ * or it is {@code -}. The responses are written to standard output unless {@code --quiet} is given, and the
+ * number of commands run per second is reported on standard error. See {@link Luke#runBatch}.
+ */
+public class BatchRunner {
+
+    private static final String QUIET_OPTION = "--quiet";
+    private static final String STDIN_NAME = "-";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Runs the script named by the arguments as a batch.
+     *
+     * @param args an optional script file and an optional {@code --quiet}
+     * @throws IOException if the script cannot be read or the responses cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String fileName = STDIN_NAME;
+        boolean isQuiet = false;
+        for (String arg : args) {
+            if (arg.equals(QUIET_OPTION)) {
+                isQuiet = true;
+            } else {
+                fileName = arg;
+            }
+        }
+        BufferedReader in = fileName.equals(STDIN_NAME)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+                : Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8);
+        Writer out = isQuiet ? null : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                BUFFER_SIZE);
+        BatchReport report;
+        try (in) {
+            report = new Luke().runBatch(in, out);
+        }
+        System.err.println("Ran " + report);
+    }
+}
@@ -0,0 +1,65 @@
+package luke.ui;
+
+import java.io.IOException;
+
+import luke.component.Ui;
+
+/**
+ * The {@code Cli} class runs Luke in a terminal through {@link Ui}, without loading any JavaFX classes.
+ *
+ * With no arguments it reads commands until {@code bye} or the end of the input, printing each response
+ * followed by a line. Otherwise the arguments are run as a single command, e.g. {@code luke find report},
+ * and only its response is printed; the list is loaded without being shown, and a change is only appended
+ * to the journal rather than saved as a new snapshot. The progress of long commands such as {@code import}
+ * is printed as it is made, before their response.
+ */
+public class Cli {
+
+    /**
+     * Runs the arguments as a single command, or reads commands from the terminal if there are none.
+     *
+     * @param args the words of a single command, or none
+     * @throws IOException if an I/O error occurs while reading commands
+     */
+    public static void main(String[] args) throws IOException {
+        run(new Luke(), args);
+    }
+
+    /**
+     * Runs the arguments as a single command on the given chatbot, or reads commands from its {@link Ui}
+     * if there are none.
+     *
+     * @param luke the chatbot, e.g. one keeping its list in a temporary directory
+     * @param args the words of a single command, or none
+     * @throws IOException if an I/O error occurs while reading commands
+     */
+    static void run(Luke luke, String[] args) throws IOException {
+        Ui ui = luke.getUi();
+        luke.setProgressListener(ui::print);
+        if (args.length > 0) {
+            runOnce(luke, ui, String.join(" ", args));
+        } else {
+            runLoop(luke, ui);
+        }
+    }
+
+    private static void runOnce(Luke luke, Ui ui, String input) {
+        String problems = luke.load();
+        if (!problems.isEmpty()) {
+            ui.print(problems);
+        }
+        ui.print(luke.getResponse(input));
+        luke.stop();
+    }
+
+    private static void runLoop(Luke luke, Ui ui) throws IOException {
+        ui.print(luke.getStartUp());
+        luke.startWatching(ui::print);
+        String input;
+        while ((input = ui.readCommand()) != null && !luke.isExitCommand(input)) {
+            ui.print(luke.getResponse(input));
+            ui.print(ui.showLine());
+        }
+        ui.print(luke.getShutDown());
+    }
+}
@@ -1,12 +1,30 @@
 package luke.ui;
 
+import java.io.IOException;
+
 import javafx.application.Application;
 
 /**
  * A launcher class to workaround classpath issues.
+ * With arguments, e.g. {@code java -jar luke.jar list}, Luke runs in the terminal instead, see {@link Cli};
+ * {@code --cli} on its own starts the terminal version without a command.
  */
 public class Launcher {
-    public static void main(String[] args) {
-        Application.launch(Main.class, args);
+    private static final String CLI_OPTION = "--cli";
+
+    /**
+     * Starts the GUI, or the terminal version if there are arguments.
+     *
+     * @param args the words of a single command for the terminal version, {@code --cli}, or none for the GUI
+     * @throws IOException if the terminal version fails to read its input
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 1 && args[0].equals(CLI_OPTION)) {
+            Cli.main(new String[0]);
+        } else if (args.length > 0) {
+            Cli.main(args);
+        } else {
+            Application.launch(Main.class, args);
+        }
     }
 }
@@ -1,445 +1,529 @@
 package luke.ui;
 
-import java.io.FileNotFoundException;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.time.format.DateTimeFormatter;
+import java.io.Writer;
 import java.util.ArrayList;
-
+import java.util.List;
+import java.util.function.Consumer;
+
+import luke.command.Command;
+import luke.command.CommandRegistry;
+import luke.component.AutoSaver;
+import luke.component.BatchReport;
+import luke.component.CommandLine;
+import luke.component.ExternalChange;
+import luke.component.FileWatcher;
+import luke.component.JournalRecord;
+import luke.component.SaveReport;
 import luke.component.Storage;
 import luke.component.TaskList;
 import luke.component.Ui;
 import luke.exception.InvalidInputException;
-import luke.task.Deadline;
-import luke.task.Event;
+import luke.exception.StaleFileException;
 import luke.task.Task;
-import luke.task.ToDo;
 
 /**
  * The {@code Luke} class is the main entry point for the task management application.
- * It handles the interactions with the user, parses commands, and updates the task list.
- * It is responsible for managing tasks, saving/loading task data to/from a file,
- * and providing feedback to the user via the {@link Ui} class.
+ * It handles the interactions with the user and dispatches each command to its {@link Command} class,
+ * which updates the task list and journals the change through this class. It is responsible for
+ * loading the task list from the storage file, saving it, and collecting the response to each command.
  */
 public class Luke {
 
+    private static final long AUTOSAVE_QUIET_MILLIS = Long.getLong("luke.autosave.quiet", 2000);
+    private static final int ARCHIVE_THRESHOLD = Integer.getInteger("luke.archive.threshold", 0);
+    private static final int BATCH_FLUSH_SIZE = 1 << 16;
+
     private TaskList taskList;
     private Ui ui;
     private Storage storage;
+    private AutoSaver autoSaver;
+    private FileWatcher fileWatcher;
+    private Consumer<String> listener = System.out::println;
+    // shows the progress of long commands while they run, or null if only their final response is shown
+    private Consumer<String> progressListener;
+
+    // done tasks are archived automatically once there are more than this many, 0 to disable
+    private int archiveThreshold = ARCHIVE_THRESHOLD;
 
     private StringBuilder output;
+    private boolean hasExited = false;
+    private final CommandLine commandLine = new CommandLine();
+    private final CommandRegistry commands = CommandRegistry.createDefault();
 
     /**
      * Constructs a new {@code Luke} object which initializes the task list, user interface,
      * and storage system. If the storage system cannot be found, the program will terminate.
      */
     public Luke() {
+        this(openStorage());
+    }
+
+    /**
+     * Constructs a new {@code Luke} object that keeps its task list in the given storage,
+     * e.g. a storage file in a temporary directory.
+     *
+     * @param storage the storage the task list is loaded from and saved to
+     */
+    public Luke(Storage storage) {
         this.taskList = new TaskList();
         this.ui = new Ui();
+        this.storage = storage;
+        this.autoSaver = new AutoSaver(this.storage, this.taskList, this, AUTOSAVE_QUIET_MILLIS);
+        this.autoSaver.setConflictHandler(this::resolveConflict);
+        this.output = new StringBuilder();
+    }
+
+    private static Storage openStorage() {
         try {
-            this.storage = new Storage();
+            return new Storage();
         } catch (Exception e) {
             System.out.println("No file for storage found, exiting program");
             System.exit(0);
+            return null;
         }
-        this.output = new StringBuilder();
     }
 
     /**
      * Processes the user input and returns an appropriate response.
      *
-     * This method determines the command from the input string and performs the corresponding action,
-     * such as adding tasks, marking tasks, deleting tasks, or displaying help information.
-     * It also handles system exit commands and other actions.
+     * This method looks up the command named by the first word of the input in the {@link CommandRegistry}
+     * and executes it, e.g. adding tasks, marking tasks, deleting tasks, or displaying help information.
      *
      * @param input the user's input command as a string.
      * @return a string response based on the command and its execution result.
      */
-    public String getResponse(String input) {
-        this.output = new StringBuilder();
+    public synchronized String getResponse(String input) {
+        this.output.setLength(0);
         if (input == null || input.trim().isEmpty()) {
             return "No input detected";
         }
         // determine command
-        String[] inputArr = input.split(" ");
-        String command = inputArr[0].toLowerCase();
-        if (command.equals("help")) {
-            this.output.append("list of commands:\n");
-            this.output.append("todo     : add todo task\n");
-            this.output.append("deadline : add deadline task\n");
-            this.output.append("event    : add event task\n");
-            this.output.append("list     : show list of all tasks\n");
-            this.output.append("mark n   : mark task n as done\n");
-            this.output.append("unmark n : unmark task n as not done\n");
-            this.output.append("delete n : delete task n from list\n");
-            this.output.append("find     : search list by keyword\n");
-            this.output.append("sort     : show list in sorted order\n");
-            this.output.append("sort a   : show sorted list and apply sort\n");
-            this.output.append("bye      : save list and exit program\n");
-        } else if (command.equals("bye")) {
-            try {
-                writeListToFile();
-            } catch (Exception e) {
-                this.output.append("There was a problem writing to the file\n");
-            }
-            System.exit(0);
-        } else if (command.equals("mark")) {
-            markTask(Integer.parseInt(inputArr[1]) - 1, true);
-        } else if (command.equals("unmark")) {
-            markTask(Integer.parseInt(inputArr[1]) - 1, false);
-        } else if (command.equals("list")) {
-            printList(this.taskList.getList());
-        } else if (command.equals("delete")) {
-            deleteTask(Integer.parseInt(inputArr[1]) - 1);
-        } else if (command.equals("find")) {
-            findTask(inputArr[1]);
-        } else if (command.equals("sort")) {
-            boolean isApply = true;
-            try {
-                isApply = !inputArr[1].isEmpty();
-            } catch (ArrayIndexOutOfBoundsException e) {
-                isApply = false;
-            }
-            showSortedList(isApply);
-        } else { // add tasks
-            handleAddTask(input);
-        }
+        CommandLine line = this.commandLine.lex(input);
+        runCommand(this.commands.find(line.getVerb()), line);
         return this.output.toString();
     }
 
     /**
-     * Prepares and returns the startup message.
-     *
-     * This method initializes the response with a welcome message and ensures the
-     * task list file is checked and loaded if available.
+     * Runs a script of commands, one per line, as a batch. The list is loaded once, the commands are run
+     * without journaling or saving them, and the list is saved once at the end of the script or at the
+     * first {@code bye}. Blank lines are skipped. The responses are collected in a single buffer and
+     * written to {@code out} in large blocks, each followed by an empty line.
      *
-     * @return the startup message as a string.
+     * @param in the script
+     * @param out the writer the responses are written to, or {@code null} to discard them
+     * @return a report of the number of commands run and the time they took, not counting the save
+     * @throws IOException if the script cannot be read or the responses cannot be written
      */
-    public String getStartUp() {
-        this.output = new StringBuilder();
-        this.output.append(this.ui.showWelcome());
-        checkListFile();
-        return this.output.toString();
+    public synchronized BatchReport runBatch(BufferedReader in, Writer out) throws IOException {
+        this.output.append(load());
+        Command bye = this.commands.find("bye");
+        long commandCount = 0;
+        long startTime = System.nanoTime();
+        this.autoSaver.setBatchMode(true);
+        try {
+            String input;
+            while ((input = in.readLine()) != null) {
+                CommandLine line = this.commandLine.lex(input);
+                if (line.getVerb().isEmpty()) {
+                    continue;
+                }
+                Command command = this.commands.find(line.getVerb());
+                if (command == bye) {
+                    break;
+                }
+                runCommand(command, line);
+                commandCount++;
+                if (out == null) {
+                    this.output.setLength(0);
+                } else {
+                    this.output.append('\n');
+                    if (this.output.length() >= BATCH_FLUSH_SIZE) {
+                        out.append(this.output);
+                        this.output.setLength(0);
+                    }
+                }
+            }
+        } finally {
+            this.autoSaver.setBatchMode(false);
+        }
+        BatchReport report = new BatchReport(commandCount, System.nanoTime() - startTime);
+        writeListToFile();
+        if (out != null) {
+            out.append(this.output);
+            out.flush();
+        }
+        this.output.setLength(0);
+        return report;
     }
 
     /**
-     * Prepares and returns the shutdown message.
-     *
-     * This method writes the current task list to a file and appends the goodbye message
-     * to the response.
+     * Checks if the input is a command that quits, i.e. {@code bye} or one of its aliases.
      *
-     * @return the shutdown message as a string.
+     * @param input the user's input command as a string
+     * @return true if the input quits the program, false otherwise
      */
-    public String getShutDown() {
-        this.output = new StringBuilder();
-        writeListToFile();
-        this.output.append(this.ui.exit()).append("\n");
-        return this.output.toString();
+    public synchronized boolean isExitCommand(String input) {
+        Command bye = this.commands.find("bye");
+        return input != null && bye != null && this.commands.find(this.commandLine.lex(input).getVerb()) == bye;
     }
 
-    // Parsers for task creation
+    private void runCommand(Command command, CommandLine line) {
+        if (command == null) {
+            this.output.append("I don't understand");
+            return;
+        }
+        try {
+            command.execute(this, line);
+        } catch (NumberFormatException e) {
+            this.output.append("Please give the number of a task, e.g. " + line.getVerb() + " 2\n");
+        }
+    }
 
     /**
-     * Parses the input for creating a ToDo task.
+     * Sets where the progress of long commands such as {@code import} is shown while they run, e.g. printed
+     * straight to the terminal. Without a listener, progress is not shown and only the final response is.
      *
-     * @param input the user input
-     * @return a new {@code ToDo} task
-     * @throws InvalidInputException if the input is invalid
+     * @param progressListener called on the thread running the command with each progress message
      */
-    public Task parseToDo(String input) throws InvalidInputException {
-        // invalid input: [todo] or [todo ]
-        if (input.length() < 5 || input.substring(5).trim().isEmpty()) {
-            //this.output.append("Todo format: [todo] [name]\n");
-            throw new InvalidInputException("Todo format: [todo] [name]");
-        }
-        String name = input.substring(5);
-
-        assert !name.trim().isEmpty() : "name should not be empty";
-
-        return new ToDo(name, false);
+    public void setProgressListener(Consumer<String> progressListener) {
+        this.progressListener = progressListener;
     }
 
     /**
-     * Parses the input for creating a Deadline task.
+     * Shows the progress of the current command right away, rather than in its response, which is only
+     * returned once the command is done. See {@link #setProgressListener(Consumer)}.
      *
-     * @param input the user input
-     * @return a new {@code Deadline} task
-     * @throws InvalidInputException if the input is invalid
+     * @param message the progress message, without a trailing newline
      */
-    public Task parseDeadline(String input) throws InvalidInputException {
-        // invalid input: [deadline] or [deadline ]
-        if (input.length() < 9 || input.substring(9).trim().isEmpty()) {
-            this.output.append("Deadline format: deadline [name] /by [DD/MM/YYYY HH:MM]\n");
-            throw new InvalidInputException("Deadline format: deadline [name] /by [DD/MM/YYYY HH:MM]\n");
-        }
-        String[] inputArr = input.substring(9).split(" /by ");
-        // invalid input: [deadline *** /by ] or [deadline /by ***]
-        if (inputArr.length < 2) {
-            //this.output.append("Deadline format: deadline [name] /by [DD/MM/YYYY HH:MM]\n");
-            throw new InvalidInputException("Deadline format: deadline [name] /by [DD/MM/YYYY HH:MM]\n");
+    public void showProgress(String message) {
+        Consumer<String> current = this.progressListener;
+        if (current != null) {
+            current.accept(message);
         }
-        String name = inputArr[0];
-        String due = inputArr[1];
-
-        assert !name.trim().isEmpty() : "name should not be empty";
-        assert !due.trim().isEmpty() : "deadline should not be empty";
+    }
 
-        // invalid input: white spaces for name and deadline
-        return new Deadline(name, false, due);
+    /**
+     * Appends a message to the response to the current command.
+     *
+     * @param message the message, ending with a newline
+     */
+    public void showMessage(CharSequence message) {
+        this.output.append(message);
     }
 
     /**
-     * Parses the input for creating an Event task.
+     * Appends the given tasks, numbered from 1, to the response to the current command.
      *
-     * @param input the user input
-     * @return a new {@code Event} task
-     * @throws InvalidInputException if the input is invalid
+     * @param tasks the tasks to be shown
      */
-    public Task parseEvent(String input) throws InvalidInputException {
-        // invalid input: [event] or [event ]
-        if (input.length() < 6 || input.substring(6).trim().isEmpty()) {
-            //this.output.append("Event format: event [name] /from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n");
-            throw new InvalidInputException("Event format: event [name] "
-                    + "/from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n");
+    public void printList(List<Task> tasks) {
+        this.output.append(" Here are the tasks in your list:\n");
+        int i = 0;
+        for (Task task : tasks) {
+            this.output.append(' ').append(++i).append('.').append(task).append('\n');
         }
+    }
 
-        // split [name] /from [rest...]
-        String[] inputArr = input.substring(6).split(" /from ");
-        // invalid input: [event *** /from ] or [event /from ***]
-        if (inputArr.length < 2) {
-            //this.output.append("Event format: event [name] /from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n");
-            throw new InvalidInputException("Event format: event [name] "
-                    + "/from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n");
-        }
-        input = inputArr[1];
-        String name = inputArr[0]; // extract name
+    /**
+     * Returns the user interface used to show the welcome and goodbye messages.
+     *
+     * @return the user interface
+     */
+    public Ui getUi() {
+        return this.ui;
+    }
 
-        // split [start] /by [end]
-        inputArr = input.split(" /to ");
-        // invalid input: [event *** /from *** /to ] or [event *** /from /to ***]
-        if (inputArr.length < 2) {
-            //this.output.append("Event format: event [name] /from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n");
-            throw new InvalidInputException("Event format: event [name] "
-                    + "/from [DD/MM/YYYY HH:MM] /to [DD/MM/YYYY HH:MM]\n");
-        }
-        String start = inputArr[0];
-        String end = inputArr[1];
+    /**
+     * Returns the task list the commands work on.
+     *
+     * @return the task list
+     */
+    public TaskList getTaskList() {
+        return this.taskList;
+    }
 
-        assert !name.trim().isEmpty() : "name should not be empty";
-        assert !start.trim().isEmpty() : "start time should not be empty";
-        assert !end.trim().isEmpty() : "end time should not be empty";
+    /**
+     * Returns the storage the task list is loaded from and saved to.
+     *
+     * @return the storage
+     */
+    public Storage getStorage() {
+        return this.storage;
+    }
 
-        return new Event(name, false, start, end);
+    /**
+     * Returns the registry the commands are looked up in, so that further commands can be registered.
+     *
+     * @return the command registry
+     */
+    public CommandRegistry getCommands() {
+        return this.commands;
     }
 
-    // Task management and UI updates
     /**
-     * Handles the addition of a new task based on the user input.
+     * Queues a mutation record for the journal so the change survives a crash without rewriting
+     * the whole file. The record is written, and the list later saved, by the background {@link AutoSaver}.
      *
-     * This method determines the type of task (ToDo, Deadline, or Event) from the input string
-     * and adds it to the task list after parsing. If the input does not match any recognized
-     * task type or is invalid, an appropriate error message is appended to the output.
+     * @param record the journal record describing the mutation, see {@link JournalRecord}
+     */
+    public void journal(String record) {
+        this.autoSaver.journal(record);
+    }
+
+    /**
+     * Appends tasks removed from the list to the archive file, in order with the journal records.
      *
-     * @param input the string input from the user specifying the task type and details.
-     * @throws InvalidInputException if the input is invalid and cannot be parsed into a task.
+     * @param tasks the tasks to be archived
      */
-    public void handleAddTask(String input) {
-        String taskType = input.split(" ")[0].toLowerCase();
-        try {
-            if (taskType.equals("todo")) {
-                Task task = parseToDo(input);
-                this.taskList.addTask(task);
-                showTaskUpdates(task);
-            } else if (taskType.equals("deadline")) {
-                Task task = parseDeadline(input);
-                this.taskList.addTask(task);
-                showTaskUpdates(task);
-            } else if (taskType.equals("event")) {
-                Task task = parseEvent(input);
-                this.taskList.addTask(task);
-                showTaskUpdates(task);
-            } else {
-                this.output.append("I don't understand");
-            }
-        } catch (InvalidInputException e) {
-            this.output.append(e.getMessage());
-        }
+    public void archive(List<Task> tasks) {
+        this.autoSaver.archive(tasks);
     }
 
     /**
-     * Updates the UI and displays a message after a task is added.
+     * Returns the archived tasks, including those archived just before, see {@link AutoSaver#loadArchive()}.
      *
-     * @param task the task that was added
+     * @return the archived tasks in the order they were archived
+     * @throws IOException if an I/O error occurs while reading the archive
      */
-    public void showTaskUpdates(Task task) {
-        this.output.append("Got it. I've added this task:\n");
-        this.output.append("  " + task + "\n");
-        this.output.append("Now you have " + taskList.getSize() + " tasks in the list.\n");
+    public List<Task> loadArchive() throws IOException {
+        return this.autoSaver.loadArchive();
     }
 
     /**
-     * Checks if the given index is within the bounds of the task list.
+     * Returns the number of done tasks above which they are archived automatically.
      *
-     * If the index is out of bounds (greater than or equal to the size of the task list),
-     * an error message is appended to the output, and the method returns false.
-     * Otherwise, the method returns true.
+     * @return the threshold, or 0 if done tasks are not archived automatically
+     */
+    public int getArchiveThreshold() {
+        return this.archiveThreshold;
+    }
+
+    /**
+     * Sets the number of done tasks above which they are archived automatically, e.g. from {@code archive auto n}.
      *
-     * @param i the index to check.
-     * @return {@code true} if the index is valid (i.e., less than the size of the task list),
-     *         {@code false} otherwise.
+     * @param archiveThreshold the threshold, or 0 to stop archiving done tasks automatically
      */
-    public boolean checkIndex(int i) {
-        if (i >= taskList.getSize()) {
-            this.output.append("There are only " + taskList.getSize() + " tasks in the list");
-            return false;
-        } else {
-            return true;
-        }
+    public void setArchiveThreshold(int archiveThreshold) {
+        this.archiveThreshold = archiveThreshold;
     }
 
     /**
-     * Prints the list of tasks to the UI.
+     * Prepares and returns the startup message.
+     *
+     * This method initializes the response with a welcome message and ensures the
+     * task list file is checked and loaded if available.
+     *
+     * @return the startup message as a string.
      */
-    public void printList(ArrayList<Task> tasks) {
-        this.output.append(" Here are the tasks in your list:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            this.output.append(String.format(" %d.%s", i + 1, tasks.get(i)) + "\n");
-        }
+    public synchronized String getStartUp() {
+        this.output = new StringBuilder();
+        this.output.append(this.ui.showWelcome());
+        checkListFile();
+        return this.output.toString();
     }
 
     /**
-     * Marks a task as done or undone.
+     * Loads the saved list without showing it, e.g. before running a single command from the terminal.
      *
-     * @param i the index of the task
-     * @param isDone whether the task should be marked as done
+     * @return the problems found while reading the list file and journal, or an empty string
+     */
+    public synchronized String load() {
+        this.output = new StringBuilder();
+        readListFile();
+        return this.output.toString();
+    }
+
+    /**
+     * Stops the background writer once the journal records queued so far are written, without saving
+     * a snapshot unless the journal has grown large enough to be compacted. The changes are replayed
+     * from the journal the next time the list is loaded, so a single command from the terminal only
+     * costs a journal append.
      */
-    public void markTask(int i, boolean isDone) {
-        if (!checkIndex(i)) {
+    public synchronized void stop() {
+        if (this.hasExited) {
             return;
         }
-        Task task = this.taskList.getTask(i);
-        task.setIsDone(isDone);
-        if (isDone) {
-            this.output.append("Nice! I've marked this task as done:\n");
-            this.output.append("   " + task + "\n");
-        } else {
-            this.output.append("OK, I've marked this task as not done yet:\n");
-            this.output.append("   " + task + "\n");
+        this.output = new StringBuilder();
+        if (this.storage.needsCompaction()) {
+            saveList();
+        }
+        this.autoSaver.shutdown();
+        try {
+            this.storage.sync();
+            this.storage.close();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
         }
     }
 
     /**
-     * Deletes a task from the list.
+     * Prepares and returns the shutdown message.
      *
-     * @param i the index of the task to delete
+     * This method writes the current task list to a file and appends the goodbye message
+     * to the response.
+     *
+     * @return the shutdown message as a string.
      */
-    public void deleteTask(int i) {
-        if (!checkIndex(i)) {
-            return;
-        }
-        Task task = this.taskList.deleteTask(i);
-        this.output.append("Noted. I've removed this task: \n");
-        this.output.append("  " + task + "\n");
-        this.output.append("Now you have " + this.taskList.getSize() + " tasks in the list.\n");
+    public synchronized String getShutDown() {
+        this.output = new StringBuilder();
+        exit();
+        return this.output.toString();
     }
 
     /**
-     * Finds tasks in the task list that contain the specified keyword (case-insensitive)
-     * as a whole word and prints the matching tasks.
-     *
-     * @param keyword the keyword to search for within the task names.
-     *                The search is case-insensitive and matches whole words.
-     */
-    public void findTask(String keyword) {
-        // build list
-        ArrayList<Task> resultList = new ArrayList<>();
-        String key = keyword.toUpperCase();
-        for (Task task : this.taskList.getList()) { // for each task
-            String upperCaseTaskName = task.getName().toUpperCase();
-            String upperCaseKey = keyword.toUpperCase();
-            if (upperCaseTaskName.contains(upperCaseKey)) {
-                resultList.add(task);
-            }
+     * Saves the task list, stops watching the storage file and the background writer, and appends the
+     * goodbye message to the response, e.g. for the {@code bye} command. The user interface should exit
+     * once it has shown the response, see {@link #hasExited()}. Nothing is done if Luke has already exited.
+     */
+    public synchronized void exit() {
+        if (this.hasExited) {
+            return;
         }
-        // print list
-        if (resultList.isEmpty()) {
-            this.output.append("There were no matches found.\n");
-        } else {
-            printList(resultList);
+        if (this.fileWatcher != null) {
+            this.fileWatcher.close();
+        }
+        writeListToFile();
+        this.autoSaver.shutdown();
+        try {
+            this.storage.close();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
         }
+        this.hasExited = true;
+        this.output.append(this.ui.exit()).append("\n");
     }
 
-    // Sorting
-    private void merge(ArrayList<Task> array, int low, int mid, int high) {
-        // subarray1 = array[low..mid], subarray2 = array[mid+1..high], both sorted
-        int left = low;
-        int right = mid + 1;
-        ArrayList<Task> backupList = new ArrayList<>();
-
-        // Merging both subarrays
-        while (left <= mid && right <= high) {
-            Task earlierTask = array.get(left).compareTo(array.get(right)) < 0
-                    ? array.get(left++)
-                    : array.get(right++);
-            backupList.add(earlierTask);
-        }
+    /**
+     * Checks if Luke has exited, e.g. after the {@code bye} command, so that the user interface can close.
+     *
+     * @return true if the task list was saved for the last time, false otherwise
+     */
+    public synchronized boolean hasExited() {
+        return this.hasExited;
+    }
 
-        // Copy any remaining elements from the left subarray
-        while (left <= mid) {
-            backupList.add(array.get(left++));
+    /**
+     * Starts watching the storage file for changes made by other programs, e.g. a sync tool or an editor.
+     * Changed tasks are merged into the list without reloading it, and the merged list is saved right away
+     * so that the next save does not overwrite the change.
+     *
+     * @param listener called on a background thread with a message describing each merged change
+     */
+    public void startWatching(Consumer<String> listener) {
+        this.listener = listener;
+        this.fileWatcher = new FileWatcher(this.storage.getFilePath(), this::reloadListFile);
+        try {
+            this.fileWatcher.start();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
         }
+    }
 
-        // Copy any remaining elements from the right subarray
-        while (right <= high) {
-            backupList.add(array.get(right++));
+    private void reloadListFile() {
+        String message;
+        synchronized (this) {
+            ExternalChange change;
+            try {
+                change = this.storage.pollExternalChange();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
+            if (change == null) {
+                return;
+            }
+            message = mergeExternalChange(change);
         }
-
-        // Copy the sorted elements back into the original array
-        for (int i = 0; i < backupList.size(); i++) {
-            array.set(low + i, backupList.get(i));
+        try {
+            this.autoSaver.saveNow();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
         }
+        this.listener.accept(message);
     }
 
-    private void mergeSort(ArrayList<Task> array, int low, int high) {
-        // the array to be sorted is array[low..high]
-        if (low < high) { // base case: low >= high (0 or 1 item)
-            int mid = (low + high) / 2;
-            mergeSort(array, low, mid); // divide into two halves
-            mergeSort(array, mid + 1, high); // then recursively sort them
-            merge(array, low, mid, high); // conquer: the merge routine
+    /**
+     * Merges the list saved by another Luke instance after a background save was refused, and saves again.
+     */
+    private void resolveConflict() {
+        String message;
+        synchronized (this) {
+            try {
+                message = mergeConflictingChange();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
+        }
+        try {
+            this.autoSaver.saveNow();
+        } catch (StaleFileException e) {
+            this.autoSaver.markDirty();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+        if (message != null) {
+            this.listener.accept(message);
         }
     }
 
     /**
-     * Displays the sorted list of tasks.
-     *
-     * If the `apply` parameter is set to {@code true}, the current task list is sorted directly,
-     * and the sorted list is displayed. If `apply` is set to {@code false}, a cloned copy of
-     * the task list is sorted and displayed, leaving the original list unchanged.
+     * Merges the list saved by another Luke instance since this instance last read or wrote the list file.
+     * Must be called while holding the lock of this instance.
      *
-     * The sorting is performed using the `mergeSort` method.
+     * @return a message describing the merge, or {@code null} if there was nothing to merge
+     */
+    private String mergeConflictingChange() throws IOException {
+        ExternalChange change = this.storage.readConflictingChange();
+        return change == null ? null : mergeExternalChange(change);
+    }
+
+    /**
+     * Merges a change made to the storage file by another program into the task list.
+     * If the list has not changed since the file was last read or written, the changed tasks are
+     * replaced by position; otherwise the tasks matching the replaced lines are removed wherever
+     * they are now, and the new tasks are inserted where the first of them was. This also merges
+     * a list saved by another Luke instance.
      *
-     * @param apply a boolean flag indicating whether the sort should be applied directly to
-     *              the current task list. If {@code true}, the original list is sorted;
-     *              if {@code false}, a clone of the list is sorted.
-     */
-    public void showSortedList(boolean apply) {
-        // clone list
-        if (apply) {
-            ArrayList<Task> currList = this.taskList.getList();
-            mergeSort(currList, 0, this.taskList.getSize() - 1);
-            printList(currList);
+     * @param change the change found in the storage file
+     * @return a message describing the merge
+     */
+    private String mergeExternalChange(ExternalChange change) {
+        List<Task> addedTasks = change.getAddedTasks();
+        if (this.taskList.getGeneration() == change.getBaselineGeneration()) {
+            this.taskList.replaceTasks(change.getStart(), change.getStart() + change.getRemovedCount(), addedTasks);
         } else {
-            ArrayList<Task> cloneList = new ArrayList<>();
-            cloneList.addAll(this.taskList.getList());
-            mergeSort(cloneList, 0, cloneList.size() - 1);
-            printList(cloneList);
+            int insertAt = Math.min(change.getStart(), this.taskList.getSize());
+            List<Integer> removedIndices = new ArrayList<>();
+            for (int i = 0; i < this.taskList.getSize(); i++) {
+                if (change.isRemoved(this.taskList.getTask(i))) {
+                    removedIndices.add(i);
+                }
+            }
+            for (int i = removedIndices.size() - 1; i >= 0; i--) {
+                this.taskList.deleteTask(removedIndices.get(i));
+            }
+            if (!removedIndices.isEmpty()) {
+                insertAt = removedIndices.get(0);
+            }
+            this.taskList.replaceTasks(insertAt, insertAt, change.getInsertedTasks());
         }
+        StringBuilder message = new StringBuilder("The list file was changed by another program.\n");
+        for (String badLine : change.getBadLines()) {
+            message.append(" There was something wrong with this task.\n");
+            message.append(" " + badLine + "\n");
+        }
+        message.append("Replaced " + change.getRemovedCount() + " tasks with " + addedTasks.size() + " tasks.\n");
+        message.append("Now you have " + this.taskList.getSize() + " tasks in the list.\n");
+        return message.toString();
     }
 
     /**
      * Checks if a saved task list file exists and loads it, or creates a new list if no file is found.
      */
-    public void checkListFile() {
+    private void checkListFile() {
         boolean isFound = readListFile();
         if (isFound) {
             printList(this.taskList.getList());
@@ -447,150 +531,160 @@ public class Luke {
     }
 
     /**
-     * Reads the task list from the storage file and adds tasks to the task list.
+     * Reads the task list from the storage file, in either storage format, and replays the journal on top of it.
+     * If another Luke instance saved the list after the journal was started, the journal is replayed onto the
+     * snapshot it was based on instead, and the list saved by the other instance is merged into the result.
      *
-     * @throws FileNotFoundException if the storage file is not found
+     * @return {@code true} if a saved list was found, {@code false} otherwise
      */
-    public boolean readListFile() {
-        String header = this.storage.readLine();
-        if (header.isEmpty()) {
-            return false;
+    private boolean readListFile() {
+        boolean isFound;
+        boolean isRebased = readJournalBase();
+        if (isRebased) {
+            isFound = true;
+        } else if (this.storage.isBinaryFile()) {
+            isFound = readBinaryListFile();
+        } else {
+            isFound = readTextListFile();
         }
-        while (this.storage.hasNext()) {
-            String task = this.storage.readLine();
-            try {
-                this.taskList.addTask(readTask(task));
-            } catch (InvalidInputException e) {
-                this.output.append(" There was something wrong with this task.\n");
-                this.output.append(" " + task + "\n");
-            }
+        boolean isReplayed = replayJournal();
+        // replayed records are only in the journal, so the list is not marked as saved and the next save,
+        // at the latest on exit, compacts them into a snapshot
+        this.storage.setSavedGeneration(isReplayed ? -1 : this.taskList.getGeneration());
+        if (isRebased) {
+            mergeSavedList();
         }
-        return true;
+        return isReplayed || isFound;
     }
 
-    /**
-     * Reads a single task from a line of text and returns the corresponding Task object.
-     *
-     * @param input the task data in string format
-     * @return the corresponding Task object
-     * @throws InvalidInputException if the task data is invalid
-     */
-    public Task readTask(String input) throws InvalidInputException {
-        String[] taskParts = input.split(" : ");
-        String taskType = taskParts[0];
-        if (taskType.equals("T")) {
-            return readToDo(taskParts);
-        } else if (taskType.equals("D")) {
-            return readDeadline(taskParts);
-        } else if (taskType.equals("E")) {
-            return readEvent(taskParts);
-        } else {
-            this.output.append("invalid command\n");
-            throw new InvalidInputException("invalid command\n");
+    private boolean readJournalBase() {
+        List<String> badLines = new ArrayList<>();
+        boolean isRebased;
+        try {
+            isRebased = this.storage.loadJournalBase(this.taskList, badLines);
+        } catch (IOException e) {
+            this.output.append(" There was a problem reading the journal.\n");
+            this.output.append(" " + e.getMessage() + "\n");
+            return false;
         }
+        showBadLines(badLines);
+        return isRebased;
     }
 
     /**
-     * Reads input to create a ToDo task.
-     *
-     * This method parses the input array to extract information required to construct a ToDo task.
-     * It checks for the presence of sufficient arguments and throws an exception if the input is invalid.
-     *
-     * @param inputArr an array of strings representing the input for a ToDo task.
-     *                 The expected format is: {"todo", "isDone", "name"}.
-     * @return a {@code ToDo} task constructed from the input arguments.
-     * @throws InvalidInputException if the input array has insufficient arguments.
+     * Merges the list saved by another instance into the list replayed from the journal, and saves the result
+     * right away, so that the changes made from now on are journaled on top of the merged list.
      */
-    public Task readToDo(String[] inputArr) throws InvalidInputException {
-        if (inputArr.length < 3) {
-            //this.output.append("len < 3\n");
-            throw new InvalidInputException("insufficient arguments");
+    private void mergeSavedList() {
+        try {
+            String message = mergeConflictingChange();
+            if (message != null) {
+                this.output.append(message);
+            }
+        } catch (IOException e) {
+            this.output.append(" There was a problem reading the list file.\n");
+            this.output.append(" " + e.getMessage() + "\n");
+            return;
+        }
+        saveList();
+    }
+
+    private boolean readTextListFile() {
+        List<String> badLines = new ArrayList<>();
+        boolean isFound;
+        try {
+            if (this.storage.isShardedFile()) {
+                isFound = this.storage.loadSharded(this.taskList, badLines);
+            } else {
+                isFound = this.storage.loadText(this.taskList, badLines);
+            }
+        } catch (IOException e) {
+            this.output.append(" There was a problem reading the list file.\n");
+            this.output.append(" " + e.getMessage() + "\n");
+            return false;
+        }
+        showBadLines(badLines);
+        return isFound;
+    }
+
+    private void showBadLines(List<String> badLines) {
+        for (String badLine : badLines) {
+            this.output.append(" There was something wrong with this task.\n");
+            this.output.append(" " + badLine + "\n");
+        }
+    }
+
+    private boolean readBinaryListFile() {
+        try {
+            this.storage.loadBinary(this.taskList);
+            return true;
+        } catch (IOException e) {
+            this.output.append(" There was a problem reading the binary list file.\n");
+            this.output.append(" " + e.getMessage() + "\n");
+            return false;
         }
-        boolean isDone = inputArr[1].equals("1");
-        String name = inputArr[2];
-        return new ToDo(name, isDone);
     }
 
     /**
-     * Reads input to create a Deadline task.
-     *
-     * This method parses the input array to extract information required to construct a Deadline task.
-     * It checks for the presence of sufficient arguments and throws an exception if the input is invalid.
+     * Replays the mutations recorded in the journal since the last snapshot onto the task list.
      *
-     * @param inputArr an array of strings representing the input for a Deadline task.
-     *                 The expected format is: {"deadline", "isDone", "name", "deadline"}.
-     * @return a {@code Deadline} task constructed from the input arguments.
-     * @throws InvalidInputException if the input array has insufficient arguments.
+     * @return {@code true} if any journal records were replayed, {@code false} otherwise
      */
-    public Task readDeadline(String[] inputArr) throws InvalidInputException {
-        if (inputArr.length < 4) {
-            //this.output.append("len < 4\n");
-            throw new InvalidInputException("insufficient arguments");
+    private boolean replayJournal() {
+        List<String> records;
+        try {
+            records = this.storage.readJournal();
+        } catch (IOException e) {
+            this.output.append(" There was a problem reading the journal.\n");
+            return false;
         }
-        boolean isDone = inputArr[1].equals("1");
-        String name = inputArr[2];
-        String deadline = inputArr[3];
-        return new Deadline(name, isDone, deadline);
+        for (String record : records) {
+            try {
+                JournalRecord.replay(this.taskList, record);
+            } catch (InvalidInputException e) {
+                this.output.append(" There was something wrong with this journal record.\n");
+                this.output.append(" " + record + "\n");
+            }
+        }
+        return !records.isEmpty();
     }
 
     /**
-     * Reads input to create an Event task.
-     *
-     * This method parses the input array to extract information required to construct an Event task.
-     * It checks for the presence of sufficient arguments and throws an exception if the input is invalid.
-     *
-     * @param inputArr an array of strings representing the input for an Event task.
-     *                 The expected format is: {"event", "isDone", "name", "start", "end"}.
-     * @return an {@code Event} task constructed from the input arguments.
-     * @throws InvalidInputException if the input array has insufficient arguments.
+     * Writes the current task list to the storage file as a single atomic snapshot,
+     * unless it has not changed since it was last saved, and then forces the files to disk
+     * if the durability policy asks for it on shutdown.
      */
-    public Task readEvent(String[] inputArr) throws InvalidInputException {
-        if (inputArr.length < 5) {
-            //this.output.append("len < 5\n");
-            throw new InvalidInputException("insufficient arguments");
+    private void writeListToFile() {
+        if (this.storage.getSavedGeneration() == this.taskList.getGeneration()) {
+            this.output.append("No changes to save\n");
+        } else {
+            saveList();
+        }
+        try {
+            this.storage.sync();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
         }
-        boolean isDone = inputArr[1].equals("1");
-        String name = inputArr[2];
-        String start = inputArr[3];
-        String end = inputArr[4];
-        return new Event(name, isDone, start, end);
     }
 
     /**
-     * Writes the current task list to the storage file.
-     *
-     * @throws IOException if an I/O error occurs while writing to the file
+     * Saves the task list right away, e.g. after a command that changed many tasks at once, merging the list
+     * saved by another Luke instance first if the save is refused.
      */
-    public void writeListToFile() {
+    public void saveList() {
         try {
-            if (this.storage.hasWriteFile()) {
-                this.storage.clearFile();
-            }
             this.output.append("Saving list...\n");
-            storage.writeLine(String.format("list: %d", this.taskList.getSize()));
-            int numTasks = taskList.getSize();
-            for (Task task : taskList.getList()) {
-                if (task instanceof ToDo) {
-                    ToDo todo = (ToDo) task;
-                    this.storage.writeLine(String.format("T : %s : %s",
-                            todo.getIsDone() ? "1" : "0",
-                            todo.getName()));
-                } else if (task instanceof Deadline) {
-                    Deadline deadline = (Deadline) task;
-                    this.storage.writeLine(String.format("D : %s : %s : %s",
-                            deadline.getIsDone() ? "1" : "0",
-                            deadline.getName(),
-                            deadline.getDueTime().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))));
-                } else if (task instanceof Event) {
-                    Event event = (Event) task;
-                    this.storage.writeLine(String.format("E : %s : %s : %s : %s",
-                            event.getIsDone() ? "1" : "0",
-                            event.getName(),
-                            event.getStartTime().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
-                            event.getEndTime().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm"))));
+            SaveReport report;
+            try {
+                report = this.autoSaver.saveNow();
+            } catch (StaleFileException e) {
+                String message = mergeConflictingChange();
+                if (message != null) {
+                    this.output.append(message);
                 }
+                report = this.autoSaver.saveNow();
             }
-            this.output.append("Saved successfully\n");
+            this.output.append("Saved successfully (" + report + ")\n");
         } catch (IOException e) {
             System.out.println(e.getMessage());
         }
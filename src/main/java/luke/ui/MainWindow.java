@@ -1,5 +1,6 @@
 package luke.ui;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.ScrollPane;
@@ -48,6 +49,9 @@ public class MainWindow extends AnchorPane {
                 DialogBox.getDukeDialog(response, dukeImage)
         );
         userInput.clear();
+        if (luke.hasExited()) {
+            Platform.exit();
+        }
     }
 
     /**
@@ -55,11 +59,15 @@ public class MainWindow extends AnchorPane {
      *
      * This method retrieves the startup message from the `luke` object and displays it
      * in the user interface as a dialog box, along with the associated Duke image.
+     * It then starts watching the list file, so that changes made by other programs are shown
+     * as they are merged into the list.
      */
     public void handleStartUp() {
         dialogContainer.getChildren().addAll(
                 DialogBox.getDukeDialog(luke.getStartUp(), dukeImage)
         );
+        luke.startWatching(message -> Platform.runLater(() -> dialogContainer.getChildren().add(
+                DialogBox.getDukeDialog(message, dukeImage))));
     }
 
     /**
@@ -0,0 +1,148 @@
+package luke.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.component.Storage;
+import luke.task.ToDo;
+import luke.ui.Luke;
+
+public class CommandRegistryTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private Luke luke;
+
+    @BeforeEach
+    public void setUp() {
+        this.file = this.directory.resolve("list.txt");
+        this.luke = new Luke(new Storage(this.file));
+        this.luke.load();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.luke.stop();
+    }
+
+    private void addTasks(int count) {
+        for (int i = 1; i <= count; i++) {
+            this.luke.getResponse("todo task " + i);
+        }
+    }
+
+    @Test
+    public void find_aliases_sameCommand() {
+        CommandRegistry registry = CommandRegistry.createDefault();
+        assertSame(registry.find("bye"), registry.find("exit"));
+        assertSame(registry.find("delete"), registry.find("rm"));
+        assertNull(registry.find("remove"));
+
+        Command command = (luke, line) -> luke.showMessage("hi");
+        registry.register(command, "hello");
+        assertSame(command, registry.find("hello"));
+    }
+
+    @Test
+    public void getResponse_unknownVerb_notUnderstood() {
+        assertEquals("I don't understand", this.luke.getResponse("fly away"));
+        assertEquals("Please give the number of a task, e.g. mark 2\n", this.luke.getResponse("mark x"));
+    }
+
+    @Test
+    public void getResponse_addMarkDelete_listUpdated() {
+        assertTrue(this.luke.getResponse("deadline return book /by 12/10/2024 18:00")
+                .contains("Now you have 1 tasks in the list."));
+        assertTrue(this.luke.getResponse("deadline return book /by 32/10/2024 18:00").startsWith("Day must be"));
+        assertEquals("Deadline format: deadline [name] /by [DD/MM/YYYY HH:MM]\n",
+                this.luke.getResponse("deadline /by 12/10/2024 18:00"));
+        addTasks(4);
+
+        assertTrue(this.luke.getResponse("mark 2-4").startsWith("Nice! I've marked 3 tasks as done."));
+        assertEquals(3, this.luke.getTaskList().getDoneCount());
+        assertTrue(this.luke.getResponse("delete done").startsWith("Noted. I've removed 3 tasks."));
+        assertEquals(2, this.luke.getTaskList().getSize());
+        assertEquals("There are only 2 tasks in the list", this.luke.getResponse("delete 3"));
+    }
+
+    @Test
+    public void getResponse_listAndFind_numbersKept() {
+        addTasks(3);
+        this.luke.getResponse("event meeting /from 13/10/2024 09:30 /to 13/10/2024 11:00");
+        assertEquals(" Here are the matching tasks in your list:\n"
+                + " 4.[E][ ] meeting (from: 13 Oct 2024 to: 13 Oct 2024)\n",
+                this.luke.getResponse("list event /from 13/10/2024 00:00"));
+        assertEquals(" Here are the matching tasks in your list:\n 2.[T][ ] task 2\n",
+                this.luke.getResponse("find TASK 2"));
+        assertEquals("To-dos have no time to be listed by.\n", this.luke.getResponse("list todo /by 13/10/2024 00:00"));
+    }
+
+    @Test
+    public void getResponse_archive_doneTasksMoved() {
+        addTasks(3);
+        this.luke.getResponse("archive auto 1");
+        this.luke.getResponse("mark 1");
+        assertTrue(this.luke.getResponse("mark 2").contains("Archived 2 done tasks."));
+        assertEquals(1, this.luke.getTaskList().getSize());
+        String archived = this.luke.getResponse("archived task");
+        assertTrue(archived.contains("1.[T][X] task 1"), archived);
+        assertEquals("There are no archived tasks to show.\n", this.luke.getResponse("archived tas"));
+        assertTrue(this.luke.getResponse("archived tas* 2 or 9").contains("1.[T][X] task 2"));
+    }
+
+    @Test
+    public void getResponse_exportLargeList_progressShownWhileRunning() {
+        for (int i = 0; i < 100_000; i++) {
+            this.luke.getTaskList().addTask(new ToDo("task " + i, false));
+        }
+        List<String> progress = new ArrayList<>();
+        this.luke.setProgressListener(progress::add);
+        String response = this.luke.getResponse("export " + this.directory.resolve("tasks.csv"));
+
+        assertEquals(1, progress.size());
+        assertTrue(progress.get(0).startsWith("Exported 100000 tasks in "), progress.get(0));
+        assertFalse(response.contains("so far"), response);
+        assertTrue(response.startsWith("Exported 100000 tasks in "), response);
+    }
+
+    @Test
+    public void getResponse_bye_savedAndExited() throws IOException {
+        addTasks(2);
+        String response = this.luke.getResponse("bye");
+        assertTrue(response.contains("Saved successfully"), response);
+        assertTrue(response.endsWith("Bye. Hope to see you again soon!\n"), response);
+        assertTrue(this.luke.hasExited());
+        assertEquals(List.of("T : 0 : task 1", "T : 0 : task 2"), Files.readAllLines(this.file).subList(1, 3));
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+    }
+
+    @Test
+    public void load_afterStop_journalReplayed() {
+        addTasks(3);
+        this.luke.getResponse("mark 1,3");
+        this.luke.getResponse("delete 2");
+        this.luke.getResponse("sort a");
+        this.luke.stop();
+
+        this.luke = new Luke(new Storage(this.file));
+        assertEquals("", this.luke.load());
+        assertEquals(" Here are the tasks in your list:\n 1.[T][X] task 1\n 2.[T][X] task 3\n",
+                this.luke.getResponse("list"));
+    }
+}
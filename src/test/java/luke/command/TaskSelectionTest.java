@@ -0,0 +1,77 @@
+package luke.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import luke.component.CommandLine;
+import luke.component.TaskList;
+import luke.exception.InvalidInputException;
+import luke.task.ToDo;
+
+public class TaskSelectionTest {
+
+    private final TaskList taskList = new TaskList();
+    private final CommandLine commandLine = new CommandLine();
+
+    @BeforeEach
+    public void setUp() {
+        for (int i = 1; i <= 10; i++) {
+            this.taskList.addTask(new ToDo("task " + i, i % 2 == 0));
+        }
+    }
+
+    private BitSet select(String input) throws InvalidInputException {
+        CommandLine line = this.commandLine.lex(input);
+        assertTrue(TaskSelection.isSelection(line), input);
+        return TaskSelection.select(this.taskList, line);
+    }
+
+    private String getError(String input) {
+        return assertThrows(InvalidInputException.class, () -> select(input)).getMessage();
+    }
+
+    @Test
+    public void select_numbersRangesAndWords_indicesSet() throws InvalidInputException {
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(2, 5);
+        expected.set(9);
+        assertEquals(expected, select("mark 1,3-5 #10"));
+        assertEquals(10, select("delete 1-10").cardinality());
+        assertEquals(5, select("delete done").cardinality());
+        assertEquals(select("delete undone"), select("delete 1,3 5 7,9"));
+        assertEquals(10, select("delete all").cardinality());
+    }
+
+    @Test
+    public void select_hugeRange_rejectedBeforeSetting() {
+        assertEquals("There are only 10 tasks in the list\n", getError("delete 1-2000000000"));
+        assertEquals("There are only 10 tasks in the list\n", getError("delete 1-2147483647"));
+        assertEquals("There are only 10 tasks in the list\n", getError("mark 3,11"));
+        assertTrue(getError("delete 1-2147483648").startsWith("Give tasks as numbers"));
+    }
+
+    @Test
+    public void select_reversedOrZeroRange_rejected() {
+        assertTrue(getError("delete 5-3").startsWith("Give tasks as numbers"));
+        assertTrue(getError("delete 0-3").startsWith("Give tasks as numbers"));
+        assertTrue(getError("delete 0,1").startsWith("Give tasks as numbers"));
+        assertTrue(getError("delete 1--3").startsWith("Give tasks as numbers"));
+        assertEquals("There is no task #99 in the list\n", getError("delete 1,#99"));
+    }
+
+    @Test
+    public void isSelection_singleNumberOrId_notSelection() {
+        assertFalse(TaskSelection.isSelection(this.commandLine.lex("mark 3")));
+        assertFalse(TaskSelection.isSelection(this.commandLine.lex("mark #3")));
+        assertFalse(TaskSelection.isSelection(this.commandLine.lex("mark -3")));
+        assertEquals(2, TaskSelection.getTaskIndex(this.taskList, this.commandLine.lex("mark #3")));
+    }
+}
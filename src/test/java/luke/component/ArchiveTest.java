@@ -0,0 +1,66 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class ArchiveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void deleteDoneTasks_mixedList_keepsUndoneInOrder() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 6; i++) {
+            taskList.addTask(new ToDo("task " + i, i % 2 == 1));
+        }
+        List<Task> doneTasks = taskList.deleteDoneTasks();
+
+        assertEquals(List.of("T : 1 : task 1", "T : 1 : task 3", "T : 1 : task 5"),
+                StorageSnapshotTest.toStorageStrings(doneTasks));
+        assertEquals(List.of("T : 0 : task 0", "T : 0 : task 2", "T : 0 : task 4"),
+                StorageSnapshotTest.toStorageStrings(taskList.getList()));
+        assertEquals(0, taskList.getDoneCount());
+    }
+
+    @Test
+    public void appendArchive_twice_loadedInOrderAndKeptOutOfList() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Storage storage = new Storage(file);
+        storage.appendArchive(List.of(new ToDo("first", true)));
+        storage.appendArchive(List.of(new ToDo("second", true), new ToDo("third", true)));
+
+        List<Task> archived = new Storage(file).loadArchive();
+        assertEquals(List.of("T : 1 : first", "T : 1 : second", "T : 1 : third"),
+                StorageSnapshotTest.toStorageStrings(archived));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void loadArchive_thenAppend_includesAppendedTasks() throws IOException {
+        Storage storage = new Storage(this.directory.resolve("list.txt"));
+        assertTrue(storage.loadArchive().isEmpty());
+        storage.appendArchive(List.of(new ToDo("first", true)));
+        assertEquals(1, storage.loadArchive().size());
+    }
+
+    @Test
+    public void loadArchive_truncatedLine_skipped() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Files.writeString(this.directory.resolve("list.txt.archive"), "T : 1 : first\nD : 1 : cut off : 01/0");
+        List<Task> archived = new Storage(file).loadArchive();
+        assertEquals(List.of("T : 1 : first"), StorageSnapshotTest.toStorageStrings(archived));
+    }
+}
@@ -0,0 +1,93 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.ToDo;
+
+public class AutoSaverTest {
+
+    private static final long QUIET_MILLIS = 50;
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private Storage storage;
+    private TaskList taskList;
+    private AutoSaver autoSaver;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.file = this.directory.resolve("list.txt");
+        new Storage(this.file).saveSnapshot(new TaskList());
+        this.storage = new Storage(this.file);
+        this.taskList = new TaskList();
+        this.storage.loadText(this.taskList, new ArrayList<>());
+        this.storage.setSavedGeneration(this.taskList.getGeneration());
+        this.autoSaver = new AutoSaver(this.storage, this.taskList, this, QUIET_MILLIS);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        this.autoSaver.shutdown();
+        this.storage.close();
+    }
+
+    private synchronized void add(String name) {
+        this.taskList.addTask(new ToDo(name, false));
+        this.autoSaver.journal("A : T : 0 : " + name);
+    }
+
+    @Test
+    public void journal_severalMutations_writtenInOrder() throws IOException {
+        add("first");
+        add("second");
+        this.autoSaver.shutdown();
+        this.storage.close();
+
+        Storage reopened = new Storage(this.file);
+        reopened.loadText(new TaskList(), new ArrayList<>());
+        assertEquals(List.of("A : T : 0 : first", "A : T : 0 : second"), reopened.readJournal());
+    }
+
+    @Test
+    public void markDirty_burstOfMutations_savedOnceAfterQuietPeriod() throws InterruptedException, IOException {
+        for (int i = 0; i < 5; i++) {
+            add("task " + i);
+        }
+        long deadline = System.currentTimeMillis() + 5000;
+        while (this.storage.getSavedGeneration() != this.taskList.getGeneration()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(QUIET_MILLIS);
+        }
+        assertEquals(this.taskList.getGeneration(), this.storage.getSavedGeneration());
+        assertEquals(6, Files.readAllLines(this.file).size());
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+    }
+
+    @Test
+    public void saveNow_batchMode_nothingJournaled() throws IOException {
+        this.autoSaver.setBatchMode(true);
+        add("first");
+        add("second");
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+
+        SaveReport report = this.autoSaver.saveNow();
+        this.autoSaver.setBatchMode(false);
+        assertEquals(2, report.getTaskCount());
+        assertTrue(Files.readAllLines(this.file).contains("T : 0 : second"));
+    }
+}
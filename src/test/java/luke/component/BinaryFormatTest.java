@@ -0,0 +1,100 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class BinaryFormatTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void writeTask_everyType_readsSameTask() throws IOException {
+        List<Task> tasks = new ArrayList<>(StorageSnapshotTest.createList().getList());
+        tasks.add(new ToDo("long name: ".repeat(20) + "\u00e9t\u00e9 \u5b66\u6821", true));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        BinaryFormat.writeHeader(out, 42, tasks.size());
+        for (Task task : tasks) {
+            BinaryFormat.writeTask(out, task);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        BinaryFormat.readMagic(in);
+        assertEquals(42, in.readLong());
+        assertEquals(tasks.size(), in.readInt());
+        List<Task> read = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            read.add(BinaryFormat.readTask(in));
+        }
+        assertEquals(StorageSnapshotTest.toStorageStrings(tasks), StorageSnapshotTest.toStorageStrings(read));
+    }
+
+    @Test
+    public void hasMagic_textFile_false() throws IOException {
+        assertFalse(BinaryFormat.hasMagic(new ByteArrayInputStream("list: 0 : 1\n".getBytes())));
+        assertFalse(BinaryFormat.hasMagic(new ByteArrayInputStream(new byte[] {'L', 'U'})));
+    }
+
+    @Test
+    public void readMagic_unsupportedVersion_exceptionThrown() {
+        byte[] header = {'L', 'U', 'K', 'B', 9};
+        assertThrows(IOException.class, () ->
+                BinaryFormat.readMagic(new DataInputStream(new ByteArrayInputStream(header))));
+    }
+
+    @Test
+    public void readTask_unknownType_exceptionThrown() {
+        byte[] record = {3, 0};
+        assertThrows(IOException.class, () ->
+                BinaryFormat.readTask(new DataInputStream(new ByteArrayInputStream(record))));
+    }
+
+    @Test
+    public void saveSnapshot_binaryFormat_detectedAndLoaded() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Storage storage = new Storage(file);
+        storage.setFormat(StorageFormat.BINARY);
+        TaskList saved = StorageSnapshotTest.createList();
+        storage.saveSnapshot(saved);
+
+        Storage reopened = new Storage(file);
+        assertTrue(reopened.isBinaryFile());
+        assertEquals(StorageFormat.BINARY, reopened.getFormat());
+        TaskList loaded = new TaskList();
+        assertEquals(3, reopened.loadBinary(loaded));
+        assertEquals(StorageSnapshotTest.toStorageStrings(saved.getList()),
+                StorageSnapshotTest.toStorageStrings(loaded.getList()));
+    }
+
+    @Test
+    public void convert_textToBinaryAndBack_sameLines() throws IOException {
+        Path text = this.directory.resolve("list.txt");
+        new Storage(text).saveSnapshot(StorageSnapshotTest.createList());
+        Path binary = this.directory.resolve("list.bin");
+        Path back = this.directory.resolve("back.txt");
+
+        Storage.convert(text, binary, StorageFormat.BINARY, false);
+        Storage.convert(binary, back, StorageFormat.TEXT, false);
+        assertTrue(Files.size(binary) < Files.size(text));
+        assertEquals(Files.readAllLines(text), Files.readAllLines(back));
+    }
+}
@@ -0,0 +1,85 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandLineTest {
+
+    private final CommandLine commandLine = new CommandLine();
+
+    @Test
+    public void lex_event_headAndFlagsSplit() {
+        this.commandLine.lex("Event  project  meeting /from 13/10/2024 09:30\t/to 13/10/2024 11:00 ");
+        assertEquals("event", this.commandLine.getVerb());
+        assertEquals("project  meeting", this.commandLine.getHead());
+        assertEquals("13/10/2024 09:30", this.commandLine.getFlag(CommandLine.FROM));
+        assertEquals("13/10/2024 11:00", this.commandLine.getFlag(CommandLine.TO));
+        assertNull(this.commandLine.getFlag(CommandLine.BY));
+        assertEquals(2, this.commandLine.getArgCount());
+    }
+
+    @Test
+    public void lex_repeatedOrEmbeddedFlag_keptInSegment() {
+        this.commandLine.lex("deadline fix a/by bug /by 01/01/2025 10:00 /by later");
+        assertEquals("fix a/by bug", this.commandLine.getHead());
+        assertEquals("01/01/2025 10:00 /by later", this.commandLine.getFlag(CommandLine.BY));
+    }
+
+    @Test
+    public void lex_emptyFlagAtEnd_emptySegment() {
+        this.commandLine.lex("deadline return book /by");
+        assertEquals("return book", this.commandLine.getHead());
+        assertEquals("", this.commandLine.getFlag(CommandLine.BY));
+    }
+
+    @Test
+    public void getIntArg_numbers_parsedWithoutCopy() {
+        this.commandLine.lex("delete 3 12");
+        assertEquals(3, this.commandLine.getIntArg(0));
+        assertEquals(12, this.commandLine.getIntArg(1));
+        assertEquals("", this.commandLine.getArg(2));
+        assertThrows(NumberFormatException.class, () -> this.commandLine.getIntArg(2));
+        assertThrows(NumberFormatException.class, () -> this.commandLine.lex("mark x").getIntArg(0));
+    }
+
+    @Test
+    public void getRest_severalSpaces_keptAsTyped() {
+        this.commandLine.lex("todo  read   /by book");
+        assertEquals(" read   /by book", this.commandLine.getRest());
+        assertEquals("", this.commandLine.lex("list").getRest());
+    }
+
+    @Test
+    public void lex_blankLine_emptyVerb() {
+        this.commandLine.lex(" \t ");
+        assertEquals("", this.commandLine.getVerb());
+        assertEquals("", this.commandLine.getHead());
+        assertEquals(0, this.commandLine.getArgCount());
+    }
+
+    @Test
+    public void lex_sameVerbAgain_verbReused() {
+        String verb = this.commandLine.lex("todo a").getVerb();
+        assertSame(verb, this.commandLine.lex("TODO b").getVerb());
+        this.commandLine.lex("mark 1 2 3 4 5 6 7 8 9");
+        assertEquals(9, this.commandLine.getArgCount());
+        assertEquals("9", this.commandLine.getArg(8));
+    }
+
+    @Test
+    public void lex_longLineAfterShort_charsGrown() {
+        String name = "x".repeat(1000);
+        this.commandLine.lex("todo a");
+        assertEquals(name, this.commandLine.lex("todo " + name + " /by 01/01/2025 10:00").getHead());
+    }
+
+    @Test
+    public void getFlag_unknownFlag_exceptionThrown() {
+        this.commandLine.lex("todo a");
+        assertThrows(IllegalArgumentException.class, () -> this.commandLine.getFlag("/at"));
+    }
+}
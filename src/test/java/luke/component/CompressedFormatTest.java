@@ -0,0 +1,82 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.ToDo;
+
+public class CompressedFormatTest {
+
+    @TempDir
+    Path directory;
+
+    private static TaskList createLargeList() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 10_000; i++) {
+            taskList.addTask(new ToDo("water the plants " + i, i % 3 == 0));
+        }
+        return taskList;
+    }
+
+    @Test
+    public void saveSnapshot_compressedText_detectedAndLoaded() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Storage storage = new Storage(file);
+        storage.setCompressed(true);
+        TaskList saved = createLargeList();
+        storage.saveSnapshot(saved);
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertTrue(new String(in.readNBytes(6)).startsWith("list: "));
+        }
+        Storage reopened = new Storage(file);
+        assertTrue(reopened.isCompressedFile());
+        assertTrue(reopened.isCompressed());
+        TaskList loaded = new TaskList();
+        List<String> badLines = new ArrayList<>();
+        assertTrue(reopened.loadText(loaded, badLines));
+        assertEquals(StorageSnapshotTest.toStorageStrings(saved.getList()),
+                StorageSnapshotTest.toStorageStrings(loaded.getList()));
+        assertTrue(badLines.isEmpty());
+    }
+
+    @Test
+    public void saveSnapshot_compressedBinary_loaded() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Storage storage = new Storage(file);
+        storage.setFormat(StorageFormat.BINARY);
+        storage.setCompressed(true);
+        TaskList saved = createLargeList();
+        storage.saveSnapshot(saved);
+
+        Storage reopened = new Storage(file);
+        assertTrue(reopened.isCompressedFile());
+        assertTrue(reopened.isBinaryFile());
+        TaskList loaded = new TaskList();
+        assertEquals(saved.getSize(), reopened.loadBinary(loaded));
+    }
+
+    @Test
+    public void convert_toCompressed_smallerWithSameTasks() throws IOException {
+        Path text = this.directory.resolve("list.txt");
+        new Storage(text).saveSnapshot(createLargeList());
+        Path compressed = this.directory.resolve("list.txt.gz");
+        Path back = this.directory.resolve("back.txt");
+
+        Storage.convert(text, compressed, StorageFormat.TEXT, true);
+        Storage.convert(compressed, back, StorageFormat.TEXT, false);
+        assertTrue(Files.size(compressed) < Files.size(text) / 4);
+        assertEquals(Files.readAllLines(text), Files.readAllLines(back));
+    }
+}
@@ -0,0 +1,67 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.exception.InvalidInputException;
+
+public class DurabilityPolicyTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void parse_everyNCommands_forcesJournalEveryN() throws InvalidInputException {
+        DurabilityPolicy policy = DurabilityPolicy.parse(" Every-10-Commands ");
+        assertEquals(DurabilityPolicy.Mode.EVERY_N_COMMANDS, policy.getMode());
+        assertFalse(policy.isJournalForced(9));
+        assertTrue(policy.isJournalForced(10));
+        assertTrue(policy.isSnapshotForced());
+        assertEquals("every-10-commands", policy.toString());
+    }
+
+    @Test
+    public void parse_onShutdown_forcesOnlyOnShutdown() throws InvalidInputException {
+        DurabilityPolicy policy = DurabilityPolicy.parse("on-shutdown");
+        assertFalse(policy.isJournalForced(1_000));
+        assertFalse(policy.isSnapshotForced());
+        assertTrue(policy.isSyncedOnShutdown());
+        assertFalse(DurabilityPolicy.parse("none").isSyncedOnShutdown());
+    }
+
+    @Test
+    public void parse_invalidNames_exceptionThrown() {
+        for (String name : new String[] {"", "always", "every-0-commands", "every--commands", "every-x-commands"}) {
+            assertThrows(InvalidInputException.class, () -> DurabilityPolicy.parse(name), name);
+        }
+    }
+
+    @Test
+    public void getLatencyReport_afterSave_namesPolicy() throws IOException, InvalidInputException {
+        Storage storage = new Storage(this.directory.resolve("list.txt"));
+        storage.setDurability(DurabilityPolicy.parse("every-command"));
+        storage.saveSnapshot(StorageSnapshotTest.createList());
+        assertTrue(storage.getLatencyReport().contains("every-command"));
+    }
+
+    @Test
+    public void force_unforcedShards_forcedOnce() throws IOException {
+        ShardedStore store = new ShardedStore(this.directory.resolve("list.txt.shards"));
+        TaskList taskList = StorageSnapshotTest.createList();
+        long[] sequences = ShardedStore.readSequences(taskList.getList());
+        store.save(taskList.getList(), sequences, null, taskList.getGeneration(), 1, false);
+        assertEquals(3, store.force());
+        assertEquals(0, store.force());
+
+        store.save(taskList.getList(), sequences, null, taskList.getGeneration(), 2, true);
+        assertEquals(0, store.force());
+    }
+}
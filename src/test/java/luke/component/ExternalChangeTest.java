@@ -0,0 +1,91 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ExternalChangeTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private Storage storage;
+    private TaskList taskList;
+
+    private List<String> saveAndEdit(int index, String line) throws IOException {
+        this.file = this.directory.resolve("list.txt");
+        this.storage = new Storage(this.file);
+        this.taskList = StorageSnapshotTest.createList();
+        this.storage.saveSnapshot(this.taskList);
+        List<String> lines = Files.readAllLines(this.file);
+        if (line == null) {
+            lines.remove(index + 1);
+        } else {
+            lines.set(index + 1, line);
+        }
+        Files.write(this.file, lines);
+        Files.setLastModifiedTime(this.file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        return lines;
+    }
+
+    @Test
+    public void pollExternalChange_unchangedFile_null() throws IOException {
+        this.storage = new Storage(this.directory.resolve("list.txt"));
+        this.storage.saveSnapshot(StorageSnapshotTest.createList());
+        assertNull(this.storage.pollExternalChange());
+    }
+
+    @Test
+    public void pollExternalChange_editedLine_onlyThatLineReplaced() throws IOException {
+        saveAndEdit(1, "D : 0 : return the book : 12/10/2024 18:00");
+        ExternalChange change = this.storage.pollExternalChange();
+        assertNotNull(change);
+        assertEquals(1, change.getStart());
+        assertEquals(1, change.getRemovedCount());
+        assertEquals(List.of("D : 0 : return the book : 12/10/2024 18:00"),
+                StorageSnapshotTest.toStorageStrings(change.getAddedTasks()));
+        assertTrue(change.getBadLines().isEmpty());
+
+        this.taskList.replaceTasks(change.getStart(), change.getStart() + change.getRemovedCount(),
+                change.getAddedTasks());
+        assertEquals(0, this.taskList.getDoneCount());
+        assertNull(this.storage.pollExternalChange());
+    }
+
+    @Test
+    public void pollExternalChange_deletedLine_nothingAdded() throws IOException {
+        saveAndEdit(0, null);
+        ExternalChange change = this.storage.pollExternalChange();
+        assertEquals(0, change.getStart());
+        assertEquals(1, change.getRemovedCount());
+        assertTrue(change.getAddedTasks().isEmpty());
+    }
+
+    @Test
+    public void pollExternalChange_invalidLine_reportedAsBad() throws IOException {
+        saveAndEdit(2, "E : 0 : meeting : tomorrow");
+        ExternalChange change = this.storage.pollExternalChange();
+        assertEquals(1, change.getBadLines().size());
+        assertTrue(change.getBadLines().get(0).contains("E : 0 : meeting : tomorrow"), change.getBadLines().get(0));
+    }
+
+    @Test
+    public void pollExternalChange_sameLinesRewritten_null() throws IOException {
+        List<String> lines = saveAndEdit(0, null);
+        lines.add(1, "T : 0 : read book");
+        Files.write(this.file, lines);
+        Files.setLastModifiedTime(this.file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+        assertNull(this.storage.pollExternalChange());
+    }
+}
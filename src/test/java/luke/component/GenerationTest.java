@@ -0,0 +1,87 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.ToDo;
+
+public class GenerationTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void getGeneration_mutations_increase() {
+        TaskList taskList = new TaskList();
+        long generation = taskList.getGeneration();
+        taskList.addTask(new ToDo("b", false));
+        assertTrue(taskList.getGeneration() > generation);
+
+        generation = taskList.getGeneration();
+        taskList.addTask(new ToDo("a", false));
+        taskList.markTask(0, true);
+        taskList.sortTasks();
+        taskList.deleteTask(1);
+        assertTrue(taskList.getGeneration() >= generation + 4);
+    }
+
+    @Test
+    public void getGeneration_reads_unchanged() {
+        TaskList taskList = StorageSnapshotTest.createList();
+        long generation = taskList.getGeneration();
+        taskList.getTask(1);
+        taskList.getSortedTasks();
+        taskList.findTasks(ToDo.class, null);
+        taskList.getList();
+        assertEquals(generation, taskList.getGeneration());
+    }
+
+    @Test
+    public void getGeneration_markedWithSameStatus_unchanged() {
+        TaskList taskList = StorageSnapshotTest.createList();
+        long generation = taskList.getGeneration();
+        taskList.markTask(0, false);
+        taskList.markTask(1, true);
+        BitSet indices = new BitSet();
+        indices.set(0, 3, true);
+        indices.clear(1);
+        assertEquals(0, taskList.markTasks(indices, false));
+        assertEquals(generation, taskList.getGeneration());
+        assertTrue(taskList.getShardsModifiedSince(generation).isEmpty());
+
+        taskList.markTask(0, true);
+        assertEquals(generation + 1, taskList.getGeneration());
+        assertEquals(1, taskList.markTasks(indices, true));
+        assertEquals(generation + 2, taskList.getGeneration());
+    }
+
+    @Test
+    public void getSavedGeneration_afterSave_matchesList() throws IOException {
+        Storage storage = new Storage(this.directory.resolve("list.txt"));
+        TaskList taskList = StorageSnapshotTest.createList();
+        storage.saveSnapshot(taskList);
+        assertEquals(taskList.getGeneration(), storage.getSavedGeneration());
+
+        taskList.markTask(0, true);
+        assertNotEquals(taskList.getGeneration(), storage.getSavedGeneration());
+    }
+
+    @Test
+    public void getSavedGeneration_olderSnapshotSavedLater_notLowered() throws IOException {
+        Storage storage = new Storage(this.directory.resolve("list.txt"));
+        TaskList taskList = StorageSnapshotTest.createList();
+        long[] sequences = ShardedStore.readSequences(taskList.getList());
+        storage.saveSnapshot(taskList.getList(), sequences, taskList.getGeneration(), null);
+        storage.saveSnapshot(new ArrayList<>(taskList.getList()), sequences, taskList.getGeneration() - 1, null);
+        assertEquals(taskList.getGeneration(), storage.getSavedGeneration());
+    }
+}
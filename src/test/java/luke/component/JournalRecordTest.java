@@ -0,0 +1,67 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.Test;
+
+import luke.exception.InvalidInputException;
+import luke.task.ToDo;
+
+public class JournalRecordTest {
+
+    private static TaskList createList(int size) {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= size; i++) {
+            taskList.addTask(new ToDo("task " + i, false));
+        }
+        return taskList;
+    }
+
+    @Test
+    public void readRanges_writtenRanges_sameIndices() throws InvalidInputException {
+        BitSet indices = new BitSet();
+        indices.set(2);
+        indices.set(6);
+        indices.set(11, 40);
+        assertEquals("2,6,11-39", JournalRecord.writeRanges(indices));
+        assertEquals(indices, JournalRecord.readRanges("2,6,11-39", 40));
+    }
+
+    @Test
+    public void readRanges_outOfList_rejectedBeforeSetting() {
+        assertThrows(InvalidInputException.class, () -> JournalRecord.readRanges("0-2147483646", 10));
+        assertThrows(InvalidInputException.class, () -> JournalRecord.readRanges("2147483647", 10));
+        assertThrows(InvalidInputException.class, () -> JournalRecord.readRanges("10", 10));
+        assertThrows(InvalidInputException.class, () -> JournalRecord.readRanges("5-3", 10));
+        assertThrows(NumberFormatException.class, () -> JournalRecord.readRanges("-1", 10));
+    }
+
+    @Test
+    public void replay_records_listChanged() throws InvalidInputException {
+        TaskList taskList = createList(5);
+        JournalRecord.replay(taskList, JournalRecord.add(new ToDo("a : b", true)));
+        BitSet indices = new BitSet();
+        indices.set(0, 2);
+        JournalRecord.replay(taskList, JournalRecord.mark(indices, true));
+        JournalRecord.replay(taskList, JournalRecord.delete(2));
+        assertEquals(5, taskList.getSize());
+        assertEquals(3, taskList.getDoneCount());
+        assertEquals("a : b", taskList.getTask(4).getName());
+        JournalRecord.replay(taskList, JournalRecord.archive());
+        assertEquals(2, taskList.getSize());
+    }
+
+    @Test
+    public void replay_badRecord_listUnchanged() {
+        TaskList taskList = createList(3);
+        assertThrows(InvalidInputException.class, () -> JournalRecord.replay(taskList, "X : 0-2147483647"));
+        assertThrows(InvalidInputException.class, () -> JournalRecord.replay(taskList, "M : 1,3 : 1"));
+        assertThrows(InvalidInputException.class, () -> JournalRecord.replay(taskList, "X : x"));
+        assertThrows(InvalidInputException.class, () -> JournalRecord.replay(taskList, "Q"));
+        assertEquals(3, taskList.getSize());
+        assertEquals(0, taskList.getDoneCount());
+    }
+}
@@ -0,0 +1,52 @@
+package luke.component;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tries to lock a file from a separate process, as a second Luke instance would, and prints {@code free} if the
+ * lock was taken or {@code locked} if another process holds it. Run by tests through {@link #probe(Path)}.
+ */
+public class LockProbe {
+
+    public static void main(String[] args) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(args[0]), StandardOpenOption.WRITE)) {
+            FileLock lock = channel.tryLock();
+            System.out.print(lock == null ? "locked" : "free");
+        }
+    }
+
+    /**
+     * Runs the probe in a new JVM, since locks are held per process.
+     *
+     * @param file the file to be locked
+     * @return true if another process holds a lock on the file
+     */
+    static boolean probe(Path file) throws IOException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath;
+        try {
+            classPath = Paths.get(LockProbe.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+                    .toString();
+        } catch (URISyntaxException e) {
+            throw new IOException(e);
+        }
+        Process process = new ProcessBuilder(java, "-cp", classPath, LockProbe.class.getName(), file.toString())
+                .redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes()).trim();
+        try {
+            process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!output.equals("locked") && !output.equals("free")) {
+            throw new IOException("lock probe failed: " + output);
+        }
+        return output.equals("locked");
+    }
+}
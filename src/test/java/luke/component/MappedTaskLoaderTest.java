@@ -0,0 +1,107 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedTaskLoaderTest {
+
+    private static final List<String> BAD_LINES = List.of(
+            "X : 0 : unknown type",
+            "D : 0 : late : 31/02/2024 10:00",
+            "D : 0 : trailing junk : 01/02/2024 10:00 junk",
+            "E : 1 : no end : 01/02/2024 10:00");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes a list file of {@code taskCount} tasks, with the bad lines in the middle.
+     */
+    private Path writeFile(String name, int taskCount) throws IOException {
+        StringBuilder text = new StringBuilder("list: " + taskCount + " : 7\n");
+        for (int i = 0; i < taskCount; i++) {
+            if (i == taskCount / 2) {
+                BAD_LINES.forEach(line -> text.append(line).append('\n'));
+            }
+            text.append(i % 2 == 0 ? "T : 0 : task " + i : "D : 1 : task \\: " + i + " : 01/02/2024 10:00")
+                    .append("\r\n");
+        }
+        text.append("T : 0 : caf\u00e9 \u5b66\u6821\n");
+        Path file = this.directory.resolve(name);
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void load_largeFile_sameTasksAndBadLinesAsSmallFile() throws IOException {
+        Path small = writeFile("small.txt", 20);
+        TaskList smallList = new TaskList();
+        List<String> smallBadLines = new ArrayList<>();
+        new Storage(small).loadText(smallList, smallBadLines);
+
+        Path large = writeFile("large.txt", 20_000);
+        assertTrue(Files.size(large) > 64 << 10);
+        TaskList largeList = new TaskList();
+        List<String> largeBadLines = new ArrayList<>();
+        MappedTaskLoader loader = new MappedTaskLoader(large);
+        assertTrue(loader.load(largeList, largeBadLines));
+
+        assertEquals(7, loader.getStamp());
+        assertEquals(20_001, largeList.getSize());
+        assertEquals(21, smallList.getSize());
+        assertEquals("T : 0 : caf\u00e9 \u5b66\u6821", largeList.getTask(20_000).toStorageString());
+        assertEquals("D : 1 : task \\: 1 : 01/02/2024 10:00", largeList.getTask(1).toStorageString());
+        assertEquals(stripLineNumbers(smallBadLines), stripLineNumbers(largeBadLines));
+        assertEquals(4, largeBadLines.size());
+        assertTrue(largeBadLines.get(0).startsWith("10002: X : 0 : unknown type ("));
+        assertTrue(largeBadLines.get(1).contains("Day must be between 01 and 29"));
+    }
+
+    @Test
+    public void load_parallel_sameOrderAsSequential() throws IOException {
+        Path file = writeFile("list.txt", 200_000);
+        TaskList sequential = new TaskList();
+        new MappedTaskLoader(file).load(sequential, new ArrayList<>());
+        TaskList parallel = new TaskList();
+        List<String> badLines = new ArrayList<>();
+        new MappedTaskLoader(file).load(parallel, badLines, new ForkJoinPool(4));
+
+        assertEquals(StorageSnapshotTest.toStorageStrings(sequential.getList()),
+                StorageSnapshotTest.toStorageStrings(parallel.getList()));
+        assertEquals(4, badLines.size());
+    }
+
+    @Test
+    public void saveSnapshot_afterMappedLoad_replacesFile() throws IOException {
+        Path file = writeFile("list.txt", 20_000);
+        Storage storage = new Storage(file);
+        TaskList taskList = new TaskList();
+        storage.loadText(taskList, new ArrayList<>());
+        storage.saveSnapshot(taskList);
+
+        TaskList reloaded = new TaskList();
+        List<String> badLines = new ArrayList<>();
+        new Storage(file).loadText(reloaded, badLines);
+        assertEquals(taskList.getSize(), reloaded.getSize());
+        assertTrue(badLines.isEmpty());
+    }
+
+    private static List<String> stripLineNumbers(List<String> badLines) {
+        List<String> stripped = new ArrayList<>();
+        for (String badLine : badLines) {
+            stripped.add(badLine.substring(badLine.indexOf(": ") + 2));
+        }
+        return stripped;
+    }
+}
@@ -0,0 +1,89 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class ShardedStoreTest {
+
+    private static final int TASK_COUNT = 5000;
+
+    @TempDir
+    Path directory;
+
+    private static TaskList createLargeList() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            taskList.addTask(new ToDo(String.format("task %04d", TASK_COUNT - 1 - i), false));
+        }
+        return taskList;
+    }
+
+    private Set<String> listShardFiles() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory.resolve("list.txt.shards"))) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+
+    @Test
+    public void saveSnapshot_sharded_reopenedAndLoaded() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Storage storage = new Storage(file);
+        storage.setFormat(StorageFormat.SHARDED);
+        TaskList saved = StorageSnapshotTest.createList();
+        storage.saveSnapshot(saved);
+        assertFalse(Files.exists(file));
+
+        Storage reopened = new Storage(file);
+        assertTrue(reopened.isShardedFile());
+        TaskList loaded = new TaskList();
+        List<String> badLines = new ArrayList<>();
+        assertTrue(reopened.loadSharded(loaded, badLines));
+        assertEquals(StorageSnapshotTest.toStorageStrings(saved.getList()),
+                StorageSnapshotTest.toStorageStrings(loaded.getList()));
+        assertTrue(badLines.isEmpty());
+    }
+
+    @Test
+    public void save_oneModifiedShard_onlyThatShardRewritten() throws IOException {
+        ShardedStore store = new ShardedStore(this.directory.resolve("list.txt.shards"));
+        TaskList taskList = createLargeList();
+        long[] sequences = ShardedStore.readSequences(taskList.getList());
+        store.save(taskList.getList(), sequences, null, taskList.getGeneration(), 1, false);
+        assertEquals(Set.of("manifest", "T-0.1", "T-1.1"), listShardFiles());
+
+        Set<Long> modifiedShards = Set.of(ShardedStore.getShardId(taskList.getTask(0)));
+        store.save(taskList.getList(), sequences, modifiedShards, taskList.getGeneration(), 2, false);
+        assertEquals(Set.of("manifest", "T-0.2", "T-1.1"), listShardFiles());
+    }
+
+    @Test
+    public void save_sortedAfterCopy_savedInCopiedOrder() throws IOException {
+        TaskList taskList = createLargeList();
+        List<Task> tasks = new ArrayList<>(taskList.getList());
+        long[] sequences = ShardedStore.readSequences(tasks);
+        List<String> expected = StorageSnapshotTest.toStorageStrings(tasks);
+        taskList.sortTasks();
+
+        ShardedStore store = new ShardedStore(this.directory.resolve("list.txt.shards"));
+        store.save(tasks, sequences, null, taskList.getGeneration(), 1, false);
+        TaskList loaded = new TaskList();
+        new ShardedStore(this.directory.resolve("list.txt.shards")).load(loaded, new ArrayList<>());
+        assertEquals(expected, StorageSnapshotTest.toStorageStrings(loaded.getList()));
+    }
+}
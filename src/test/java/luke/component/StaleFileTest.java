@@ -0,0 +1,114 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.exception.StaleFileException;
+import luke.task.ToDo;
+
+public class StaleFileTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.file = this.directory.resolve("list.txt");
+        new Storage(this.file).saveSnapshot(StorageSnapshotTest.createList());
+    }
+
+    private TaskList load(Storage storage) throws IOException {
+        TaskList taskList = new TaskList();
+        storage.loadText(taskList, new ArrayList<>());
+        return taskList;
+    }
+
+    private long countTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(this.directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".tmp")).count();
+        }
+    }
+
+    @Test
+    public void saveSnapshot_savedByOtherInstance_staleAndNoTempLeft() throws IOException {
+        Storage first = new Storage(this.file);
+        Storage second = new Storage(this.file);
+        TaskList firstList = load(first);
+        TaskList secondList = load(second);
+
+        firstList.addTask(new ToDo("first", false));
+        first.saveSnapshot(firstList);
+        secondList.addTask(new ToDo("second", false));
+        assertThrows(StaleFileException.class, () -> second.saveSnapshot(secondList));
+        assertEquals(0, countTempFiles());
+        assertEquals("T : 0 : first", Files.readAllLines(this.file).get(4));
+    }
+
+    @Test
+    public void readConflictingChange_afterStale_mergedAndSaved() throws IOException {
+        Storage first = new Storage(this.file);
+        Storage second = new Storage(this.file);
+        TaskList firstList = load(first);
+        TaskList secondList = load(second);
+        firstList.markTask(0, true);
+        first.saveSnapshot(firstList);
+        secondList.addTask(new ToDo("second", false));
+
+        ExternalChange change = second.readConflictingChange();
+        assertEquals(0, change.getStart());
+        assertEquals(1, change.getRemovedCount());
+        assertEquals(List.of("T : 1 : read book"), StorageSnapshotTest.toStorageStrings(change.getAddedTasks()));
+        secondList.replaceTasks(change.getStart(), change.getStart() + change.getRemovedCount(),
+                change.getAddedTasks());
+        second.saveSnapshot(secondList);
+
+        assertNull(second.readConflictingChange());
+        assertEquals(List.of("T : 1 : read book", "T : 0 : second"),
+                List.of(Files.readAllLines(this.file).get(1), Files.readAllLines(this.file).get(4)));
+    }
+
+    @Test
+    public void saveSnapshot_newDirectoryJournalOwnedElsewhere_emptyBaseKept() throws IOException {
+        Path newFile = this.directory.resolve("new").resolve("list.txt");
+        Storage owner = new Storage(newFile);
+        owner.appendJournal("A : T : 0 : first");
+        Storage other = new Storage(newFile);
+        TaskList otherList = new TaskList();
+        otherList.addTask(new ToDo("second", false));
+        other.saveSnapshot(otherList);
+        owner.close();
+
+        Storage reloaded = new Storage(newFile);
+        TaskList base = new TaskList();
+        assertTrue(reloaded.loadJournalBase(base, new ArrayList<>()));
+        assertEquals(0, base.getSize());
+        assertEquals(List.of("A : T : 0 : first"), reloaded.readJournal());
+        assertEquals(List.of("T : 0 : second"),
+                StorageSnapshotTest.toStorageStrings(reloaded.readConflictingChange().getAddedTasks()));
+    }
+
+    @Test
+    public void saveSnapshot_tempFileLeftByCrash_untouched() throws IOException {
+        Path leftover = this.directory.resolve("list.txt.tmp");
+        Files.writeString(leftover, "partial");
+        Storage storage = new Storage(this.file);
+        storage.saveSnapshot(load(storage));
+        assertEquals("partial", Files.readString(leftover));
+        assertTrue(Files.readAllLines(this.file).contains("T : 0 : read book"));
+    }
+}
@@ -0,0 +1,147 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.ToDo;
+import luke.ui.Luke;
+
+public class StorageJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        this.file = this.directory.resolve("list.txt");
+        new Storage(this.file).saveSnapshot(StorageSnapshotTest.createList());
+    }
+
+    private Storage open(TaskList taskList) throws IOException {
+        Storage storage = new Storage(this.file);
+        storage.loadText(taskList, new ArrayList<>());
+        return storage;
+    }
+
+    @Test
+    public void readJournal_afterClose_returnsRecordsInOrder() throws IOException {
+        Storage storage = open(new TaskList());
+        storage.appendJournal("A : T : 0 : first");
+        storage.appendJournal("M : 0 : 1");
+        storage.close();
+
+        assertEquals(List.of("A : T : 0 : first", "M : 0 : 1"), open(new TaskList()).readJournal());
+    }
+
+    @Test
+    public void readJournal_ownerReplayed_journalStillLockedForOtherProcesses() throws IOException {
+        Storage storage = open(new TaskList());
+        storage.appendJournal("A : T : 0 : first");
+        storage.close();
+
+        Storage owner = open(new TaskList());
+        assertEquals(List.of("A : T : 0 : first"), owner.readJournal());
+        owner.appendJournal("M : 4 : 1");
+        Path lockFile = this.directory.resolve("list.txt.journal.lock");
+        assertTrue(LockProbe.probe(lockFile));
+        assertFalse(open(new TaskList()).loadJournalBase(new TaskList(), new ArrayList<>()));
+        assertTrue(LockProbe.probe(lockFile));
+
+        owner.close();
+        assertFalse(LockProbe.probe(lockFile));
+    }
+
+    @Test
+    public void saveSnapshot_withJournal_compactsJournal() throws IOException {
+        TaskList taskList = new TaskList();
+        Storage storage = open(taskList);
+        storage.appendJournal("A : T : 0 : first");
+        taskList.addTask(new ToDo("first", false));
+        storage.saveSnapshot(taskList);
+        storage.close();
+
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+        TaskList loaded = new TaskList();
+        assertTrue(open(loaded).readJournal().isEmpty());
+        assertEquals(4, loaded.getSize());
+    }
+
+    @Test
+    public void readJournal_journalOfOlderSnapshot_ignored() throws IOException {
+        Storage storage = open(new TaskList());
+        storage.appendJournal("A : T : 0 : first");
+        storage.close();
+        open(new TaskList()).saveSnapshot(StorageSnapshotTest.createList());
+
+        TaskList loaded = new TaskList();
+        Storage reloaded = open(loaded);
+        assertFalse(reloaded.loadJournalBase(new TaskList(), new ArrayList<>()));
+        assertTrue(reloaded.readJournal().isEmpty());
+    }
+
+    @Test
+    public void loadJournalBase_otherInstanceSavedWhileJournalOwned_replaysOntoBase() throws IOException {
+        Storage owner = open(new TaskList());
+        owner.appendJournal("M : 0 : 1");
+        TaskList other = new TaskList();
+        Storage otherStorage = open(other);
+        other.addTask(new ToDo("added elsewhere", false));
+        otherStorage.saveSnapshot(other);
+        assertTrue(Files.exists(this.directory.resolve("list.txt.journal.base")));
+        owner.close();
+
+        TaskList restarted = new TaskList();
+        Storage storage = new Storage(this.file);
+        assertTrue(storage.loadJournalBase(restarted, new ArrayList<>()));
+        assertEquals(3, restarted.getSize());
+        assertEquals(List.of("M : 0 : 1"), storage.readJournal());
+        ExternalChange change = storage.readConflictingChange();
+        assertNotNull(change);
+        assertEquals(List.of("T : 0 : added elsewhere"),
+                StorageSnapshotTest.toStorageStrings(change.getAddedTasks()));
+
+        storage.saveSnapshot(restarted);
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal.base")));
+    }
+
+    @Test
+    public void exit_afterOnlyReplaying_journalCompacted() throws IOException {
+        Storage storage = open(new TaskList());
+        storage.appendJournal("M : 0 : 1");
+        storage.appendJournal("M : 1 : 0");
+        storage.close();
+
+        Luke luke = new Luke(new Storage(this.file));
+        assertEquals("", luke.load());
+        String response = luke.getShutDown();
+        assertFalse(response.contains("No changes to save"), response);
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+        assertEquals("T : 1 : read book", Files.readAllLines(this.file).get(1));
+        assertTrue(open(new TaskList()).readJournal().isEmpty());
+    }
+
+    @Test
+    public void needsCompaction_otherInstanceSavedBeforeJournalStarted_true() throws IOException {
+        Storage storage = open(new TaskList());
+        open(new TaskList()).saveSnapshot(StorageSnapshotTest.createList());
+        storage.appendJournal("M : 0 : 1");
+
+        assertTrue(storage.needsCompaction());
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+    }
+}
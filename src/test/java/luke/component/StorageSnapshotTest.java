@@ -0,0 +1,87 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class StorageSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    static TaskList createList() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new ToDo("read book", false));
+        taskList.addTask(new Deadline("return book", true, "12/10/2024 18:00"));
+        taskList.addTask(new Event("project meeting", false, "13/10/2024 09:30", "13/10/2024 11:00"));
+        return taskList;
+    }
+
+    static List<String> toStorageStrings(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.toStorageString());
+        }
+        return lines;
+    }
+
+    @Test
+    public void saveSnapshot_threeTasks_loadsSameTasks() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        TaskList saved = createList();
+        new Storage(file).saveSnapshot(saved);
+
+        TaskList loaded = new TaskList();
+        List<String> badLines = new ArrayList<>();
+        assertTrue(new Storage(file).loadText(loaded, badLines));
+        assertEquals(toStorageStrings(saved.getList()), toStorageStrings(loaded.getList()));
+        assertTrue(badLines.isEmpty());
+    }
+
+    @Test
+    public void saveSnapshot_existingFile_replacedWithoutTemporaryFiles() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        Storage storage = new Storage(file);
+        storage.saveSnapshot(createList());
+        TaskList shorter = new TaskList();
+        shorter.addTask(new ToDo("only task", false));
+        storage.saveSnapshot(shorter);
+
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(0).startsWith("list: "));
+        assertEquals(List.of("T : 0 : only task"), lines.subList(1, lines.size()));
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertFalse(files.anyMatch(path -> path.getFileName().toString().endsWith(".tmp")));
+        }
+    }
+
+    @Test
+    public void saveSnapshot_report_countsTasksAndBytes() throws IOException {
+        Path file = this.directory.resolve("list.txt");
+        SaveReport report = new Storage(file).saveSnapshot(createList());
+        assertEquals(3, report.getTaskCount());
+        assertEquals(Files.size(file), report.getBytes());
+    }
+
+    @Test
+    public void loadText_missingFile_returnsFalse() throws IOException {
+        TaskList taskList = new TaskList();
+        assertFalse(new Storage(this.directory.resolve("list.txt")).loadText(taskList, new ArrayList<>()));
+        assertEquals(0, taskList.getSize());
+    }
+}
@@ -0,0 +1,149 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class TaskIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 10, 1, 9, 0);
+
+    private final Random random = new Random(42);
+
+    private Task createTask(int i) {
+        // few distinct names and times, so that many tasks compare equal
+        String name = "task " + this.random.nextInt(10);
+        boolean isDone = this.random.nextBoolean();
+        LocalDateTime time = START.plusHours(this.random.nextInt(20));
+        switch (i % 3) {
+        case 0:
+            return new ToDo(name, isDone);
+        case 1:
+            return new Deadline(name, isDone, time);
+        default:
+            return new Event(name, isDone, time, time.plusHours(1));
+        }
+    }
+
+    private static LocalDateTime getTime(Task task) {
+        return task instanceof Deadline ? ((Deadline) task).getDueTime() : ((Event) task).getStartTime();
+    }
+
+    /**
+     * Filters the list by walking over it, the way listings were answered before the index.
+     */
+    private static List<Task> filter(TaskList taskList, Class<? extends Task> type, Boolean isDone) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : taskList.getList()) {
+            if ((type == null || type.isInstance(task)) && (isDone == null || task.getIsDone() == isDone)) {
+                matches.add(task);
+            }
+        }
+        return matches;
+    }
+
+    private static List<Task> filterBetween(TaskList taskList, Class<? extends Task> type, Boolean isDone,
+            LocalDateTime from, LocalDateTime to) {
+        List<Task> matches = new ArrayList<>();
+        for (Task task : filter(taskList, type, isDone)) {
+            if (task instanceof ToDo) {
+                continue;
+            }
+            LocalDateTime time = getTime(task);
+            if ((from == null || !time.isBefore(from)) && (to == null || !time.isAfter(to))) {
+                matches.add(task);
+            }
+        }
+        matches.sort(Comparator.comparing(TaskIndexTest::getTime));
+        return matches;
+    }
+
+    private void checkQueries(TaskList taskList) {
+        Boolean[] statuses = {null, true, false};
+        List<Class<? extends Task>> types = new ArrayList<>(List.of(Task.class, ToDo.class, Deadline.class));
+        types.add(null);
+        for (Class<? extends Task> type : types) {
+            for (Boolean isDone : statuses) {
+                assertEquals(filter(taskList, type, isDone), taskList.findTasks(type, isDone));
+                LocalDateTime from = START.plusHours(this.random.nextInt(10));
+                LocalDateTime to = from.plusHours(this.random.nextInt(10));
+                assertEquals(filterBetween(taskList, type, isDone, from, to),
+                        taskList.findTasksBetween(type, isDone, from, to));
+                assertEquals(filterBetween(taskList, type, isDone, null, to),
+                        taskList.findTasksBetween(type, isDone, null, to));
+                assertEquals(filterBetween(taskList, type, isDone, from, null),
+                        taskList.findTasksBetween(type, isDone, from, null));
+            }
+        }
+    }
+
+    @Test
+    public void findTasks_afterMutations_sameAsWalkingList() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 300; i++) {
+            taskList.addTask(createTask(i));
+        }
+        checkQueries(taskList);
+        for (int round = 0; round < 20; round++) {
+            taskList.markTask(this.random.nextInt(taskList.getSize()), this.random.nextBoolean());
+            taskList.deleteTask(this.random.nextInt(taskList.getSize()));
+            taskList.addTask(createTask(round));
+            BitSet indices = new BitSet();
+            for (int i = 0; i < 10; i++) {
+                indices.set(this.random.nextInt(taskList.getSize()));
+            }
+            if (round % 2 == 0) {
+                taskList.markTasks(indices, round % 4 == 0);
+            } else {
+                taskList.deleteTasks(indices);
+            }
+            int start = this.random.nextInt(taskList.getSize() - 5);
+            taskList.replaceTasks(start, start + 5, List.of(createTask(round + 1), createTask(round + 2)));
+            if (round == 10) {
+                taskList.deleteDoneTasks();
+            }
+            checkQueries(taskList);
+        }
+    }
+
+    @Test
+    public void getSortedTasks_equalTasks_sameAsStableSort() {
+        TaskList taskList = new TaskList();
+        for (int i = 0; i < 300; i++) {
+            taskList.addTask(createTask(i));
+        }
+        taskList.markTask(5, !taskList.getTask(5).getIsDone());
+        List<Task> expected = new ArrayList<>(taskList.getList());
+        expected.sort(null);
+        assertEquals(expected, taskList.getSortedTasks());
+
+        taskList.sortTasks();
+        assertEquals(expected, taskList.getList());
+        checkQueries(taskList);
+    }
+
+    @Test
+    public void findTasksBetween_reversedOrEmptyRange_nothingFound() {
+        TaskList taskList = new TaskList();
+        taskList.addTask(new Deadline("a", false, START));
+        taskList.addTask(new Event("b", false, START, START.plusHours(1)));
+        taskList.addTask(new ToDo("c", false));
+        assertTrue(taskList.findTasksBetween(null, null, START.plusHours(1), START).isEmpty());
+        assertTrue(taskList.findTasksBetween(ToDo.class, null, null, null).isEmpty());
+        assertEquals(2, taskList.findTasksBetween(null, false, START, START).size());
+        assertTrue(taskList.findTasksBetween(null, true, null, null).isEmpty());
+    }
+}
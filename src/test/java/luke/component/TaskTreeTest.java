@@ -0,0 +1,132 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class TaskTreeTest {
+
+    private final Random random = new Random(7);
+    private long nextSequence = 0;
+
+    private Task createTask() {
+        Task task = new ToDo("task " + this.nextSequence, false);
+        task.setSequence(this.nextSequence++);
+        return task;
+    }
+
+    private static void checkTree(List<Task> expected, TaskTree tree) {
+        assertEquals(expected.size(), tree.size());
+        assertEquals(expected, new ArrayList<>(tree));
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), tree.get(i));
+            assertEquals(i, tree.indexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void appendAndRemoveAt_randomOperations_sameAsArrayList() {
+        TaskTree tree = new TaskTree();
+        List<Task> expected = new ArrayList<>();
+        for (int round = 0; round < 2000; round++) {
+            if (expected.isEmpty() || this.random.nextInt(3) > 0) {
+                Task task = createTask();
+                tree.append(task);
+                expected.add(task);
+            } else {
+                int index = this.random.nextInt(expected.size());
+                assertSame(expected.remove(index), tree.removeAt(index));
+            }
+        }
+        checkTree(expected, tree);
+        while (!expected.isEmpty()) {
+            int index = this.random.nextInt(expected.size());
+            assertSame(expected.remove(index), tree.removeAt(index));
+        }
+        checkTree(expected, tree);
+    }
+
+    @Test
+    public void reset_renumberedTasks_foundByPosition() {
+        TaskTree tree = new TaskTree();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tasks.add(createTask());
+        }
+        Collections.shuffle(tasks, this.random);
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).setSequence(i);
+        }
+        this.nextSequence = tasks.size();
+        tree.reset(tasks);
+        checkTree(tasks, tree);
+
+        Task task = createTask();
+        tree.append(task);
+        tasks.add(task);
+        assertSame(tasks.remove(250), tree.removeAt(250));
+        checkTree(tasks, tree);
+        tree.reset(List.of());
+        checkTree(List.of(), tree);
+    }
+
+    @Test
+    public void indexOf_missingOrCopiedTask_notFound() {
+        TaskTree tree = new TaskTree();
+        Task task = createTask();
+        tree.append(task);
+        tree.append(createTask());
+
+        Task copy = new ToDo(task.getName(), false);
+        copy.setSequence(task.getSequence());
+        assertEquals(-1, tree.indexOf(copy));
+        assertEquals(-1, tree.indexOf(createTask()));
+        assertEquals(-1, tree.indexOf("task 0"));
+    }
+
+    @Test
+    public void get_outOfBounds_exceptionThrown() {
+        TaskTree tree = new TaskTree();
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(0));
+        tree.append(createTask());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.removeAt(-1));
+        assertThrows(UnsupportedOperationException.class, () -> tree.add(createTask()));
+
+        Iterator<Task> iterator = tree.iterator();
+        iterator.next();
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void getTaskById_afterDeletesAndSort_sameTask() {
+        TaskList taskList = new TaskList();
+        for (String name : new String[] {"c", "a", "d", "b"}) {
+            taskList.addTask(new ToDo(name, false));
+        }
+        Task d = taskList.getTask(2);
+        long id = d.getId();
+        taskList.deleteTask(0);
+        taskList.sortTasks();
+        assertSame(d, taskList.getTaskById(id));
+        assertEquals(2, taskList.indexOf(d));
+
+        taskList.deleteTask(2);
+        assertNull(taskList.getTaskById(id));
+        taskList.addTask(new ToDo("e", false));
+        assertEquals(id + 2, taskList.getTask(2).getId());
+    }
+}
@@ -0,0 +1,66 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import luke.exception.InvalidInputException;
+import luke.task.Deadline;
+import luke.task.Event;
+import luke.task.NameEscaper;
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class TextFormatTest {
+
+    @Test
+    public void escape_plainName_sameStringReturned() {
+        String name = "read book: chapter 2";
+        assertSame(name, NameEscaper.escape(name));
+        assertSame(name, NameEscaper.unescape(name));
+    }
+
+    @Test
+    public void escape_specialCharacters_escaped() {
+        assertEquals("a \\: b\\\\c\\nd\\re", NameEscaper.escape("a : b\\c\nd\re"));
+        assertEquals("a \\: b\\\\c\\nd\\re", new ToDo("a : b\\c\nd\re", false).toStorageString().substring(8));
+    }
+
+    @Test
+    public void parseTask_escapedNames_roundTrip() throws InvalidInputException {
+        String[] names = {"a : b", "ends with \\", " : ", "two\nlines\r\n", "\\n is not a line break", "x:y :z"};
+        for (String name : names) {
+            Task[] tasks = {new ToDo(name, true), new Deadline(name, false, "12/10/2024 18:00"),
+                new Event(name, true, "13/10/2024 09:30", "13/10/2024 11:00")};
+            for (Task task : tasks) {
+                String line = task.toStorageString();
+                Task parsed = TextFormat.parseTask(line);
+                assertEquals(name, parsed.getName(), line);
+                assertEquals(line, parsed.toStorageString());
+            }
+        }
+    }
+
+    @Test
+    public void parseTask_lineInsideText_parsedInPlace() throws InvalidInputException {
+        String text = "7 : D : 1 : a \\: b : 12/10/2024 18:00\n";
+        Task task = TextFormat.parseTask(text, 4, text.length() - 1);
+        assertEquals("a : b", task.getName());
+        assertEquals("D : 1 : a \\: b : 12/10/2024 18:00", task.toStorageString());
+    }
+
+    @Test
+    public void unescape_unknownEscape_keptAsIs() {
+        assertEquals("C:\\temp\\x", NameEscaper.unescape("C:\\temp\\x"));
+        assertEquals("ends with \\", NameEscaper.unescape("ends with \\"));
+        assertEquals("b", NameEscaper.unescape("a \\: b", 5, 6));
+    }
+
+    @Test
+    public void parseTask_unescapedSeparator_nameCutAtSeparator() throws InvalidInputException {
+        assertEquals("a", TextFormat.parseTask("T : 0 : a : b").getName());
+        assertThrows(InvalidInputException.class, () -> TextFormat.parseTask("D : 0 : a \\: b"));
+    }
+}
@@ -0,0 +1,96 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.task.Deadline;
+import luke.task.ToDo;
+
+public class TransferFormatTest {
+
+    @TempDir
+    Path directory;
+
+    private static TaskList createQuotedList() {
+        TaskList taskList = StorageSnapshotTest.createList();
+        taskList.addTask(new ToDo("buy milk, eggs", false));
+        taskList.addTask(new Deadline("say \"hi\"\nthen leave", true, "01/01/2025 08:00"));
+        return taskList;
+    }
+
+    private List<String> roundTrip(String fileName, TaskList saved) throws IOException {
+        Path file = this.directory.resolve(fileName);
+        TransferFormat format = TransferFormat.fromFileName(fileName);
+        TransferReport exported = Storage.exportTasks(file, format, saved.getList(), report -> { });
+        assertEquals(saved.getSize(), exported.getTaskCount());
+
+        TaskList loaded = new TaskList();
+        List<String> badRecords = new ArrayList<>();
+        TransferReport imported = Storage.importTasks(file, format, loaded, badRecords, report -> { });
+        assertEquals(saved.getSize(), imported.getTaskCount());
+        assertTrue(badRecords.isEmpty());
+        return StorageSnapshotTest.toStorageStrings(loaded.getList());
+    }
+
+    @Test
+    public void fromFileName_knownExtensions_formatFound() {
+        assertEquals(TransferFormat.CSV, TransferFormat.fromFileName("tasks.CSV"));
+        assertEquals(TransferFormat.JSON, TransferFormat.fromFileName("tasks.json.gz"));
+        assertTrue(TransferFormat.isCompressed("tasks.json.gz"));
+        assertNull(TransferFormat.fromFileName("tasks.txt"));
+    }
+
+    @Test
+    public void exportTasks_csv_importedUnchanged() throws IOException {
+        TaskList saved = createQuotedList();
+        assertEquals(StorageSnapshotTest.toStorageStrings(saved.getList()), roundTrip("tasks.csv", saved));
+    }
+
+    @Test
+    public void exportTasks_compressedJson_importedUnchanged() throws IOException {
+        TaskList saved = createQuotedList();
+        assertEquals(StorageSnapshotTest.toStorageStrings(saved.getList()), roundTrip("tasks.json.gz", saved));
+    }
+
+    @Test
+    public void importTasks_invalidCsvRecords_skippedAndReported() throws IOException {
+        Path file = this.directory.resolve("tasks.csv");
+        Files.writeString(file, "name,type,done\nread book,todo,false\nno type,,false\n"
+                + "late,deadline,true\nwrite,todo,1\n");
+        TaskList loaded = new TaskList();
+        List<String> badRecords = new ArrayList<>();
+        TransferReport report = Storage.importTasks(file, TransferFormat.CSV, loaded, badRecords, r -> { });
+
+        assertEquals(2, report.getTaskCount());
+        assertEquals(2, report.getSkippedCount());
+        assertEquals(List.of("T : 0 : read book", "T : 1 : write"),
+                StorageSnapshotTest.toStorageStrings(loaded.getList()));
+        assertEquals(2, badRecords.size());
+        assertTrue(badRecords.get(0).startsWith("3: unknown task type"), badRecords.get(0));
+    }
+
+    @Test
+    public void importTasks_invalidJsonRecord_skipped() throws IOException {
+        Path file = this.directory.resolve("tasks.json");
+        Files.writeString(file, "[{\"type\": \"todo\", \"name\": \"read \\\"book\\\"\", \"done\": true},\n"
+                + " {\"type\": \"event\", \"name\": \"meeting\", \"from\": \"soon\"},\n"
+                + " {\"type\": \"todo\", \"name\": \"write\", \"by\": null}]");
+        TaskList loaded = new TaskList();
+        List<String> badRecords = new ArrayList<>();
+        TransferReport report = Storage.importTasks(file, TransferFormat.JSON, loaded, badRecords, r -> { });
+
+        assertEquals(1, report.getSkippedCount());
+        assertEquals(List.of("T : 1 : read \"book\"", "T : 0 : write"),
+                StorageSnapshotTest.toStorageStrings(loaded.getList()));
+    }
+}
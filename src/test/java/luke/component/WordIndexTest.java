@@ -0,0 +1,116 @@
+package luke.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import luke.task.Task;
+import luke.task.ToDo;
+
+public class WordIndexTest {
+
+    private final Map<Long, Task> tasksById = new HashMap<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private int lookupCount = 0;
+
+    private WordIndex createIndex(String... names) {
+        for (String name : names) {
+            Task task = new ToDo(name, false);
+            task.setId(this.tasks.size() + 1);
+            task.setSequence(this.tasks.size());
+            this.tasks.add(task);
+            this.tasksById.put(task.getId(), task);
+        }
+        return new WordIndex(this.tasks, id -> {
+            this.lookupCount++;
+            return this.tasksById.get(id);
+        });
+    }
+
+    private List<String> getNames(List<Task> matches) {
+        List<String> names = new ArrayList<>();
+        for (Task task : matches) {
+            names.add(task.getName());
+        }
+        return names;
+    }
+
+    /**
+     * Finds the names matching a query, checking that scanning the tasks gives the same answer.
+     */
+    private List<String> find(WordIndex index, String query) {
+        List<String> names = getNames(index.find(query));
+        assertEquals(getNames(WordIndex.scan(this.tasks, query)), names, query);
+        return names;
+    }
+
+    @Test
+    public void find_wholeWords_caseIgnored() {
+        WordIndex index = createIndex("Return BOOK", "read book-club notes", "bookshelf", "report");
+        assertEquals(List.of("Return BOOK", "read book-club notes"), find(index, "book"));
+        assertEquals(List.of("read book-club notes"), find(index, "BOOK club"));
+        assertEquals(List.of(), find(index, "port"));
+        assertEquals(List.of(), find(index, "   "));
+    }
+
+    @Test
+    public void find_prefix_wordsStartingWithIt() {
+        WordIndex index = createIndex("return book", "bookshelf", "read", "report", "rebook flight");
+        assertEquals(List.of("return book", "bookshelf"), find(index, "book*"));
+        assertEquals(List.of("return book", "read", "report", "rebook flight"), find(index, "re*"));
+        assertEquals(List.of("rebook flight"), find(index, "fli* re*"));
+        assertEquals(List.of(), find(index, "*"));
+    }
+
+    @Test
+    public void find_or_eitherAlternative() {
+        WordIndex index = createIndex("red book", "blue pen", "red pen", "blue pencil", "green book");
+        assertEquals(List.of("red book", "blue pen", "blue pencil"), find(index, "red book or blue pen*"));
+        assertEquals(List.of("red book", "red pen", "green book"), find(index, "red OR book"));
+        assertEquals(List.of("blue pen"), find(index, "or blue pen or"));
+        assertEquals(List.of("red book", "blue pen", "red pen", "green book"), find(index, "red or book or pen"));
+    }
+
+    @Test
+    public void remove_halfDead_compacted() {
+        String[] names = new String[100];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "alpha " + i;
+        }
+        WordIndex index = createIndex(names);
+        for (int i = 0; i < 60; i++) {
+            Task task = this.tasks.remove(0);
+            this.tasksById.remove(task.getId());
+            index.remove(task);
+        }
+        this.lookupCount = 0;
+        assertEquals(40, index.find("alpha").size());
+        // the posting was compacted to 49 ids after 51 deletes, and 9 dead ids have been left since
+        assertEquals(49, this.lookupCount);
+
+        this.lookupCount = 0;
+        assertEquals(List.of(), find(index, "5"));
+        assertEquals(0, this.lookupCount);
+    }
+
+    @Test
+    public void add_afterRemove_foundInListOrder() {
+        WordIndex index = createIndex("write report", "read report");
+        Task first = this.tasks.remove(0);
+        this.tasksById.remove(first.getId());
+        index.remove(first);
+
+        Task task = new ToDo("report back", false);
+        task.setId(10);
+        task.setSequence(-1);
+        this.tasks.add(0, task);
+        this.tasksById.put(task.getId(), task);
+        index.add(task);
+        assertEquals(List.of("report back", "read report"), getNames(index.find("report")));
+    }
+}
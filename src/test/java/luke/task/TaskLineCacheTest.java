@@ -0,0 +1,54 @@
+package luke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TaskLineCacheTest {
+
+    @Test
+    public void toString_calledTwice_sameLineReturned() {
+        Task task = new Deadline("return book", false, "12/10/2024 18:00");
+        assertSame(task.toString(), task.toString());
+        assertSame(task.toStorageString(), task.toStorageString());
+    }
+
+    @Test
+    public void setIsDone_cachedLines_renderedForNewStatus() {
+        Task task = new Event("project meeting", false, "13/10/2024 09:30", "13/10/2024 11:00");
+        String pendingLine = task.toString();
+        assertEquals("E : 0 : project meeting : 13/10/2024 09:30 : 13/10/2024 11:00", task.toStorageString());
+
+        task.setIsDone(true);
+        assertEquals(pendingLine.replace("[E][ ]", "[E][X]"), task.toString());
+        assertEquals("E : 1 : project meeting : 13/10/2024 09:30 : 13/10/2024 11:00", task.toStorageString());
+
+        task.setIsDone(false);
+        assertEquals(pendingLine, task.toString());
+        assertEquals("E : 0 : project meeting : 13/10/2024 09:30 : 13/10/2024 11:00", task.toStorageString());
+    }
+
+    @Test
+    public void toStorageString_statusChangedWithoutSetter_renderedAgain() {
+        ToDo task = new ToDo("read book", false);
+        assertEquals("[T][ ] read book", task.toString());
+        task.isDone = true;
+        assertEquals("[T][X] read book", task.toString());
+        assertEquals("T : 1 : read book", task.toStorageString());
+    }
+
+    @Test
+    public void getWords_mixedCaseName_splitOnceInLowerCase() {
+        Task task = new ToDo("Read BOOK, read book-club notes 2", false);
+        assertEquals(List.of("read", "book", "club", "notes", "2"), task.getWords());
+        assertSame(task.getWords(), task.getWords());
+        task.setIsDone(true);
+        assertSame(task.getWords(), task.getWords());
+        assertThrows(UnsupportedOperationException.class, () -> task.getWords().add("x"));
+        assertEquals(List.of(), Task.toWords(" -- "));
+    }
+}
@@ -0,0 +1,80 @@
+package luke.task;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Compares {@link TimeParser} with the substring, {@code String.format} and {@code LocalDateTime.parse}
+ * parsing that Deadline and Event used before it, in time and in bytes allocated per parsed time.
+ * Run it with {@code java -cp build/classes/java/main:build/classes/java/test luke.task.TimeParserBenchmark}.
+ */
+public class TimeParserBenchmark {
+    private static final int TIME_COUNT = 1 << 12;
+    private static final int ROUNDS = 500;
+    private static final String[] TIMES = createTimes();
+
+    private static String[] createTimes() {
+        String[] times = new String[TIME_COUNT];
+        for (int i = 0; i < TIME_COUNT; i++) {
+            times[i] = String.format("%02d/%02d/%04d %02d:%02d", i % 28 + 1, i % 12 + 1, 2000 + i % 50,
+                    i % 24, i % 60);
+        }
+        return times;
+    }
+
+    /**
+     * Parses a time the way Deadline and Event did before {@link TimeParser}.
+     */
+    static LocalDateTime parseWithFormat(CharSequence text) {
+        String time = text.toString();
+        String day = time.substring(0, 2);
+        String month = time.substring(3, 5);
+        String year = time.substring(6, 10);
+        String hour = time.substring(11, 13);
+        String minute = time.substring(14, 16);
+        return LocalDateTime.parse(String.format("%s-%s-%sT%s:%s:00", year, month, day, hour, minute));
+    }
+
+    /**
+     * Parses every time {@code count} times after a warm-up and returns the average number of bytes
+     * the current thread allocated per parse.
+     *
+     * @param parser the parser to be measured
+     * @param count the number of times to be parsed
+     * @return the bytes allocated per parse
+     */
+    static long measureAllocatedBytes(Function<CharSequence, LocalDateTime> parser, int count) {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long checksum = run(parser, count);
+        long before = bean.getCurrentThreadAllocatedBytes();
+        checksum += run(parser, count);
+        long allocated = bean.getCurrentThreadAllocatedBytes() - before;
+        return checksum == 0 ? -1 : allocated / count;
+    }
+
+    private static long run(Function<CharSequence, LocalDateTime> parser, int count) {
+        long checksum = 0;
+        for (int i = 0; i < count; i++) {
+            checksum += parser.apply(TIMES[i & (TIME_COUNT - 1)]).getMinute() + 1;
+        }
+        return checksum;
+    }
+
+    private static void report(String name, Function<CharSequence, LocalDateTime> parser) {
+        int count = TIME_COUNT * ROUNDS;
+        run(parser, count);
+        long startTime = System.nanoTime();
+        long checksum = run(parser, count);
+        double nanosPerParse = (double) (System.nanoTime() - startTime) / count;
+        System.out.printf("%-10s %8.1f ns/parse %6d bytes/parse (checksum %d)%n", name, nanosPerParse,
+                measureAllocatedBytes(parser, count), checksum);
+    }
+
+    public static void main(String[] args) {
+        for (int i = 0; i < 3; i++) {
+            report("format", TimeParserBenchmark::parseWithFormat);
+            report("parser", TimeParser::parse);
+        }
+    }
+}
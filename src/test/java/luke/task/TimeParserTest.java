@@ -0,0 +1,56 @@
+package luke.task;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeParserTest {
+
+    @Test
+    public void parse_validTime_fieldsRead() {
+        assertEquals(LocalDateTime.of(2024, 2, 29, 23, 59), TimeParser.parse("29/02/2024 23:59"));
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), TimeParser.parse("01/01/2025 00:00 \t"));
+    }
+
+    @Test
+    public void parse_range_onlyRangeRead() {
+        String line = "D : 0 : return book : 12/10/2024 18:00";
+        assertEquals(LocalDateTime.of(2024, 10, 12, 18, 0), TimeParser.parse(line, 22, line.length()));
+    }
+
+    @Test
+    public void parse_invalidFields_fieldNamed() {
+        assertMessageContains("Day must be between 01 and 28", "29/02/2023 10:00");
+        assertMessageContains("Month must be between 01 and 12", "01/13/2024 10:00");
+        assertMessageContains("Hour must be between 00 and 23", "01/01/2024 24:00");
+        assertMessageContains("Minute must be between 00 and 59", "01/01/2024 10:60");
+        assertMessageContains("Time must be in the format", "1/1/2024 10:00");
+        assertMessageContains("Time must be in the format", "");
+    }
+
+    @Test
+    public void parse_misplacedSeparatorOrDigit_exceptionThrown() {
+        String[] texts = {"01-01-2024 10:00", "01/01/2024T10:00", "0a/01/2024 10:00", "01/01/2024 10:0 ",
+            "+1/01/2024 10:00"};
+        for (String text : texts) {
+            assertThrows(DateTimeException.class, () -> TimeParser.parse(text), text);
+        }
+    }
+
+    @Test
+    public void parse_warmedUp_allocatesOnlyResult() {
+        long bytesPerParse = TimeParserBenchmark.measureAllocatedBytes(TimeParser::parse, 200_000);
+        // a LocalDateTime with its LocalDate and LocalTime takes well under 128 bytes
+        assertTrue(bytesPerParse < 128, bytesPerParse + " bytes per parse");
+    }
+
+    private static void assertMessageContains(String expected, String text) {
+        DateTimeException e = assertThrows(DateTimeException.class, () -> TimeParser.parse(text));
+        assertTrue(e.getMessage().contains(expected), e.getMessage());
+    }
+}
@@ -0,0 +1,99 @@
+package luke.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.component.BatchReport;
+import luke.component.Storage;
+
+public class BatchTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private Luke luke;
+
+    @BeforeEach
+    public void setUp() {
+        this.file = this.directory.resolve("list.txt");
+        this.luke = new Luke(new Storage(this.file));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.luke.stop();
+    }
+
+    private BatchReport runBatch(String script, StringWriter out) throws IOException {
+        return this.luke.runBatch(new BufferedReader(new StringReader(script)), out);
+    }
+
+    @Test
+    public void runBatch_script_savedOnceWithoutJournal() throws IOException {
+        BatchReport report = runBatch("todo a\n\n   \ntodo b\nmark 2\ndeadline c /by 12/10/2024 18:00\n", null);
+        assertEquals(4, report.getCommandCount());
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+        assertEquals(List.of("T : 0 : a", "T : 1 : b", "D : 0 : c : 12/10/2024 18:00"),
+                Files.readAllLines(this.file).subList(1, 4));
+        assertEquals(3, this.luke.getTaskList().getSize());
+    }
+
+    @Test
+    public void runBatch_bye_laterCommandsSkipped() throws IOException {
+        StringWriter out = new StringWriter();
+        BatchReport report = runBatch("todo a\nbye\ntodo b\n", out);
+        assertEquals(1, report.getCommandCount());
+        assertEquals(1, this.luke.getTaskList().getSize());
+        assertFalse(this.luke.hasExited());
+        assertEquals(List.of("T : 0 : a"), Files.readAllLines(this.file).subList(1, 2));
+        assertFalse(out.toString().contains("Bye"));
+    }
+
+    @Test
+    public void runBatch_responses_eachFollowedByEmptyLine() throws IOException {
+        StringWriter out = new StringWriter();
+        runBatch("todo a\nfly\nmark x\n", out);
+        assertTrue(out.toString().contains("Now you have 1 tasks in the list.\n\n"
+                + "I don't understand\nPlease give the number of a task, e.g. mark 2\n\n"), out.toString());
+        assertTrue(out.toString().contains("mark 2\n\nSaving list...\nSaved successfully (1 tasks"), out.toString());
+    }
+
+    @Test
+    public void runBatch_longOutput_writtenInFull() throws IOException {
+        StringBuilder script = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            script.append("todo task ").append(i).append('\n');
+        }
+        script.append("list\n".repeat(100));
+        StringWriter out = new StringWriter();
+        BatchReport report = runBatch(script.toString(), out);
+        assertEquals(200, report.getCommandCount());
+        String response = this.luke.getResponse("list") + "\n";
+        assertTrue(response.length() * 100 > (1 << 16));
+        assertTrue(out.toString().contains(response.repeat(100)));
+    }
+
+    @Test
+    public void toString_report_throughputShown() {
+        BatchReport report = new BatchReport(1000, 12_500_000);
+        assertEquals(80000, report.getCommandsPerSecond(), 1e-6);
+        assertEquals(String.format("%d commands in %.2f ms (%.0f commands/s)", 1000, 12.5, 80000.0),
+                report.toString());
+        assertEquals(0, new BatchReport(5, 0).getCommandsPerSecond());
+    }
+}
@@ -0,0 +1,91 @@
+package luke.ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import luke.component.Storage;
+
+public class CliTest {
+
+    @TempDir
+    Path directory;
+
+    private final InputStream systemIn = System.in;
+    private final PrintStream systemOut = System.out;
+    private ByteArrayOutputStream out;
+    private Path file;
+
+    @BeforeEach
+    public void setUp() {
+        this.file = this.directory.resolve("list.txt");
+        this.out = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(this.out, true, StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setIn(this.systemIn);
+        System.setOut(this.systemOut);
+    }
+
+    /**
+     * Runs the terminal version on the list in the temporary directory, with the given standard input,
+     * and returns what it printed.
+     */
+    private String runCli(String input, String... args) throws IOException {
+        System.setIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        this.out.reset();
+        Cli.run(new Luke(new Storage(this.file)), args);
+        return this.out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void run_singleCommands_journalReplayedBetweenRuns() throws IOException {
+        assertTrue(runCli("", "todo", "read", "book").contains("Now you have 1 tasks in the list."));
+        assertTrue(Files.exists(this.directory.resolve("list.txt.journal")));
+        assertTrue(runCli("", "mark", "1").contains("Nice! I've marked this task as done"));
+
+        String output = runCli("", "list");
+        assertTrue(output.contains(" 1.[T][X] read book"), output);
+        assertFalse(output.contains("Hello"), output);
+    }
+
+    @Test
+    public void run_singleCommand_unknownVerbReported() throws IOException {
+        assertEquals("I don't understand" + System.lineSeparator(), runCli("", "fly", "away"));
+    }
+
+    @Test
+    public void run_prompt_commandsRunUntilBye() throws IOException {
+        String output = runCli("todo a\nlist\nbye\ntodo b\n");
+        assertTrue(output.contains("Hello"), output);
+        assertTrue(output.contains(" 1.[T][ ] a"), output);
+        assertTrue(output.contains("Bye. Hope to see you again soon!"), output);
+        assertFalse(output.contains("[T][ ] b"), output);
+        assertEquals(List.of("T : 0 : a"), Files.readAllLines(this.file).subList(1, 2));
+    }
+
+    @Test
+    public void run_promptEndOfInput_listSaved() throws IOException {
+        String output = runCli("todo a\ntodo b\n");
+        assertTrue(output.contains("Bye. Hope to see you again soon!"), output);
+        assertEquals(List.of("T : 0 : a", "T : 0 : b"), Files.readAllLines(this.file).subList(1, 3));
+        assertFalse(Files.exists(this.directory.resolve("list.txt.journal")));
+    }
+}